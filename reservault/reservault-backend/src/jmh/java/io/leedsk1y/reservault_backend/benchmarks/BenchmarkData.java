@@ -0,0 +1,86 @@
+package io.leedsk1y.reservault_backend.benchmarks;
+
+import io.leedsk1y.reservault_backend.models.entities.BookedDates;
+import io.leedsk1y.reservault_backend.models.entities.Facilities;
+import io.leedsk1y.reservault_backend.models.entities.Hotel;
+import io.leedsk1y.reservault_backend.models.entities.ImageVariants;
+import io.leedsk1y.reservault_backend.models.entities.Location;
+import io.leedsk1y.reservault_backend.models.entities.Offer;
+import io.leedsk1y.reservault_backend.models.entities.Review;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Deterministic in-memory dataset for the benchmarks, shaped like the data the application stores.
+ */
+final class BenchmarkData {
+    static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MM.dd.yyyy");
+    static final String[][] CITIES = {
+            {"France", "Paris"}, {"United Kingdom", "London"}, {"Spain", "Barcelona"}, {"Italy", "Rome"},
+            {"Germany", "Berlin"}, {"Latvia", "Riga"}, {"Portugal", "Lisbon"}, {"Japan", "Tokyo"}
+    };
+
+    final List<Hotel> hotels = new ArrayList<>();
+    final List<Offer> offers = new ArrayList<>();
+    final List<BookedDates> bookedDates = new ArrayList<>();
+
+    /**
+     * @param offerCount Number of offers, spread over one hotel per ten offers.
+     * @param bookedRangesPerOffer Number of non-overlapping booked ranges per offer.
+     * @param seed Seed of the generator.
+     */
+    BenchmarkData(int offerCount, int bookedRangesPerOffer, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int hotelCount = Math.max(1, offerCount / 10);
+
+        for (int i = 0; i < hotelCount; i++) {
+            String[] city = CITIES[i % CITIES.length];
+            Hotel hotel = new Hotel("BENCH-" + i, "Hotel " + i, "Benchmark hotel", new ArrayList<>(),
+                    1 + random.nextInt(5), new Location(city[0], city[1], "Street " + i, "LV-" + (1000 + i)));
+            hotels.add(hotel);
+        }
+
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < offerCount; i++) {
+            Offer offer = new Offer();
+            offer.setId(UUID.randomUUID());
+            offer.setHotelIdentifier("BENCH-" + random.nextInt(hotelCount));
+            offer.setTitle("Offer " + i);
+            offer.setDescription("Benchmark offer");
+            offer.setRating(random.nextInt(50) / 10.0);
+
+            LocalDate from = today.plusDays(random.nextInt(60));
+            int days = Math.max(30, bookedRangesPerOffer * 3);
+            offer.setDateFrom(from.format(DATE_FORMAT));
+            offer.setDateUntil(from.plusDays(days).format(DATE_FORMAT));
+            offer.setFacilities(new Facilities(random.nextBoolean(), random.nextBoolean(), random.nextBoolean(),
+                    random.nextBoolean(), random.nextBoolean()));
+            offer.setRoomCount(1 + random.nextInt(4));
+            offer.setPeopleCount(1 + random.nextInt(6));
+            offer.setPricePerNight(BigDecimal.valueOf(30 + random.nextInt(470)));
+
+            for (int image = 0; image < 3; image++) {
+                String url = "https://img.example/offers/" + i + "-" + image + ".jpg";
+                offer.getImagesUrls().add(url);
+                offer.getImageVariants().add(new ImageVariants(url, url + "?w=600", url + "?w=200"));
+            }
+            for (int review = 0; review < random.nextInt(6); review++) {
+                offer.getReviews().add(new Review(UUID.randomUUID(), "user" + review + "@example.com",
+                        "Review", "Benchmark review", 1 + random.nextInt(5)));
+            }
+            offers.add(offer);
+
+            for (int range = 0; range < bookedRangesPerOffer; range++) {
+                LocalDate start = from.plusDays(range * 3L);
+                bookedDates.add(new BookedDates(offer.getId(), UUID.randomUUID(),
+                        start.format(DATE_FORMAT), start.plusDays(1).format(DATE_FORMAT)));
+            }
+        }
+    }
+}
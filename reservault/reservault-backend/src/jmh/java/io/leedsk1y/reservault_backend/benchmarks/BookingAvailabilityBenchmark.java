@@ -0,0 +1,71 @@
+package io.leedsk1y.reservault_backend.benchmarks;
+
+import io.leedsk1y.reservault_backend.repositories.inmemory.InMemoryBookedDatesRepository;
+import io.leedsk1y.reservault_backend.services.BookingService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Booking overlap check against the booked ranges of one offer, and the date parsing it is built on.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingAvailabilityBenchmark {
+    @Param({"10", "100", "1000"})
+    private int bookedRangesPerOffer;
+
+    private BookingService bookingService;
+    private UUID offerId;
+    private LocalDate freeStart;
+    private LocalDate freeEnd;
+    private String date;
+
+    @Setup
+    public void setup() {
+        BenchmarkData data = new BenchmarkData(10, bookedRangesPerOffer, 42);
+        InMemoryBookedDatesRepository bookedDatesRepository = new InMemoryBookedDatesRepository();
+        bookedDatesRepository.insert(data.bookedDates);
+        bookingService = new BookingService(null, null, null, bookedDatesRepository, null, null, new SimpleMeterRegistry());
+
+        offerId = data.offers.get(0).getId();
+        // after every booked range, so the check scans all of them and succeeds
+        freeStart = LocalDate.parse(data.offers.get(0).getDateUntil(), BenchmarkData.DATE_FORMAT).plusDays(1);
+        freeEnd = freeStart.plusDays(3);
+        date = freeStart.format(BenchmarkData.DATE_FORMAT);
+    }
+
+    @Benchmark
+    public LocalDate ensureDatesAvailable() {
+        bookingService.ensureDatesAvailable(offerId, freeStart, freeEnd);
+        return freeStart;
+    }
+
+    @Benchmark
+    public LocalDate parseDateWithNewFormatter() {
+        return LocalDate.parse(date, DateTimeFormatter.ofPattern("MM.dd.yyyy")); // as the services do per call
+    }
+
+    @Benchmark
+    public LocalDate parseDateWithSharedFormatter() {
+        return LocalDate.parse(date, BenchmarkData.DATE_FORMAT);
+    }
+}
@@ -0,0 +1,70 @@
+package io.leedsk1y.reservault_backend.benchmarks;
+
+import io.jsonwebtoken.Claims;
+import io.leedsk1y.reservault_backend.models.entities.User;
+import io.leedsk1y.reservault_backend.models.enums.EAuthProvider;
+import io.leedsk1y.reservault_backend.repositories.inmemory.InMemoryRevokedTokenRepository;
+import io.leedsk1y.reservault_backend.security.jwt.JwtUtils;
+import io.leedsk1y.reservault_backend.security.jwt.TokenRevocationStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT validation as done by the authentication filter on every request: signature check, revocation
+ * lookup and building the principal from the claims.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtValidationBenchmark {
+    private JwtUtils jwtUtils;
+    private String token;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setup() {
+        TokenRevocationStore tokenRevocationStore = new TokenRevocationStore(new InMemoryRevokedTokenRepository());
+        ReflectionTestUtils.setField(tokenRevocationStore, "expectedTokens", 100_000L);
+        tokenRevocationStore.rebuildFilter();
+
+        jwtUtils = new JwtUtils(tokenRevocationStore, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", Base64.getEncoder().encodeToString(new byte[64]));
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 7_200_000);
+
+        User user = new User(UUID.randomUUID(), "Bench", "bench@example.com", null, null, Instant.now(), true,
+                EAuthProvider.DEFAULT, Set.of("ROLE_USER"));
+        token = jwtUtils.generateTokenFromUser(user);
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Optional<Claims> validateToken() {
+        return jwtUtils.validateJwtToken(token, response);
+    }
+
+    @Benchmark
+    public User userFromToken() {
+        return jwtUtils.validateJwtToken(token, response).map(jwtUtils::getUserFromClaims).orElse(null);
+    }
+}
@@ -0,0 +1,96 @@
+package io.leedsk1y.reservault_backend.benchmarks;
+
+import io.leedsk1y.reservault_backend.dto.OfferWithLocationDTO;
+import io.leedsk1y.reservault_backend.repositories.inmemory.InMemoryBookedDatesRepository;
+import io.leedsk1y.reservault_backend.repositories.inmemory.InMemoryHotelManagerRepository;
+import io.leedsk1y.reservault_backend.repositories.inmemory.InMemoryHotelRepository;
+import io.leedsk1y.reservault_backend.repositories.inmemory.InMemoryOfferRepository;
+import io.leedsk1y.reservault_backend.services.OfferService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Offer search: in-memory filtering, sorting and the mapping of every result to OfferWithLocationDTO.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OfferSearchBenchmark {
+    @Param({"1000", "10000"})
+    private int offers;
+
+    private OfferService offerService;
+    private UUID offerId;
+    private String dateFrom;
+    private String dateUntil;
+
+    @Setup
+    public void setup() {
+        BenchmarkData data = new BenchmarkData(offers, 0, 42);
+        InMemoryOfferRepository offerRepository = new InMemoryOfferRepository();
+        InMemoryHotelRepository hotelRepository = new InMemoryHotelRepository();
+        InMemoryBookedDatesRepository bookedDatesRepository = new InMemoryBookedDatesRepository();
+        offerRepository.insert(data.offers);
+        hotelRepository.insert(data.hotels);
+        bookedDatesRepository.insert(data.bookedDates);
+        offerService = new OfferService(offerRepository, hotelRepository, bookedDatesRepository,
+                null, null, null, new InMemoryHotelManagerRepository(), new SimpleMeterRegistry());
+
+        offerId = data.offers.get(offers / 2).getId();
+        dateFrom = LocalDate.now().plusDays(10).format(BenchmarkData.DATE_FORMAT);
+        dateUntil = LocalDate.now().plusDays(14).format(BenchmarkData.DATE_FORMAT);
+    }
+
+    @Benchmark
+    public List<OfferWithLocationDTO> searchUnfiltered() {
+        return offerService.searchOffers(null, null, null, null, null, null, null, null, null, null,
+                null, null, null, null, null, null, null);
+    }
+
+    @Benchmark
+    public List<OfferWithLocationDTO> searchByLocationAndDates() {
+        return offerService.searchOffers("paris, france", 1, 2, dateFrom, dateUntil, 50.0, 300.0, true, null, null,
+                null, null, null, null, null, null, null);
+    }
+
+    @Benchmark
+    public List<OfferWithLocationDTO> searchSortedByPrice() {
+        return offerService.searchOffers("france", null, null, null, null, null, null, null, null, null,
+                null, null, null, null, "price", "asc", null);
+    }
+
+    @Benchmark
+    public List<OfferWithLocationDTO> searchSortedByStars() {
+        return offerService.searchOffers("france", null, null, null, null, null, null, null, null, null,
+                null, null, null, null, "stars", "desc", null);
+    }
+
+    @Benchmark
+    public List<OfferWithLocationDTO> mapAllOffers() {
+        return offerService.getAllOffers();
+    }
+
+    @Benchmark
+    public Optional<OfferWithLocationDTO> mapSingleOffer() {
+        return offerService.getOfferById(offerId);
+    }
+}
@@ -0,0 +1,114 @@
+package io.leedsk1y.reservault_backend.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.leedsk1y.reservault_backend.dto.OfferWithLocationDTO;
+import io.leedsk1y.reservault_backend.repositories.inmemory.InMemoryBookedDatesRepository;
+import io.leedsk1y.reservault_backend.repositories.inmemory.InMemoryHotelManagerRepository;
+import io.leedsk1y.reservault_backend.repositories.inmemory.InMemoryHotelRepository;
+import io.leedsk1y.reservault_backend.repositories.inmemory.InMemoryOfferRepository;
+import io.leedsk1y.reservault_backend.services.OfferService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encoding of OfferWithLocationDTO lists in the formats offered by OfferController: CPU per list as JSON,
+ * Smile and CBOR, with and without the gzip compression Tomcat applies. The encoded and compressed sizes
+ * of each list are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+    private static final String[] WORDS = {
+            "quiet", "room", "with", "a", "view", "of", "the", "old", "town", "and", "river", "breakfast",
+            "served", "daily", "in", "garden", "close", "to", "station", "spacious", "bright", "balcony"
+    };
+
+    @Param({"100", "1000"})
+    private int offers;
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    private ObjectMapper mapper;
+    private List<OfferWithLocationDTO> dtos;
+    private byte[] encoded;
+
+    @Setup
+    public void setup() throws IOException {
+        BenchmarkData data = new BenchmarkData(offers, 0, 42);
+        InMemoryOfferRepository offerRepository = new InMemoryOfferRepository();
+        InMemoryHotelRepository hotelRepository = new InMemoryHotelRepository();
+        offerRepository.insert(data.offers);
+        hotelRepository.insert(data.hotels);
+        OfferService offerService = new OfferService(offerRepository, hotelRepository,
+                new InMemoryBookedDatesRepository(), null, null, null, new InMemoryHotelManagerRepository(),
+                new SimpleMeterRegistry());
+
+        // real descriptions run to several paragraphs, the generated ones are a few words
+        SplittableRandom random = new SplittableRandom(42);
+        dtos = offerService.getAllOffers();
+        for (OfferWithLocationDTO dto : dtos) {
+            StringBuilder description = new StringBuilder();
+            while (description.length() < 600) {
+                description.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+            }
+            dto.setDescription(description.toString().trim());
+        }
+
+        mapper = switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+        encoded = mapper.writeValueAsBytes(dtos);
+        System.out.printf("%n%s, %d offers: %d bytes, %d bytes gzipped%n",
+                format, offers, encoded.length, gzip(encoded).length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return mapper.writeValueAsBytes(dtos);
+    }
+
+    @Benchmark
+    public byte[] serializeGzipped() throws IOException {
+        return gzip(mapper.writeValueAsBytes(dtos));
+    }
+
+    @Benchmark
+    public List<OfferWithLocationDTO> deserialize() throws IOException {
+        return mapper.readValue(encoded, new TypeReference<>() {});
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+}
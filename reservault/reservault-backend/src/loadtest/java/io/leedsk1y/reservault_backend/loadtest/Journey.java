@@ -0,0 +1,201 @@
+package io.leedsk1y.reservault_backend.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * One scripted user visit: log in, search offers, open one with its reviews and booked dates,
+ * and sometimes book free dates and pay for them. Each journey has its own session cookie.
+ */
+final class Journey implements Runnable {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MM.dd.yyyy");
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    /**
+     * @param baseUrl Base URL of the backend.
+     * @param users Number of accounts to log in as, `user{N}@synthetic.reservault.test`.
+     * @param userOffset First account number.
+     * @param password Password shared by the accounts.
+     * @param locations Search locations, `City, Country`.
+     * @param bookingRatio Share of journeys that book and pay.
+     */
+    record Settings(String baseUrl, int users, int userOffset, String password,
+                    List<String> locations, double bookingRatio) {
+    }
+
+    private final HttpClient client;
+    private final Settings settings;
+    private final LoadStats stats;
+    private final SplittableRandom random;
+    private String jwtCookie;
+
+    Journey(HttpClient client, Settings settings, LoadStats stats, SplittableRandom random) {
+        this.client = client;
+        this.settings = settings;
+        this.stats = stats;
+        this.random = random;
+    }
+
+    @Override
+    public void run() {
+        try {
+            if (!login()) {
+                return;
+            }
+
+            LocalDate from = LocalDate.now().plusDays(1 + random.nextInt(60));
+            String location = settings.locations().get(random.nextInt(settings.locations().size()));
+            JsonNode offers = send("GET /offers/search", get("/offers/search?location=" + encode(location) +
+                    "&rooms=1&people=" + (1 + random.nextInt(2)) +
+                    "&dateFrom=" + from.format(DATE_FORMAT) + "&dateUntil=" + from.plusDays(3).format(DATE_FORMAT)));
+            if (offers == null || !offers.isArray() || offers.isEmpty()) {
+                stats.recordError("journey", "no offers found");
+                return;
+            }
+
+            JsonNode offer = offers.get(random.nextInt(offers.size()));
+            String offerId = offer.path("id").asText();
+            send("GET /offers/{id}", get("/offers/" + offerId));
+            send("GET /offers/{id}/reviews", get("/offers/" + offerId + "/reviews"));
+            JsonNode bookedDates = send("GET /offers/{id}/booked-dates", get("/offers/" + offerId + "/booked-dates"));
+
+            if (bookedDates != null && random.nextDouble() < settings.bookingRatio()) {
+                book(offer, bookedDates);
+            }
+        } catch (IOException e) {
+            // already counted against the failing endpoint, the visit ends here
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            stats.recordError("journey", e.getClass().getSimpleName());
+        }
+    }
+
+    private boolean login() throws IOException, InterruptedException {
+        String email = "user" + (settings.userOffset() + random.nextInt(settings.users())) + "@synthetic.reservault.test";
+        String body = MAPPER.writeValueAsString(Map.of("email", email, "password", settings.password()));
+        HttpResponse<String> response = exchange("POST /auth/login", request("/auth/login")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .header("Content-Type", "application/json"));
+
+        jwtCookie = response.headers().allValues("Set-Cookie").stream()
+                .filter(cookie -> cookie.startsWith("jwt="))
+                .map(cookie -> cookie.split(";", 2)[0])
+                .findFirst()
+                .orElse(null);
+        if (response.statusCode() == 200 && jwtCookie == null) {
+            stats.recordError("POST /auth/login", "no jwt cookie");
+        }
+        return jwtCookie != null;
+    }
+
+    /**
+     * Books two nights that are within the offer and not booked yet, then pays for them.
+     * A 409 on booking is still counted as an error, as it means another journey took the dates first.
+     */
+    private void book(JsonNode offer, JsonNode bookedDates) throws IOException, InterruptedException {
+        Set<LocalDate> booked = new HashSet<>();
+        bookedDates.forEach(date -> booked.add(LocalDate.parse(date.asText())));
+
+        LocalDate offerFrom = LocalDate.parse(offer.path("dateFrom").asText(), DATE_FORMAT);
+        LocalDate offerUntil = LocalDate.parse(offer.path("dateUntil").asText(), DATE_FORMAT);
+        LocalDate first = offerFrom.isAfter(LocalDate.now()) ? offerFrom : LocalDate.now().plusDays(1);
+        long span = offerUntil.toEpochDay() - first.toEpochDay();
+        if (span < 1) {
+            stats.recordError("journey", "offer has no future dates");
+            return;
+        }
+
+        // probe a few random starting days, like a user clicking around the calendar
+        for (int attempt = 0; attempt < 5; attempt++) {
+            LocalDate start = first.plusDays(random.nextLong(span));
+            LocalDate end = start.plusDays(1);
+            if (booked.contains(start) || booked.contains(end) || end.isAfter(offerUntil)) {
+                continue;
+            }
+
+            String body = MAPPER.writeValueAsString(Map.of("offerId", offer.path("id").asText(),
+                    "dateFrom", start.format(DATE_FORMAT), "dateUntil", end.format(DATE_FORMAT)));
+            JsonNode booking = send("POST /bookings", request("/bookings")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .header("Content-Type", "application/json"));
+            if (booking != null) {
+                send("POST /bookings/{id}/pay", request("/bookings/" + booking.path("id").asText() + "/pay")
+                        .POST(HttpRequest.BodyPublishers.noBody()));
+            }
+            return;
+        }
+        stats.recordError("journey", "no free dates found");
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return request(path).GET();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(settings.baseUrl() + path))
+                .timeout(REQUEST_TIMEOUT);
+        if (jwtCookie != null) {
+            builder.header("Cookie", jwtCookie);
+        }
+        return builder;
+    }
+
+    /**
+     * Sends a request and parses its JSON body, counting any non-2xx status as an error.
+     * @return The body, or null if the request failed.
+     */
+    private JsonNode send(String endpoint, HttpRequest.Builder request) throws IOException, InterruptedException {
+        HttpResponse<String> response = exchange(endpoint, request);
+        if (response.statusCode() / 100 != 2) {
+            return null;
+        }
+        try {
+            return response.body().isEmpty() ? MAPPER.nullNode() : MAPPER.readTree(response.body());
+        } catch (JsonProcessingException e) {
+            stats.recordError(endpoint, "invalid JSON");
+            return null;
+        }
+    }
+
+    private HttpResponse<String> exchange(String endpoint, HttpRequest.Builder request)
+            throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<String> response;
+        try {
+            response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            stats.recordLatency(endpoint, System.nanoTime() - start);
+            stats.recordError(endpoint, e.getClass().getSimpleName());
+            throw e;
+        }
+        stats.recordLatency(endpoint, System.nanoTime() - start);
+
+        if (response.statusCode() / 100 != 2) {
+            stats.recordError(endpoint, "HTTP " + response.statusCode());
+        }
+        return response;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value.trim(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,68 @@
+package io.leedsk1y.reservault_backend.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms and error counts per endpoint, safe to record from many threads.
+ */
+final class LoadStats {
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final Map<String, Histogram> latencies = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    /**
+     * Records the latency of a completed request, whatever its status.
+     * @param endpoint Endpoint template, e.g. `GET /offers/{id}`.
+     * @param nanos Time from sending the request until the response was read.
+     */
+    void recordLatency(String endpoint, long nanos) {
+        latencies.computeIfAbsent(endpoint, key -> new ConcurrentHistogram(MAX_LATENCY_NANOS, 3))
+                .recordValue(Math.min(nanos, MAX_LATENCY_NANOS));
+    }
+
+    /**
+     * Counts a failed request or journey step.
+     * @param endpoint Endpoint template, or `journey` for failures outside a request.
+     * @param reason HTTP status or exception name.
+     */
+    void recordError(String endpoint, String reason) {
+        errors.computeIfAbsent(endpoint + " -> " + reason, key -> new LongAdder()).increment();
+    }
+
+    long totalErrors() {
+        return errors.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    long totalRequests() {
+        return latencies.values().stream().mapToLong(Histogram::getTotalCount).sum();
+    }
+
+    void print(PrintStream out) {
+        out.printf("%-36s %9s %9s %9s %9s %9s %9s%n", "endpoint", "count", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        new TreeMap<>(latencies).forEach((endpoint, histogram) -> out.printf("%-36s %9d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                endpoint, histogram.getTotalCount(),
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue())));
+
+        if (errors.isEmpty()) {
+            out.println("no errors");
+        } else {
+            out.println("errors:");
+            new TreeMap<>(errors).forEach((key, count) -> out.printf("  %-60s %9d%n", key, count.sum()));
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,134 @@
+package io.leedsk1y.reservault_backend.loadtest;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model HTTP load generator for a running backend.
+ * Journeys start at a fixed average rate with exponential inter-arrival times, whether or not earlier
+ * journeys have finished, so a slow server shows up as latency instead of a lower request rate.
+ * Journeys that would exceed `maxConcurrency` are dropped and reported as client-saturated.
+ *
+ * Usage: `mvn -Ploadtest test-compile exec:exec -Dloadtest.args="--rate=50 --duration=120"`
+ * Options (`--name=value`): baseUrl, rate (journeys/s), duration (s), warmup (s), users, userOffset,
+ * password, locations (`;`-separated `City, Country`), bookingRatio, maxConcurrency, seed.
+ */
+public final class LoadTest {
+    private static final Map<String, String> DEFAULTS = Map.ofEntries(
+            Map.entry("baseUrl", "http://localhost:8080"),
+            Map.entry("rate", "20"),
+            Map.entry("duration", "60"),
+            Map.entry("warmup", "10"),
+            Map.entry("users", "1000"),
+            Map.entry("userOffset", "0"),
+            Map.entry("password", "pass1234"),
+            Map.entry("locations", "Paris, France;London, United Kingdom;Barcelona, Spain;Rome, Italy;Berlin, Germany;Riga, Latvia"),
+            Map.entry("bookingRatio", "0.1"),
+            Map.entry("maxConcurrency", "2000"),
+            Map.entry("seed", "42"));
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, String> options = parse(args);
+        double rate = Double.parseDouble(options.get("rate"));
+        long durationNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(options.get("duration")));
+        long warmupNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(options.get("warmup")));
+        int maxConcurrency = Integer.parseInt(options.get("maxConcurrency"));
+
+        // one virtual thread per journey, so blocking journeys cost no platform thread; journeys never wait
+        // in a queue, as queueing in the client would hide server latency
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        Journey.Settings settings = new Journey.Settings(options.get("baseUrl"),
+                Integer.parseInt(options.get("users")), Integer.parseInt(options.get("userOffset")),
+                options.get("password"), List.of(options.get("locations").split(";")),
+                Double.parseDouble(options.get("bookingRatio")));
+
+        // warm-up journeys hit the server but are recorded separately and discarded
+        LoadStats warmupStats = new LoadStats();
+        LoadStats stats = new LoadStats();
+        Semaphore inFlight = new Semaphore(maxConcurrency);
+        AtomicLong started = new AtomicLong();
+        AtomicLong saturated = new AtomicLong();
+        SplittableRandom random = new SplittableRandom(Long.parseLong(options.get("seed")));
+
+        System.out.printf("Load test against %s: %.1f journeys/s for %ds after %ds warm-up%n",
+                settings.baseUrl(), rate, TimeUnit.NANOSECONDS.toSeconds(durationNanos),
+                TimeUnit.NANOSECONDS.toSeconds(warmupNanos));
+
+        long start = System.nanoTime();
+        long end = start + warmupNanos + durationNanos;
+        long nextArrival = start;
+        long nextProgress = start + TimeUnit.SECONDS.toNanos(10);
+
+        while (nextArrival < end) {
+            long now = System.nanoTime();
+            if (now < nextArrival) {
+                LockSupport.parkNanos(nextArrival - now);
+                continue;
+            }
+
+            if (now >= nextProgress) {
+                System.out.printf("%4ds  journeys started: %d, requests: %d, errors: %d, saturated: %d%n",
+                        TimeUnit.NANOSECONDS.toSeconds(now - start), started.get(), stats.totalRequests(),
+                        stats.totalErrors(), saturated.get());
+                nextProgress += TimeUnit.SECONDS.toNanos(10);
+            }
+
+            LoadStats target = nextArrival < start + warmupNanos ? warmupStats : stats;
+            if (inFlight.tryAcquire()) {
+                started.incrementAndGet();
+                Journey journey = new Journey(client, settings, target, random.split());
+                executor.execute(() -> {
+                    try {
+                        journey.run();
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            } else if (target == stats) {
+                saturated.incrementAndGet();
+            }
+
+            // exponential inter-arrival times give a Poisson arrival process at the given rate
+            nextArrival += (long) (-Math.log(1 - random.nextDouble()) / rate * 1_000_000_000L);
+        }
+
+        executor.shutdown();
+        if (!executor.awaitTermination(60, TimeUnit.SECONDS)) {
+            System.out.println("Journeys still running after 60s, abandoning them");
+            executor.shutdownNow();
+        }
+
+        System.out.printf("%nJourneys started: %d, dropped as client-saturated: %d%n", started.get(), saturated.get());
+        stats.print(System.out);
+        System.exit(0);
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>(DEFAULTS);
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0 || !DEFAULTS.containsKey(arg.substring(2, separator))) {
+                throw new IllegalArgumentException("Unknown option: " + arg + ", expected one of --" +
+                        String.join("=, --", DEFAULTS.keySet()) + "=");
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+}
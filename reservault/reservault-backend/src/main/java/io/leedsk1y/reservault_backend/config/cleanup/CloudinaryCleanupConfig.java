@@ -1,37 +1,64 @@
 package io.leedsk1y.reservault_backend.config.cleanup;
 
 import io.leedsk1y.reservault_backend.models.entities.Hotel;
+import io.leedsk1y.reservault_backend.models.entities.ImageDeletionTask;
+import io.leedsk1y.reservault_backend.models.entities.ImageVariants;
 import io.leedsk1y.reservault_backend.models.entities.Offer;
-import io.leedsk1y.reservault_backend.repositories.HotelRepository;
-import io.leedsk1y.reservault_backend.repositories.OfferRepository;
-import io.leedsk1y.reservault_backend.services.CloudinaryService;
+import io.leedsk1y.reservault_backend.models.enums.EImageDeletionStatus;
+import io.leedsk1y.reservault_backend.services.ImageStorage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Component
+@Profile("!in-memory")
 public class CloudinaryCleanupConfig {
     private static final Logger logger = LoggerFactory.getLogger(CloudinaryCleanupConfig.class);
-    private final HotelRepository hotelRepository;
-    private final OfferRepository offerRepository;
-    private final CloudinaryService cloudinaryService;
+    private final MongoTemplate mongoTemplate;
+    private final ImageStorage imageStorage;
 
     @Value("${reservault.cleanup.enabled:false}")
     private boolean cleanupEnabled;
 
-    public CloudinaryCleanupConfig(HotelRepository hotelRepository,
-                                   OfferRepository offerRepository,
-                                   CloudinaryService cloudinaryService) {
-        this.hotelRepository = hotelRepository;
-        this.offerRepository = offerRepository;
-        this.cloudinaryService = cloudinaryService;
+    @Value("${reservault.cleanup.images.batch-size:100}")
+    private int batchSize; // Cloudinary deletes at most 100 public IDs per call
+
+    @Value("${reservault.cleanup.images.parallelism:4}")
+    private int parallelism;
+
+    @Value("${reservault.cleanup.images.timeout-ms:60000}")
+    private long timeoutMs;
+
+    public CloudinaryCleanupConfig(MongoTemplate mongoTemplate, ImageStorage imageStorage) {
+        this.mongoTemplate = mongoTemplate;
+        this.imageStorage = imageStorage;
     }
 
     /**
-     * Deletes all images from Cloudinary that are currently associated with hotels and offers.
+     * Deletes all images from Cloudinary that are currently associated with hotels and offers,
+     * plus images still waiting in the deletion queue.
+     * Image URLs are streamed from MongoDB with a cursor and deleted in bulk batches,
+     * a few batches at a time. The cleanup gives up after `reservault.cleanup.images.timeout-ms`
+     * so it cannot hang shutdown.
      * This operation is only executed if the `reservault.cleanup.enabled` flag is set to `true`.
      * Used for development environment to reset state.
      */
@@ -39,25 +66,122 @@ public class CloudinaryCleanupConfig {
         if (!cleanupEnabled) return;
 
         logger.info("Starting Cloudinary cleanup for hotel and offer images.");
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, parallelism));
+        Semaphore inFlight = new Semaphore(Math.max(1, parallelism)); // keeps at most this many batches in memory
+        BatchProgress progress = new BatchProgress();
 
-        List<Hotel> hotels = hotelRepository.findAll();
-        List<String> hotelsImageUrls = hotels.stream()
-            .flatMap(hotel -> hotel.getImagesUrls().stream())
-            .toList();
+        try {
+            submitBatches(imageUrls(Hotel.class, new Query(), List.of("imagesUrls", "imageVariants"),
+                            hotel -> withVariants(hotel.getImagesUrls(), hotel.getImageVariants())), "hotels_images",
+                    executor, inFlight, progress, deadline);
+            submitBatches(imageUrls(Offer.class, new Query(), List.of("imagesUrls", "imageVariants"),
+                            offer -> withVariants(offer.getImagesUrls(), offer.getImageVariants())), "offers_images",
+                    executor, inFlight, progress, deadline);
 
-        List<Offer> offers = offerRepository.findAll();
-        List<String> offersImageUrls = offers.stream()
-                .flatMap(hotel -> hotel.getImagesUrls().stream())
-                .toList();
+            for (String folder : List.of("hotels_images", "offers_images")) {
+                Query queued = new Query(Criteria.where("folder").is(folder).and("status").is(EImageDeletionStatus.PENDING));
+                submitBatches(imageUrls(ImageDeletionTask.class, queued, List.of("imageUrl"), task -> List.of(task.getImageUrl())), folder,
+                        executor, inFlight, progress, deadline);
+            }
 
-        for (String imageUrl : hotelsImageUrls) {
-            cloudinaryService.deleteImage(imageUrl, "hotels_images");
-            logger.info("Deleted hotel image: {}", imageUrl);
+            executor.shutdown();
+            if (!executor.awaitTermination(remainingNanos(deadline), TimeUnit.NANOSECONDS)) {
+                throw new TimeoutException();
+            }
+            logger.info("Cloudinary cleanup finished: {} image(s) deleted in {} batch(es), {} batch(es) failed.",
+                    progress.deletedImages.get(), progress.completedBatches.get(), progress.failedBatches.get());
+        } catch (TimeoutException e) {
+            logger.warn("Cloudinary cleanup timed out after {} ms: {} image(s) deleted, remaining images were left in place.",
+                    timeoutMs, progress.deletedImages.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Cloudinary cleanup interrupted: {} image(s) deleted.", progress.deletedImages.get());
+        } finally {
+            executor.shutdownNow();
         }
+    }
+
+    /**
+     * Streams the image URLs of a collection, reading only the fields needed.
+     * @param type The entity type to read.
+     * @param query Query selecting the documents.
+     * @param fields The fields holding the image URL(s).
+     * @param urls Function extracting the image URLs of a document.
+     * @return Stream of image URLs; must be closed to release the cursor.
+     */
+    private <T> Stream<String> imageUrls(Class<T> type, Query query, List<String> fields, Function<T, List<String>> urls) {
+        fields.forEach(query.fields()::include);
+        return mongoTemplate.stream(query, type)
+                .flatMap(document -> Stream.ofNullable(urls.apply(document)).flatMap(List::stream));
+    }
 
-        for (String imageUrl : offersImageUrls) {
-            cloudinaryService.deleteImage(imageUrl, "offers_images");
-            logger.info("Deleted offer image: {}", imageUrl);
+    /**
+     * Collects the full-size image URLs and the distinct URLs of their resized variants.
+     */
+    private static List<String> withVariants(List<String> imagesUrls, List<ImageVariants> variants) {
+        Set<String> urls = new LinkedHashSet<>();
+        if (imagesUrls != null) {
+            urls.addAll(imagesUrls);
+        }
+        if (variants != null) {
+            variants.forEach(image -> {
+                urls.add(image.getMediumUrl());
+                urls.add(image.getSmallUrl());
+            });
         }
+        urls.remove(null);
+        return new ArrayList<>(urls);
+    }
+
+    private void submitBatches(Stream<String> imageUrls, String folder, ExecutorService executor,
+                               Semaphore inFlight, BatchProgress progress, long deadline)
+            throws InterruptedException, TimeoutException {
+        try (imageUrls) {
+            List<String> batch = new ArrayList<>(batchSize);
+            for (String imageUrl : (Iterable<String>) imageUrls::iterator) {
+                batch.add(imageUrl);
+                if (batch.size() == batchSize) {
+                    submitBatch(batch, folder, executor, inFlight, progress, deadline);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+
+            if (!batch.isEmpty()) {
+                submitBatch(batch, folder, executor, inFlight, progress, deadline);
+            }
+        }
+    }
+
+    private void submitBatch(List<String> batch, String folder, ExecutorService executor,
+                             Semaphore inFlight, BatchProgress progress, long deadline)
+            throws InterruptedException, TimeoutException {
+        if (!inFlight.tryAcquire(remainingNanos(deadline), TimeUnit.NANOSECONDS)) {
+            throw new TimeoutException();
+        }
+
+        executor.execute(() -> {
+            try {
+                imageStorage.deleteImages(batch, folder);
+                long deleted = progress.deletedImages.addAndGet(batch.size());
+                logger.info("Cloudinary cleanup progress: batch {} deleted {} image(s) from {} ({} total).",
+                        progress.completedBatches.incrementAndGet(), batch.size(), folder, deleted);
+            } catch (RuntimeException e) {
+                progress.failedBatches.incrementAndGet();
+                logger.warn("Failed to delete a batch of {} image(s) from {}: {}", batch.size(), folder, e.getMessage());
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    private static long remainingNanos(long deadline) {
+        return Math.max(0, deadline - System.nanoTime());
+    }
+
+    private static final class BatchProgress {
+        private final AtomicLong deletedImages = new AtomicLong();
+        private final AtomicInteger completedBatches = new AtomicInteger();
+        private final AtomicInteger failedBatches = new AtomicInteger();
     }
 }
@@ -4,10 +4,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import jakarta.annotation.PreDestroy;
 
 @Configuration
+@Profile("!in-memory")
 public class DatabaseCleanupConfig {
     private static final Logger logger = LoggerFactory.getLogger(DatabaseCleanupConfig.class);
 
@@ -0,0 +1,113 @@
+package io.leedsk1y.reservault_backend.config.migration;
+
+import io.leedsk1y.reservault_backend.models.entities.BookedDates;
+import io.leedsk1y.reservault_backend.models.entities.Booking;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+@Configuration
+@Profile("!in-memory")
+public class BookedDatesMigrationConfig {
+    private static final Logger logger = LoggerFactory.getLogger(BookedDatesMigrationConfig.class);
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${reservault.migrations.booked-dates-backfill:true}")
+    private boolean backfillEnabled;
+
+    public BookedDatesMigrationConfig(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Links booked dates written without a bookingId to their booking, matched by offer and date range.
+     * Bookings with identical dates are interchangeable, so each is linked to at most one row.
+     * Rows whose booking no longer exists only block the dates and are removed.
+     * Does nothing once every row has a bookingId.
+     *
+     * Controlled by `reservault.migrations.booked-dates-backfill`.
+     *
+     * @return ApplicationRunner that backfills booked dates during application startup.
+     */
+    @Bean
+    public ApplicationRunner backfillBookedDatesBookingIds() {
+        return args -> {
+            if (!backfillEnabled) {
+                return;
+            }
+
+            Query legacyQuery = new Query(Criteria.where("bookingId").is(null));
+            long legacy = mongoTemplate.count(legacyQuery, BookedDates.class);
+            if (legacy == 0) {
+                return;
+            }
+
+            logger.info("Backfilling bookingId on {} booked date(s)...", legacy);
+            Map<String, Deque<UUID>> unlinkedBookings = unlinkedBookingsByRange();
+            long linked = 0;
+            long removed = 0;
+
+            try (Stream<BookedDates> rows = mongoTemplate.stream(legacyQuery, BookedDates.class)) {
+                for (BookedDates row : (Iterable<BookedDates>) rows::iterator) {
+                    Deque<UUID> candidates = unlinkedBookings.get(rangeKey(row.getOfferId(), row.getDateFrom(), row.getDateUntil()));
+                    Query rowQuery = new Query(Criteria.where("_id").is(row.getId()).and("bookingId").is(null));
+
+                    if (candidates != null && !candidates.isEmpty()) {
+                        mongoTemplate.updateFirst(rowQuery, new Update().set("bookingId", candidates.poll()), BookedDates.class);
+                        linked++;
+                    } else {
+                        mongoTemplate.remove(rowQuery, BookedDates.class);
+                        removed++;
+                    }
+                }
+            }
+
+            logger.info("Booked dates backfill finished: {} linked to their booking, {} orphaned row(s) removed.", linked, removed);
+        };
+    }
+
+    /**
+     * Collects the bookings not referenced by any booked dates yet, keyed by offer and date range.
+     */
+    private Map<String, Deque<UUID>> unlinkedBookingsByRange() {
+        Set<UUID> linkedBookingIds = new HashSet<>();
+        Query linkedQuery = new Query(Criteria.where("bookingId").ne(null));
+        linkedQuery.fields().include("bookingId");
+        try (Stream<BookedDates> rows = mongoTemplate.stream(linkedQuery, BookedDates.class)) {
+            rows.forEach(row -> linkedBookingIds.add(row.getBookingId()));
+        }
+
+        Map<String, Deque<UUID>> unlinked = new HashMap<>();
+        Query bookingsQuery = new Query();
+        bookingsQuery.fields().include("_id").include("offerId").include("dateFrom").include("dateUntil");
+        try (Stream<Booking> bookings = mongoTemplate.stream(bookingsQuery, Booking.class)) {
+            bookings.filter(booking -> !linkedBookingIds.contains(booking.getId()))
+                    .forEach(booking -> unlinked
+                            .computeIfAbsent(rangeKey(booking.getOfferId(), booking.getDateFrom(), booking.getDateUntil()),
+                                    key -> new ArrayDeque<>())
+                            .add(booking.getId()));
+        }
+        return unlinked;
+    }
+
+    private static String rangeKey(UUID offerId, String dateFrom, String dateUntil) {
+        return offerId + "|" + dateFrom + "|" + dateUntil;
+    }
+}
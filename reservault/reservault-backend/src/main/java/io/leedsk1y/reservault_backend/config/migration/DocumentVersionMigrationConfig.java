@@ -0,0 +1,57 @@
+package io.leedsk1y.reservault_backend.config.migration;
+
+import com.mongodb.client.result.UpdateResult;
+import io.leedsk1y.reservault_backend.models.entities.Hotel;
+import io.leedsk1y.reservault_backend.models.entities.Offer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+
+@Configuration
+@Profile("!in-memory")
+public class DocumentVersionMigrationConfig {
+    private static final Logger logger = LoggerFactory.getLogger(DocumentVersionMigrationConfig.class);
+    private static final List<Class<?>> VERSIONED_ENTITIES = List.of(Offer.class, Hotel.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${reservault.migrations.document-versions:true}")
+    private boolean enabled;
+
+    public DocumentVersionMigrationConfig(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Sets version 0 on offers and hotels stored before they had a @Version field.
+     * Spring Data treats an entity without a version as new, so saving such a document would fail
+     * with a duplicate key instead of updating it. Runs before requests are served and
+     * does nothing once every document has a version.
+     *
+     * Controlled by `reservault.migrations.document-versions`.
+     */
+    @PostConstruct
+    public void backfillVersions() {
+        if (!enabled) {
+            return;
+        }
+
+        for (Class<?> entity : VERSIONED_ENTITIES) {
+            UpdateResult result = mongoTemplate.updateMulti(new Query(Criteria.where("version").exists(false)),
+                    new Update().set("version", 0L), entity);
+            if (result.getModifiedCount() > 0) {
+                logger.info("Set initial version on {} {} document(s)", result.getModifiedCount(),
+                        mongoTemplate.getCollectionName(entity));
+            }
+        }
+    }
+}
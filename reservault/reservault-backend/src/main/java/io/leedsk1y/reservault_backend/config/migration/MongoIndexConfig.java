@@ -0,0 +1,51 @@
+package io.leedsk1y.reservault_backend.config.migration;
+
+import io.leedsk1y.reservault_backend.models.entities.BookedDates;
+import io.leedsk1y.reservault_backend.models.entities.CascadeDeletionJob;
+import io.leedsk1y.reservault_backend.models.entities.ImageBlob;
+import io.leedsk1y.reservault_backend.models.entities.ImageDeletionTask;
+import io.leedsk1y.reservault_backend.models.entities.RevokedToken;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+
+import java.util.List;
+
+@Configuration
+@Profile("!in-memory")
+public class MongoIndexConfig {
+    private static final Logger logger = LoggerFactory.getLogger(MongoIndexConfig.class);
+    // collections whose queries depend on their declared indexes, auto index creation is off
+    private static final List<Class<?>> INDEXED_ENTITIES = List.of(
+            BookedDates.class, // bookingId, to delete the booked dates of a booking
+            CascadeDeletionJob.class, // TTL on expiresAt
+            ImageBlob.class, // unique url, to resolve blobs on release
+            ImageDeletionTask.class, // status + nextAttemptAt, to find due tasks
+            RevokedToken.class); // revokedAt for syncing, TTL on expiresAt
+
+    private final MongoTemplate mongoTemplate;
+
+    public MongoIndexConfig(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Ensures the indexes declared on the entities exist. Existing indexes are left untouched.
+     */
+    @PostConstruct
+    public void ensureIndexes() {
+        MongoPersistentEntityIndexResolver resolver =
+                new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+
+        for (Class<?> entity : INDEXED_ENTITIES) {
+            IndexOperations indexOps = mongoTemplate.indexOps(entity);
+            resolver.resolveIndexFor(entity).forEach(indexOps::ensureIndex);
+            logger.debug("Ensured indexes of {}", entity.getSimpleName());
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package io.leedsk1y.reservault_backend.config.monitoring;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import io.leedsk1y.reservault_backend.monitoring.QueryCountCommandListener;
+import io.leedsk1y.reservault_backend.monitoring.QueryCountRepositoryInterceptor;
+import io.leedsk1y.reservault_backend.repositories.inmemory.InMemoryRepository;
+
+@Configuration
+public class QueryCountConfig {
+    /**
+     * Registers the listener counting database commands per request on the MongoDB client.
+     * @return Customizer applied to the auto-configured MongoClientSettings.
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer queryCountCustomizer() {
+        return settings -> settings.addCommandListener(new QueryCountCommandListener());
+    }
+
+    /**
+     * Counts the calls to in-memory repositories like MongoDB commands, one query per public
+     * repository method, so @QueryBudget and QueryCounter assertions also hold in tests without a database.
+     * @return Post-processor wrapping the in-memory repositories with QueryCountRepositoryInterceptor.
+     */
+    @Bean
+    @Profile("in-memory")
+    public static AbstractAdvisingBeanPostProcessor inMemoryQueryCountPostProcessor() {
+        StaticMethodMatcherPointcut repositoryMethods = new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return Modifier.isPublic(method.getModifiers()) && method.getDeclaringClass() != Object.class;
+            }
+        };
+        repositoryMethods.setClassFilter(InMemoryRepository.class::isAssignableFrom);
+
+        return new AbstractAdvisingBeanPostProcessor() {
+            {
+                advisor = new DefaultPointcutAdvisor(repositoryMethods, new QueryCountRepositoryInterceptor());
+                setBeforeExistingAdvisors(true);
+                setProxyTargetClass(true); // class-based, like the other proxies Spring Boot creates
+            }
+        };
+    }
+}
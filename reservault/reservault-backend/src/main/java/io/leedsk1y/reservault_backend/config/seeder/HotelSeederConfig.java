@@ -1,19 +1,16 @@
 package io.leedsk1y.reservault_backend.config.seeder;
 
 import io.leedsk1y.reservault_backend.models.entities.Hotel;
+import io.leedsk1y.reservault_backend.models.entities.ImageVariants;
 import io.leedsk1y.reservault_backend.models.entities.Location;
 import io.leedsk1y.reservault_backend.repositories.HotelRepository;
-import io.leedsk1y.reservault_backend.services.CloudinaryService;
+import io.leedsk1y.reservault_backend.services.ImageBlobService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.ClassPathResource;
 
-import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
-import java.nio.file.Files;
-import java.nio.file.StandardCopyOption;
 import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
@@ -23,17 +20,17 @@ import java.util.stream.Collectors;
 public class HotelSeederConfig {
     private static final Logger logger = LoggerFactory.getLogger(HotelSeederConfig.class);
     private final HotelRepository hotelRepository;
-    private final CloudinaryService cloudinaryService;
+    private final ImageBlobService imageBlobService;
 
-    public HotelSeederConfig(HotelRepository hotelRepository, CloudinaryService cloudinaryService) {
+    public HotelSeederConfig(HotelRepository hotelRepository, ImageBlobService imageBlobService) {
         this.hotelRepository = hotelRepository;
-        this.cloudinaryService = cloudinaryService;
+        this.imageBlobService = imageBlobService;
     }
 
     /**
      * Seeds predefined hotels into the database if none exist.
      * Each hotel is seeded with metadata and 3 associated image files,
-     * which are uploaded to Cloudinary under the "hotels_images" folder.
+     * which are uploaded to the image storage under the "hotels_images" folder.
      * @throws IOException If image files cannot be read or uploaded.
      */
     public void seedHotels() throws IOException {
@@ -70,7 +67,7 @@ public class HotelSeederConfig {
     }
 
     /**
-     * Creates a Hotel object with the specified properties and uploads associated images to Cloudinary.
+     * Creates a Hotel object with the specified properties and uploads associated images to the image storage.
      *
      * @param identifier Unique string identifier for the hotel.
      * @param name Display name of the hotel.
@@ -84,7 +81,7 @@ public class HotelSeederConfig {
     private Hotel createHotel(String identifier, String name,
                               String description, int stars, Location location,
                               List<String> imageFiles) throws IOException {
-        List<String> imageUrls = uploadImages(imageFiles);
+        List<ImageVariants> images = uploadImages(imageFiles);
 
         Hotel hotel = new Hotel();
         hotel.setIdentifier(identifier);
@@ -93,19 +90,20 @@ public class HotelSeederConfig {
         hotel.setDescription(description);
         hotel.setStars(stars);
         hotel.setLocation(location);
-        hotel.setImagesUrls(imageUrls);
+        hotel.setImagesUrls(images.stream().map(ImageVariants::getUrl).collect(Collectors.toList()));
+        hotel.setImageVariants(images);
         hotel.setCreatedAt(Instant.now());
 
         return hotel;
     }
 
     /**
-     * Uploads a list of image files from the classpath to Cloudinary.
+     * Uploads a list of image files from the classpath to the image storage.
      * @param imageFiles List of file names located in `static/hotels-images/`.
-     * @return List of secure image URLs returned from Cloudinary.
+     * @return List of stored image URLs with their variants.
      * @throws IOException If any image file cannot be read or uploaded.
      */
-    private List<String> uploadImages(List<String> imageFiles) throws IOException {
+    private List<ImageVariants> uploadImages(List<String> imageFiles) throws IOException {
         return imageFiles.stream()
                 .map(fileName -> {
                     try {
@@ -115,14 +113,10 @@ public class HotelSeederConfig {
                             throw new RuntimeException("File not found: " + fileName);
                         }
 
-                        File tempFile = File.createTempFile("upload_", "_" + fileName);
-                        try (InputStream inputStream = resource.getInputStream()) {
-                            Files.copy(inputStream, tempFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
-                        }
-
+                        ImageVariants image = imageBlobService.acquire(resource.getContentAsByteArray(), "hotels_images");
                         logger.info("Uploaded hotel image: {}", fileName);
 
-                        return cloudinaryService.uploadImage(tempFile, "hotels_images");
+                        return image;
                     } catch (IOException e) {
                         throw new RuntimeException("Error uploading image: " + fileName, e);
                     }
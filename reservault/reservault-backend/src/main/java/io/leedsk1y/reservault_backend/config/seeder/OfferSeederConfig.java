@@ -4,6 +4,7 @@ package io.leedsk1y.reservault_backend.config.seeder;
 import io.leedsk1y.reservault_backend.models.entities.Facilities;
 import io.leedsk1y.reservault_backend.models.entities.Hotel;
 import io.leedsk1y.reservault_backend.models.entities.HotelManager;
+import io.leedsk1y.reservault_backend.models.entities.ImageVariants;
 import io.leedsk1y.reservault_backend.models.entities.Offer;
 import io.leedsk1y.reservault_backend.models.entities.User;
 import io.leedsk1y.reservault_backend.models.enums.EHotelManagerStatus;
@@ -11,18 +12,14 @@ import io.leedsk1y.reservault_backend.repositories.HotelManagerRepository;
 import io.leedsk1y.reservault_backend.repositories.HotelRepository;
 import io.leedsk1y.reservault_backend.repositories.OfferRepository;
 import io.leedsk1y.reservault_backend.repositories.UserRepository;
-import io.leedsk1y.reservault_backend.services.CloudinaryService;
+import io.leedsk1y.reservault_backend.services.ImageBlobService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.ClassPathResource;
 
-import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
 import java.math.BigDecimal;
-import java.nio.file.Files;
-import java.nio.file.StandardCopyOption;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
@@ -36,18 +33,18 @@ public class OfferSeederConfig {
     private final HotelRepository hotelRepository;
     private final UserRepository userRepository;
     private final HotelManagerRepository hotelManagerRepository;
-    private final CloudinaryService cloudinaryService;
+    private final ImageBlobService imageBlobService;
 
     public OfferSeederConfig(OfferRepository offerRepository,
                              HotelRepository hotelRepository,
                              UserRepository userRepository,
                              HotelManagerRepository hotelManagerRepository,
-                             CloudinaryService cloudinaryService) {
+                             ImageBlobService imageBlobService) {
         this.offerRepository = offerRepository;
         this.hotelRepository = hotelRepository;
         this.userRepository = userRepository;
         this.hotelManagerRepository = hotelManagerRepository;
-        this.cloudinaryService = cloudinaryService;
+        this.imageBlobService = imageBlobService;
     }
 
     /**
@@ -143,7 +140,7 @@ public class OfferSeederConfig {
                              List<String> imageFiles) throws IOException {
         logger.info("Creating offer: {}", title);
 
-        List<String> imageUrls = uploadImages(imageFiles);
+        List<ImageVariants> images = uploadImages(imageFiles);
 
         Offer offer = new Offer();
         offer.setId(UUID.randomUUID());
@@ -159,7 +156,8 @@ public class OfferSeederConfig {
         offer.setPeopleCount(peopleCount);
         offer.setPricePerNight(pricePerNight);
         offer.setFacilities(facilities);
-        offer.setImagesUrls(imageUrls);
+        offer.setImagesUrls(images.stream().map(ImageVariants::getUrl).collect(Collectors.toList()));
+        offer.setImageVariants(images);
         offer.setCreatedAt(Instant.now());
         offer.setReviews(new ArrayList<>());
 
@@ -167,12 +165,12 @@ public class OfferSeederConfig {
     }
 
     /**
-     * Uploads images from the classpath (resources/static/offers-images) to Cloudinary.
+     * Uploads images from the classpath (resources/static/offers-images) to the image storage.
      * @param imageFiles List of image file names to upload
-     * @return List of uploaded image URLs from Cloudinary
+     * @return List of uploaded image URLs with their variants
      * @throws IOException If file reading or upload fails
      */
-    private List<String> uploadImages(List<String> imageFiles) throws IOException {
+    private List<ImageVariants> uploadImages(List<String> imageFiles) throws IOException {
         return imageFiles.stream()
                 .map(fileName -> {
                     try {
@@ -182,14 +180,10 @@ public class OfferSeederConfig {
                             throw new RuntimeException("File not found: " + fileName);
                         }
 
-                        File tempFile = File.createTempFile("upload_", "_" + fileName);
-                        try (InputStream inputStream = resource.getInputStream()) {
-                            Files.copy(inputStream, tempFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
-                        }
-
+                        ImageVariants image = imageBlobService.acquire(resource.getContentAsByteArray(), "offers_images");
                         logger.info("Uploaded offer image: {}", fileName);
 
-                        return cloudinaryService.uploadImage(tempFile, "offers_images");
+                        return image;
                     } catch (IOException e) {
                         throw new RuntimeException("Error uploading image: " + fileName, e);
                     }
@@ -0,0 +1,397 @@
+package io.leedsk1y.reservault_backend.config.seeder;
+
+import io.leedsk1y.reservault_backend.models.entities.BookedDates;
+import io.leedsk1y.reservault_backend.models.entities.Booking;
+import io.leedsk1y.reservault_backend.models.entities.Facilities;
+import io.leedsk1y.reservault_backend.models.entities.Hotel;
+import io.leedsk1y.reservault_backend.models.entities.HotelManager;
+import io.leedsk1y.reservault_backend.models.entities.ImageVariants;
+import io.leedsk1y.reservault_backend.models.entities.Location;
+import io.leedsk1y.reservault_backend.models.entities.Offer;
+import io.leedsk1y.reservault_backend.models.entities.Payment;
+import io.leedsk1y.reservault_backend.models.entities.Review;
+import io.leedsk1y.reservault_backend.models.entities.User;
+import io.leedsk1y.reservault_backend.models.enums.EAuthProvider;
+import io.leedsk1y.reservault_backend.models.enums.EBookingStatus;
+import io.leedsk1y.reservault_backend.models.enums.EHotelManagerStatus;
+import io.leedsk1y.reservault_backend.models.enums.EPaymentStatus;
+import io.leedsk1y.reservault_backend.models.enums.ERole;
+import io.leedsk1y.reservault_backend.repositories.BookedDatesRepository;
+import io.leedsk1y.reservault_backend.repositories.BookingRepository;
+import io.leedsk1y.reservault_backend.repositories.HotelManagerRepository;
+import io.leedsk1y.reservault_backend.repositories.HotelRepository;
+import io.leedsk1y.reservault_backend.repositories.OfferRepository;
+import io.leedsk1y.reservault_backend.repositories.PaymentRepository;
+import io.leedsk1y.reservault_backend.repositories.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+@Configuration
+@Profile("synthetic-data")
+public class SyntheticDataSeederConfig {
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDataSeederConfig.class);
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MM.dd.yyyy");
+    private static final String IDENTIFIER_PREFIX = "SYN-";
+
+    // fixed most significant bits, so generated IDs can be derived from an index without lookups
+    private static final long USER_ID_PREFIX = 0x5359_4e00_0000_0001L;
+    private static final long MANAGER_ID_PREFIX = 0x5359_4e00_0000_0002L;
+    private static final long HOTEL_ID_PREFIX = 0x5359_4e00_0000_0003L;
+    private static final long HOTEL_MANAGER_ID_PREFIX = 0x5359_4e00_0000_0004L;
+
+    private static final String[][] CITIES = {
+            {"France", "Paris"}, {"United Kingdom", "London"}, {"Spain", "Barcelona"}, {"Italy", "Rome"},
+            {"Germany", "Berlin"}, {"Netherlands", "Amsterdam"}, {"Czech Republic", "Prague"}, {"Austria", "Vienna"},
+            {"Portugal", "Lisbon"}, {"Greece", "Athens"}, {"Latvia", "Riga"}, {"Estonia", "Tallinn"},
+            {"Lithuania", "Vilnius"}, {"Poland", "Krakow"}, {"Hungary", "Budapest"}, {"Denmark", "Copenhagen"},
+            {"Sweden", "Stockholm"}, {"Norway", "Oslo"}, {"Finland", "Helsinki"}, {"Ireland", "Dublin"},
+            {"Belgium", "Brussels"}, {"Switzerland", "Zurich"}, {"Croatia", "Dubrovnik"}, {"Turkey", "Istanbul"},
+            {"United States", "New York"}, {"Japan", "Tokyo"}, {"Thailand", "Bangkok"}, {"Egypt", "Cairo"},
+            {"Australia", "Sydney"}, {"Brazil", "Rio de Janeiro"}, {"Mexico", "Cancun"}, {"Canada", "Toronto"}
+    };
+    private static final String[] REVIEW_TITLES = {"Great stay", "Would come again", "Decent value", "Not as described",
+            "Perfect location", "Friendly staff", "Too noisy", "Spotless rooms"};
+
+    private final UserRepository userRepository;
+    private final HotelRepository hotelRepository;
+    private final HotelManagerRepository hotelManagerRepository;
+    private final OfferRepository offerRepository;
+    private final BookingRepository bookingRepository;
+    private final PaymentRepository paymentRepository;
+    private final BookedDatesRepository bookedDatesRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final ApplicationContext applicationContext;
+
+    @Value("${reservault.synthetic.users:10000}")
+    private int users;
+
+    @Value("${reservault.synthetic.managers:1000}")
+    private int managers;
+
+    @Value("${reservault.synthetic.hotels:100000}")
+    private int hotels;
+
+    @Value("${reservault.synthetic.offers:1000000}")
+    private int offers;
+
+    @Value("${reservault.synthetic.booked-ranges:10000000}")
+    private long bookedRanges;
+
+    @Value("${reservault.synthetic.reviews-per-offer:3}")
+    private int reviewsPerOffer;
+
+    @Value("${reservault.synthetic.locations:5000}")
+    private int locations;
+
+    @Value("${reservault.synthetic.zipf-exponent:1.07}")
+    private double zipfExponent;
+
+    @Value("${reservault.synthetic.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${reservault.synthetic.threads:8}")
+    private int threads;
+
+    @Value("${reservault.synthetic.seed:42}")
+    private long seed;
+
+    @Value("${reservault.synthetic.exit-when-done:false}")
+    private boolean exitWhenDone;
+
+    public SyntheticDataSeederConfig(UserRepository userRepository,
+                                     HotelRepository hotelRepository,
+                                     HotelManagerRepository hotelManagerRepository,
+                                     OfferRepository offerRepository,
+                                     BookingRepository bookingRepository,
+                                     PaymentRepository paymentRepository,
+                                     BookedDatesRepository bookedDatesRepository,
+                                     PasswordEncoder passwordEncoder,
+                                     ApplicationContext applicationContext) {
+        this.userRepository = userRepository;
+        this.hotelRepository = hotelRepository;
+        this.hotelManagerRepository = hotelManagerRepository;
+        this.offerRepository = offerRepository;
+        this.bookingRepository = bookingRepository;
+        this.paymentRepository = paymentRepository;
+        this.bookedDatesRepository = bookedDatesRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.applicationContext = applicationContext;
+    }
+
+    /**
+     * Generates a large synthetic dataset for performance testing when the `synthetic-data` profile is active.
+     * Users, managers, hotels, offers (with embedded reviews) and confirmed bookings (with their payments and
+     * booked ranges) are bulk-inserted in batches of `batch-size` on `threads` threads.
+     * Hotel locations and offer hotels follow a Zipf distribution, so a few cities and hotels are far more
+     * popular than the rest. Images are placeholder URLs, nothing is uploaded.
+     * The same `seed` generates the same values, apart from random offer and booking IDs.
+     * Skipped if synthetic hotels already exist.
+     *
+     * Run as a one-off command with:
+     * `--spring.profiles.active=synthetic-data --reservault.synthetic.exit-when-done=true`
+     * and any `reservault.synthetic.*` override, e.g. `--reservault.synthetic.hotels=1000`.
+     *
+     * @return ApplicationRunner that generates the dataset during application startup.
+     */
+    @Bean
+    public ApplicationRunner generateSyntheticData() {
+        return args -> {
+            if (hotelRepository.existsById(new UUID(HOTEL_ID_PREFIX, 0))) {
+                logger.info("Synthetic data already present, skipping generation.");
+            } else {
+                generate();
+            }
+
+            if (exitWhenDone) {
+                System.exit(SpringApplication.exit(applicationContext, () -> 0));
+            }
+        };
+    }
+
+    private void generate() throws InterruptedException {
+        logger.info("Generating synthetic data: {} users, {} managers, {} hotels, {} offers, ~{} booked ranges...",
+                users, managers, hotels, offers, bookedRanges);
+        long start = System.nanoTime();
+        String passwordHash = passwordEncoder.encode("pass1234"); // hashed once, hashing per user would dominate
+        ZipfSampler locationPopularity = new ZipfSampler(locations, zipfExponent);
+        ZipfSampler hotelPopularity = new ZipfSampler(hotels, zipfExponent);
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads));
+        try {
+            insertInChunks(executor, "users", users, (from, to) -> userRepository.insert(
+                    userBatch(from, to, USER_ID_PREFIX, "user", ERole.ROLE_USER, passwordHash)));
+            insertInChunks(executor, "managers", managers, (from, to) -> userRepository.insert(
+                    userBatch(from, to, MANAGER_ID_PREFIX, "manager", ERole.ROLE_MANAGER, passwordHash)));
+            insertInChunks(executor, "hotels", hotels, (from, to) -> insertHotels(from, to, locationPopularity));
+            insertInChunks(executor, "offers", offers, (from, to) -> insertOffers(from, to, hotelPopularity));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        logger.info("Synthetic data generated in {} s.", (System.nanoTime() - start) / 1_000_000_000);
+    }
+
+    /**
+     * Splits `[0, count)` into chunks of `batch-size` and runs them on the executor, logging progress.
+     */
+    private void insertInChunks(ExecutorService executor, String name, int count, BiConsumer<Integer, Integer> chunk)
+            throws InterruptedException {
+        AtomicLong done = new AtomicLong();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int from = 0; from < count; from += batchSize) {
+            int chunkFrom = from;
+            int chunkTo = Math.min(count, from + batchSize);
+            futures.add(executor.submit(() -> {
+                chunk.accept(chunkFrom, chunkTo);
+                long inserted = done.addAndGet(chunkTo - chunkFrom);
+                long logEvery = batchSize * 100L;
+                if (inserted / logEvery != (inserted - (chunkTo - chunkFrom)) / logEvery || inserted == count) {
+                    logger.info("Synthetic {}: {}/{}", name, inserted, count);
+                }
+            }));
+        }
+
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                throw new RuntimeException("Synthetic data generation failed for " + name, e.getCause());
+            }
+        }
+    }
+
+    private List<User> userBatch(int from, int to, long idPrefix, String name, ERole role, String passwordHash) {
+        List<User> batch = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            batch.add(new User(new UUID(idPrefix, i), name + " " + i, name + i + "@synthetic.reservault.test",
+                    passwordHash, null, Instant.now(), true, EAuthProvider.DEFAULT, Set.of(role.name())));
+        }
+        return batch;
+    }
+
+    private void insertHotels(int from, int to, ZipfSampler locationPopularity) {
+        SplittableRandom random = new SplittableRandom(seed ^ (HOTEL_ID_PREFIX + from));
+        List<Hotel> hotelBatch = new ArrayList<>(to - from);
+        List<HotelManager> hotelManagerBatch = new ArrayList<>(to - from);
+
+        for (int i = from; i < to; i++) {
+            Hotel hotel = new Hotel(IDENTIFIER_PREFIX + i, "Synthetic Hotel " + i,
+                    "Generated hotel for performance testing.", new ArrayList<>(), 1 + random.nextInt(5),
+                    location(locationPopularity.sample(random), random));
+            hotel.setId(new UUID(HOTEL_ID_PREFIX, i));
+            addPlaceholderImages(hotel.getImagesUrls(), hotel.getImageVariants(), "Hotel+" + i, 1 + random.nextInt(4));
+            hotelBatch.add(hotel);
+
+            HotelManager hotelManager = new HotelManager(hotel.getIdentifier(), managerIdOf(i), EHotelManagerStatus.APPROVED);
+            hotelManager.setId(new UUID(HOTEL_MANAGER_ID_PREFIX, i));
+            hotelManagerBatch.add(hotelManager);
+        }
+
+        hotelRepository.insert(hotelBatch);
+        hotelManagerRepository.insert(hotelManagerBatch);
+    }
+
+    /**
+     * Inserts a chunk of offers together with their bookings, payments and booked ranges.
+     * The ranges of one offer never overlap, as the booking flow guarantees.
+     */
+    private void insertOffers(int from, int to, ZipfSampler hotelPopularity) {
+        SplittableRandom random = new SplittableRandom(seed ^ (-1L - from));
+        double bookingsPerOffer = offers == 0 ? 0 : (double) bookedRanges / offers;
+        List<Offer> offerBatch = new ArrayList<>(to - from);
+        List<Booking> bookingBatch = new ArrayList<>();
+        List<Payment> paymentBatch = new ArrayList<>();
+        List<BookedDates> bookedDatesBatch = new ArrayList<>();
+
+        for (int i = from; i < to; i++) {
+            int hotel = hotelPopularity.sample(random);
+            Offer offer = offer(i, hotel, random);
+            offerBatch.add(offer);
+
+            LocalDate offerFrom = LocalDate.parse(offer.getDateFrom(), DATE_FORMAT);
+            int offerDays = (int) (LocalDate.parse(offer.getDateUntil(), DATE_FORMAT).toEpochDay() - offerFrom.toEpochDay());
+            int bookingCount = Math.min(offerDays / 2, (int) Math.round(random.nextDouble() * 2 * bookingsPerOffer));
+            int slotDays = bookingCount == 0 ? 0 : offerDays / bookingCount;
+
+            for (int b = 0; b < bookingCount; b++) {
+                int nights = 1 + random.nextInt(Math.min(7, slotDays - 1));
+                LocalDate bookingFrom = offerFrom.plusDays((long) b * slotDays + random.nextInt(slotDays - nights));
+                addBooking(offer, bookingFrom, nights, random, bookingBatch, paymentBatch, bookedDatesBatch);
+            }
+        }
+
+        offerRepository.insert(offerBatch);
+        for (int start = 0; start < bookingBatch.size(); start += batchSize) {
+            int end = Math.min(bookingBatch.size(), start + batchSize);
+            bookingRepository.insert(bookingBatch.subList(start, end));
+            paymentRepository.insert(paymentBatch.subList(start, end));
+            bookedDatesRepository.insert(bookedDatesBatch.subList(start, end));
+        }
+    }
+
+    private Offer offer(int index, int hotel, SplittableRandom random) {
+        Offer offer = new Offer();
+        offer.setId(UUID.randomUUID());
+        offer.setHotelIdentifier(IDENTIFIER_PREFIX + hotel);
+        offer.setHotelManagerId(new UUID(HOTEL_MANAGER_ID_PREFIX, hotel));
+        offer.setManagerId(managerIdOf(hotel));
+        offer.setTitle("Synthetic Offer " + index);
+        offer.setDescription("Generated offer for performance testing.");
+
+        LocalDate dateFrom = LocalDate.now().plusDays(random.nextInt(60));
+        offer.setDateFrom(dateFrom.format(DATE_FORMAT));
+        offer.setDateUntil(dateFrom.plusDays(30 + random.nextInt(335)).format(DATE_FORMAT));
+        offer.setFacilities(new Facilities(random.nextInt(10) < 9, random.nextBoolean(), random.nextInt(4) == 0,
+                random.nextBoolean(), random.nextInt(3) == 0));
+        offer.setRoomCount(1 + random.nextInt(4));
+        offer.setPeopleCount(1 + random.nextInt(6));
+        offer.setPricePerNight(BigDecimal.valueOf(30 + random.nextInt(470)).setScale(2, RoundingMode.UNNECESSARY));
+        addPlaceholderImages(offer.getImagesUrls(), offer.getImageVariants(), "Offer+" + index, 1 + random.nextInt(4));
+
+        int reviewCount = users == 0 ? 0 : random.nextInt(2 * reviewsPerOffer + 1);
+        double ratingSum = 0;
+        for (int r = 0; r < reviewCount; r++) {
+            int user = random.nextInt(users);
+            double rating = 1 + random.nextInt(5);
+            offer.getReviews().add(new Review(new UUID(USER_ID_PREFIX, user), "user" + user + "@synthetic.reservault.test",
+                    REVIEW_TITLES[random.nextInt(REVIEW_TITLES.length)], "Generated review.", rating));
+            ratingSum += rating;
+        }
+        offer.setRating(reviewCount == 0 ? 0 : ratingSum / reviewCount);
+        return offer;
+    }
+
+    private void addBooking(Offer offer, LocalDate dateFrom, int nights, SplittableRandom random,
+                            List<Booking> bookings, List<Payment> payments, List<BookedDates> bookedDates) {
+        Booking booking = new Booking();
+        booking.setId(UUID.randomUUID());
+        booking.setOfferId(offer.getId());
+        booking.setUserId(users == 0 ? null : new UUID(USER_ID_PREFIX, random.nextInt(users)));
+        booking.setDateFrom(dateFrom.format(DATE_FORMAT));
+        booking.setDateUntil(dateFrom.plusDays(nights).format(DATE_FORMAT));
+        booking.setStatus(EBookingStatus.CONFIRMED);
+        booking.setPrice(offer.getPricePerNight().multiply(BigDecimal.valueOf(nights)));
+
+        Payment payment = new Payment();
+        payment.setId(UUID.randomUUID());
+        payment.setBookingId(booking.getId());
+        payment.setStatus(EPaymentStatus.PAID);
+        booking.setPaymentId(payment.getId());
+
+        bookings.add(booking);
+        payments.add(payment);
+        bookedDates.add(new BookedDates(offer.getId(), booking.getId(), booking.getDateFrom(), booking.getDateUntil()));
+    }
+
+    private Location location(int index, SplittableRandom random) {
+        String[] city = CITIES[index % CITIES.length];
+        int district = index / CITIES.length;
+        return new Location(city[0], city[1], "Synthetic Street " + (district + 1) + "-" + (1 + random.nextInt(200)),
+                String.format("%05d", (index * 7919) % 100000));
+    }
+
+    private UUID managerIdOf(int hotel) {
+        return new UUID(MANAGER_ID_PREFIX, managers == 0 ? 0 : hotel % managers);
+    }
+
+    private static void addPlaceholderImages(List<String> urls, List<ImageVariants> variants, String label, int count) {
+        for (int i = 1; i <= count; i++) {
+            String url = "https://placehold.co/1200x800.jpg?text=" + label + "+" + i;
+            urls.add(url);
+            variants.add(new ImageVariants(url,
+                    "https://placehold.co/600x400.jpg?text=" + label + "+" + i,
+                    "https://placehold.co/200x133.jpg?text=" + label + "+" + i));
+        }
+    }
+
+    /**
+     * Samples ranks `0..n-1` with probability proportional to `1 / (rank + 1)^exponent`,
+     * by binary search over the precomputed cumulative distribution.
+     */
+    private static final class ZipfSampler {
+        private final double[] cumulative;
+
+        private ZipfSampler(int n, double exponent) {
+            cumulative = new double[Math.max(1, n)];
+            double sum = 0;
+            for (int rank = 0; rank < cumulative.length; rank++) {
+                sum += 1 / Math.pow(rank + 1, exponent);
+                cumulative[rank] = sum;
+            }
+            for (int rank = 0; rank < cumulative.length; rank++) {
+                cumulative[rank] /= sum;
+            }
+        }
+
+        private int sample(SplittableRandom random) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble());
+            return Math.min(cumulative.length - 1, index >= 0 ? index : -index - 1);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package io.leedsk1y.reservault_backend.config.web;
+
+import io.leedsk1y.reservault_backend.services.LocalImageStorage;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "spring.app.imageStorage.type", havingValue = "local")
+public class LocalImageResourceConfig implements WebMvcConfigurer {
+    private final LocalImageStorage localImageStorage;
+
+    public LocalImageResourceConfig(LocalImageStorage localImageStorage) {
+        this.localImageStorage = localImageStorage;
+    }
+
+    /**
+     * Serves locally stored images under `/images/**` straight from the storage directory.
+     * The resource handler answers Range requests with resource regions and conditional requests
+     * with 304, and since stored file names are never reused, responses are cached for a year as immutable.
+     * @param registry The resource handler registry.
+     */
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        registry.addResourceHandler(LocalImageStorage.URL_PATH + "**")
+                .addResourceLocations(localImageStorage.getRootDir().toUri().toString())
+                .setCacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable())
+                .setUseLastModified(true);
+    }
+}
@@ -1,8 +1,13 @@
 package io.leedsk1y.reservault_backend.config.web;
 
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -12,6 +17,8 @@ import java.util.List;
 
 @Configuration
 public class WebConfig {
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
     @Value("${spring.frontend.url}")
     private String frontendUrl;
 
@@ -34,4 +41,26 @@ public class WebConfig {
 
         return source;
     }
+
+    /**
+     * CBOR converter for clients asking for `application/cbor`, built like the JSON ObjectMapper
+     * so both encodings carry the same fields and date formats. Spring would otherwise register
+     * one with Jackson's defaults, writing dates as timestamps.
+     * @param builder Object mapper builder with the `spring.jackson.*` settings applied.
+     * @return The converter, placed after the JSON one so JSON stays the default.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    /**
+     * Smile converter for clients asking for `application/x-jackson-smile`, configured like cborHttpMessageConverter.
+     * @param builder Object mapper builder with the `spring.jackson.*` settings applied.
+     * @return The converter, placed after the JSON one so JSON stays the default.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
 }
@@ -1,13 +1,18 @@
 package io.leedsk1y.reservault_backend.controllers;
 
 import io.leedsk1y.reservault_backend.dto.AdminDashboardStatsDTO;
+import io.leedsk1y.reservault_backend.dto.CascadeDeletionJobDTO;
 import io.leedsk1y.reservault_backend.dto.UserDetailedResponseDTO;
 import io.leedsk1y.reservault_backend.models.entities.Hotel;
 import io.leedsk1y.reservault_backend.models.entities.HotelManager;
+import io.leedsk1y.reservault_backend.models.enums.ECascadeDeletionStatus;
 import io.leedsk1y.reservault_backend.services.AdminService;
+import io.leedsk1y.reservault_backend.services.FlightRecordingService;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -23,8 +28,12 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -37,9 +46,11 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 public class AdminController {
     private static final Logger logger = LoggerFactory.getLogger(AdminController.class);
     private AdminService adminService;
+    private FlightRecordingService flightRecordingService;
 
-    public AdminController(AdminService adminService) {
+    public AdminController(AdminService adminService, FlightRecordingService flightRecordingService) {
         this.adminService = adminService;
+        this.flightRecordingService = flightRecordingService;
     }
 
     /**
@@ -105,14 +116,34 @@ public class AdminController {
 
     /**
      * Deletes a hotel by its UUID.
+     * Large hotels are deleted in the background and answered with 202 and the deletion job.
      * @param id UUID of the hotel to be deleted.
      * @return ResponseEntity indicating the result of the deletion.
      */
     @DeleteMapping("/hotels/{id}")
-    public ResponseEntity<String> deleteHotel(@PathVariable UUID id) {
+    public ResponseEntity<?> deleteHotel(@PathVariable UUID id) {
         logger.info("Deleting hotel with ID: {}", id);
-        boolean deleted = adminService.deleteHotel(id);
-        return deleted ? ResponseEntity.ok("Hotel deleted") : ResponseEntity.notFound().build();
+        return adminService.deleteHotel(id)
+                .<ResponseEntity<?>>map(job -> job.getStatus() == ECascadeDeletionStatus.RUNNING
+                        ? ResponseEntity.accepted().body(job)
+                        : ResponseEntity.ok("Hotel deleted"))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Deletes an offer of any manager by its UUID.
+     * Offers with many bookings are deleted in the background and answered with 202 and the deletion job.
+     * @param id UUID of the offer to be deleted.
+     * @return ResponseEntity indicating the result of the deletion.
+     */
+    @DeleteMapping("/offers/{id}")
+    public ResponseEntity<?> deleteOffer(@PathVariable UUID id) {
+        logger.info("Deleting offer with ID: {}", id);
+        return adminService.deleteOffer(id)
+                .<ResponseEntity<?>>map(job -> job.getStatus() == ECascadeDeletionStatus.RUNNING
+                        ? ResponseEntity.accepted().body(job)
+                        : ResponseEntity.ok("Offer deleted"))
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     /**
@@ -157,14 +188,30 @@ public class AdminController {
 
     /**
      * Deletes a user based on their UUID.
+     * Users with many bookings are deleted in the background and answered with 202 and the deletion job.
      * @param id UUID of the user to be deleted.
      * @return ResponseEntity indicating success or failure.
      */
     @DeleteMapping("/users/{id}")
     public ResponseEntity<?> deleteUser(@PathVariable UUID id) {
         logger.info("Deleting user with ID: {}", id);
-        adminService.deleteUser(id);
-        return ResponseEntity.noContent().build();
+        CascadeDeletionJobDTO job = adminService.deleteUser(id);
+        return job.getStatus() == ECascadeDeletionStatus.RUNNING
+                ? ResponseEntity.accepted().body(job)
+                : ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Retrieves the progress of a hotel, offer or user deletion running in the background.
+     * @param id UUID of the deletion job.
+     * @return ResponseEntity with the job or not found.
+     */
+    @GetMapping("/deletions/{id}")
+    public ResponseEntity<CascadeDeletionJobDTO> getDeletionJob(@PathVariable UUID id) {
+        logger.info("Fetching deletion job with ID: {}", id);
+        return adminService.getDeletionJob(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     /**
@@ -241,4 +288,32 @@ public class AdminController {
         logger.info("Fetching admin dashboard statistics");
         return ResponseEntity.ok(adminService.getAdminDashboardStats());
     }
+
+    /**
+     * Downloads the continuous Java Flight Recorder recording, covering at most the last
+     * `spring.app.flightRecorder.maxAgeSeconds` and `maxSizeBytes`. Open it in JDK Mission Control
+     * or with `jfr print`; the ReserVault events are under the ReserVault category.
+     * @return ResponseEntity streaming the .jfr file.
+     * @throws IOException If the recording cannot be written.
+     */
+    @GetMapping("/diagnostics/recording")
+    public ResponseEntity<StreamingResponseBody> downloadRecording() throws IOException {
+        logger.info("Dumping flight recording");
+        Path file = flightRecordingService.dump();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+        headers.setContentLength(Files.size(file));
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename("reservault-" + Instant.now().getEpochSecond() + ".jfr")
+                .build());
+
+        return ResponseEntity.ok().headers(headers).body(out -> {
+            try {
+                Files.copy(file, out);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        });
+    }
 }
\ No newline at end of file
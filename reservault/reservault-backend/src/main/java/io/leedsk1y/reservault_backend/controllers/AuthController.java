@@ -37,13 +37,17 @@ public class AuthController {
     /**
      * Registers a new user or manager.
      * @param request The registration data including user info and hotel assignments.
+     * @param httpRequest HTTP request whose remote address, resolved from trusted proxy headers, is throttled.
      * @return ResponseEntity with registration result and user details or error message.
      */
     @PostMapping("/register")
-    public ResponseEntity<?> register(@RequestBody RegisterRequestDTO request) {
+    public ResponseEntity<?> register(@RequestBody RegisterRequestDTO request, HttpServletRequest httpRequest) {
         logger.info("Attempting to register user with email: {}", request.getEmail());
         try {
-            return ResponseEntity.ok(authService.registerUser(request));
+            return ResponseEntity.ok(authService.registerUser(request, httpRequest.getRemoteAddr()));
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode())
+                    .body(Map.of("message", e.getReason(), "status", false));
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.CONFLICT)
                     .body(Map.of("message", e.getMessage(), "status", false));
@@ -53,17 +57,23 @@ public class AuthController {
     /**
      * Authenticates a user and sets the JWT in a cookie on successful login.
      * @param request The login credentials (email and password).
+     * @param httpRequest HTTP request whose remote address, resolved from trusted proxy headers, is throttled.
      * @param response HTTP response used to set the JWT cookie.
      * @return ResponseEntity indicating login success or failure.
      */
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginRequestDTO request, HttpServletResponse response) {
+    public ResponseEntity<?> login(@RequestBody LoginRequestDTO request, HttpServletRequest httpRequest,
+                                   HttpServletResponse response) {
         logger.info("Attempting login for email: {}", request.getEmail());
         try {
-            String jwtToken = authService.authenticateUser(request.getEmail(), request.getPassword());
+            String jwtToken = authService.authenticateUser(request.getEmail(), request.getPassword(),
+                    httpRequest.getRemoteAddr());
             CookieUtils.setJwtCookie(response, jwtToken);
 
             return ResponseEntity.ok(Map.of("message", "Login successful", "status", true));
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode())
+                    .body(Map.of("message", e.getReason(), "status", false));
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.CONFLICT)
                     .body(Map.of("message", e.getMessage(), "status", false));
@@ -115,6 +125,9 @@ public class AuthController {
         try {
             authService.updateUserPassword(passwordDTO, request, response);
             return ResponseEntity.ok(Map.of("message", "Password updated successfully", "status", true));
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode())
+                    .body(Map.of("message", e.getReason(), "status", false));
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(Map.of("message", e.getMessage(), "status", false));
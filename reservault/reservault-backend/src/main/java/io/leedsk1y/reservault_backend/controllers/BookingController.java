@@ -1,11 +1,13 @@
 package io.leedsk1y.reservault_backend.controllers;
 
+import io.leedsk1y.reservault_backend.config.web.WebConfig;
 import io.leedsk1y.reservault_backend.dto.BookingResponseDTO;
 import io.leedsk1y.reservault_backend.models.entities.Booking;
 import io.leedsk1y.reservault_backend.services.BookingService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,6 +16,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 import java.util.Optional;
@@ -31,6 +34,7 @@ public class BookingController {
 
     /**
      * Creates a new booking for the authenticated user.
+     * Dates that are already booked are answered with 409.
      * @param booking The booking request payload.
      * @return ResponseEntity containing the saved booking or an error message.
      */
@@ -40,6 +44,8 @@ public class BookingController {
         try {
             Booking saved = bookingService.createBooking(booking);
             return ResponseEntity.ok(saved);
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body("Booking failed: " + e.getReason());
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body("Booking failed: " + e.getMessage());
         }
@@ -49,7 +55,7 @@ public class BookingController {
      * Retrieves all bookings made by the currently authenticated user.
      * @return ResponseEntity with a list of BookingResponseDTOs.
      */
-    @GetMapping
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, WebConfig.APPLICATION_SMILE_VALUE})
     public ResponseEntity<List<BookingResponseDTO>> getUserBookings() {
         logger.info("Fetching bookings for current user");
         return ResponseEntity.ok(bookingService.getUserBookings());
@@ -60,7 +66,7 @@ public class BookingController {
      * @param id UUID of the booking.
      * @return ResponseEntity with the booking or 404 if not found.
      */
-    @GetMapping("/{id}")
+    @GetMapping(value = "/{id}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, WebConfig.APPLICATION_SMILE_VALUE})
     public ResponseEntity<?> getBookingById(@PathVariable UUID id) {
         logger.info("Fetching booking by ID: {}", id);
         Optional<Booking> booking = bookingService.getBookingById(id);
@@ -1,14 +1,18 @@
 package io.leedsk1y.reservault_backend.controllers;
 
 import io.leedsk1y.reservault_backend.models.entities.Hotel;
+import io.leedsk1y.reservault_backend.monitoring.QueryBudget;
 import io.leedsk1y.reservault_backend.services.HotelService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.Optional;
 
@@ -16,6 +20,7 @@ import java.util.Optional;
 @RequestMapping("/hotels")
 public class HotelController {
     private static final Logger logger = LoggerFactory.getLogger(HotelController.class);
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
     private HotelService hotelService;
 
     public HotelController(HotelService hotelService) {
@@ -23,15 +28,26 @@ public class HotelController {
     }
 
     /**
-     * Retrieves a hotel by its unique identifier.
+     * Retrieves a hotel by its unique identifier, with a weak ETag derived from the hotel version.
+     * A matching If-None-Match is answered with 304 after reading only the version.
      * @param identifier The identifier of the hotel.
-     * @return ResponseEntity containing the Hotel or 404 if not found.
+     * @param request Web request carrying the conditional headers.
+     * @return ResponseEntity containing the Hotel, 304 if unchanged, or 404 if not found.
      */
+    @QueryBudget(3)
     @GetMapping("/{identifier}")
-    public ResponseEntity<Hotel> getHotelByIdentifier(@PathVariable String identifier) {
+    public ResponseEntity<Hotel> getHotelByIdentifier(@PathVariable String identifier, WebRequest request) {
         logger.info("Fetching hotel by identifier: {}", identifier);
+        Optional<String> etag = hotelService.getHotelEtag(identifier);
+        if (etag.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (request.checkNotModified(etag.get())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag.get()).cacheControl(REVALIDATE).build();
+        }
+
         Optional<Hotel> hotel = hotelService.getHotelByIdentifier(identifier);
-        return hotel.map(ResponseEntity::ok)
+        return hotel.map(body -> ResponseEntity.ok().eTag(etag.get()).cacheControl(REVALIDATE).body(body))
             .orElseGet(() -> ResponseEntity.notFound().build());
     }
 }
\ No newline at end of file
@@ -3,11 +3,14 @@ package io.leedsk1y.reservault_backend.controllers;
 import io.leedsk1y.reservault_backend.services.ImageProxyService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/proxy")
@@ -20,13 +23,17 @@ public class ImageProxyController {
     }
 
     /**
-     * Proxies an image request from a given external URL and returns the image as a byte array.
+     * Proxies an image request from a given external URL and streams the image back.
      * @param url The URL of the image to fetch.
-     * @return ResponseEntity containing the image or an error response.
+     * @param ifNoneMatch Optional If-None-Match header for conditional requests.
+     * @param ifModifiedSince Optional If-Modified-Since header for conditional requests.
+     * @return ResponseEntity streaming the image, 304 if unchanged, or an error response.
      */
     @GetMapping("/image")
-    public ResponseEntity<byte[]> fetchGoogleImage(@RequestParam String url) {
+    public ResponseEntity<StreamingResponseBody> fetchGoogleImage(@RequestParam String url,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.IF_MODIFIED_SINCE, required = false) String ifModifiedSince) {
         logger.info("Proxying image fetch request for URL: {}", url);
-        return imageService.fetchImage(url);
+        return imageService.fetchImage(url, ifNoneMatch, ifModifiedSince);
     }
 }
\ No newline at end of file
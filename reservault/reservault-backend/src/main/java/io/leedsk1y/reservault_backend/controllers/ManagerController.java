@@ -1,11 +1,14 @@
 package io.leedsk1y.reservault_backend.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.leedsk1y.reservault_backend.dto.CascadeDeletionJobDTO;
 import io.leedsk1y.reservault_backend.dto.ManagerDashboardStatsDTO;
 import io.leedsk1y.reservault_backend.dto.OfferWithLocationDTO;
 import io.leedsk1y.reservault_backend.dto.ReviewResponseDTO;
 import io.leedsk1y.reservault_backend.models.entities.HotelManager;
 import io.leedsk1y.reservault_backend.models.entities.Offer;
+import io.leedsk1y.reservault_backend.models.enums.ECascadeDeletionStatus;
+import io.leedsk1y.reservault_backend.monitoring.QueryBudget;
 import io.leedsk1y.reservault_backend.services.ManagerService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -133,6 +136,7 @@ public class ManagerController {
 
     /**
      * Deletes an offer owned by the manager by its ID.
+     * Offers with many bookings are deleted in the background and answered with 202 and the deletion job.
      * @param id UUID of the offer to delete.
      * @return ResponseEntity indicating success or failure.
      */
@@ -140,8 +144,10 @@ public class ManagerController {
     public ResponseEntity<?> deleteOffer(@PathVariable UUID id) {
         logger.info("Deleting offer with ID: {}", id);
         try {
-            managerService.deleteOffer(id);
-            return ResponseEntity.ok().body("Offer deleted successfully");
+            CascadeDeletionJobDTO job = managerService.deleteOffer(id);
+            return job.getStatus() == ECascadeDeletionStatus.RUNNING
+                    ? ResponseEntity.accepted().body(job)
+                    : ResponseEntity.ok().body("Offer deleted successfully");
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body("Error: " + e.getMessage());
         }
@@ -195,6 +201,7 @@ public class ManagerController {
      * Retrieves dashboard statistics for the currently authenticated manager.
      * @return ResponseEntity containing ManagerDashboardStatsDTO.
      */
+    @QueryBudget(4)
     @GetMapping("/statistics")
     public ResponseEntity<ManagerDashboardStatsDTO> getManagerStats() {
         logger.info("Fetching dashboard statistics for manager");
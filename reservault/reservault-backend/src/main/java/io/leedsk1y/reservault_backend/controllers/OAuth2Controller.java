@@ -2,15 +2,12 @@ package io.leedsk1y.reservault_backend.controllers;
 
 import io.leedsk1y.reservault_backend.dto.UserDetailedResponseDTO;
 import io.leedsk1y.reservault_backend.services.OAuth2Service;
-import io.leedsk1y.reservault_backend.security.jwt.CookieUtils;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -22,9 +19,6 @@ import java.io.IOException;
 public class OAuth2Controller {
     private static final Logger logger = LoggerFactory.getLogger(OAuth2Controller.class);
 
-    @Value("${spring.frontend.url}")
-    private String frontendUrl;
-
     private final OAuth2Service oAuth2Service;
 
     public OAuth2Controller(OAuth2Service oAuth2Service) {
@@ -42,27 +36,6 @@ public class OAuth2Controller {
         response.sendRedirect("/oauth2/authorization/google");
     }
 
-    /**
-     * Handles successful OAuth2 authentication by generating a JWT token and setting it as a cookie.
-     * Then redirects the user to the frontend dashboard.
-     * @param response HTTP response used to set cookies and redirect.
-     * @param authentication The authenticated user's token.
-     * @throws IOException If token generation or redirect fails.
-     */
-    @GetMapping("/success")
-    public void handleOAuth2Success(HttpServletResponse response, Authentication authentication) throws IOException {
-        logger.info("Handling successful OAuth2 login for user: {}", authentication.getName());
-        try {
-            String jwtToken = oAuth2Service.handleOAuth2Authentication((OAuth2AuthenticationToken) authentication);
-
-            CookieUtils.setJwtCookie(response, jwtToken);
-
-            response.sendRedirect(frontendUrl + "/dashboard");
-        } catch (RuntimeException e) {
-            response.sendError(HttpStatus.UNAUTHORIZED.value(), "Authentication failed: " + e.getMessage());
-        }
-    }
-
     /**
      * Handles a failed OAuth2 login attempt.
      * @return ResponseEntity with an unauthorized error message.
@@ -74,8 +47,8 @@ public class OAuth2Controller {
     }
 
     /**
-     * Retrieves the currently authenticated user from an OAuth2 session.
-     * @param authentication The authentication token of the current session.
+     * Retrieves the currently authenticated OAuth2 user.
+     * @param authentication The authentication resolved from the JWT cookie.
      * @return ResponseEntity containing detailed user information.
      */
     @GetMapping("/me")
@@ -1,49 +1,95 @@
 package io.leedsk1y.reservault_backend.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.leedsk1y.reservault_backend.config.web.WebConfig;
 import io.leedsk1y.reservault_backend.dto.OfferWithLocationDTO;
+import io.leedsk1y.reservault_backend.monitoring.QueryBudget;
 import io.leedsk1y.reservault_backend.services.OfferService;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/offers")
 public class OfferController {
     private static final Logger logger = LoggerFactory.getLogger(OfferController.class);
+    // browsers may keep responses but must revalidate them with their ETag before every use
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
     private final OfferService offerService;
+    private final ObjectMapper objectMapper;
 
-    public OfferController(OfferService offerService) {
+    public OfferController(OfferService offerService, ObjectMapper objectMapper) {
         this.offerService = offerService;
+        this.objectMapper = objectMapper;
     }
 
     /**
      * Retrieves all offers in the system along with associated hotel location and metadata.
      * @return ResponseEntity containing a list of OfferWithLocationDTOs.
      */
-    @GetMapping
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, WebConfig.APPLICATION_SMILE_VALUE})
     public ResponseEntity<List<OfferWithLocationDTO>> getAllOffers() {
         logger.info("Fetching all offers");
         return ResponseEntity.ok(offerService.getAllOffers());
     }
 
     /**
-     * Retrieves an offer by its UUID.
+     * Streams all offers as newline-delimited JSON, one OfferWithLocationDTO per line, read from a database cursor.
+     * Memory use stays flat however large the catalog is, and the first offer is sent as soon as it is read.
+     * @param response HTTP servlet response the offers are written to.
+     * @throws IOException If the client disconnects; the cursor is closed.
+     */
+    @QueryBudget(batched = true)
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamAllOffers(HttpServletResponse response) throws IOException {
+        logger.info("Streaming all offers");
+        writeNdjson(offerService.streamAllOffers(), response);
+    }
+
+    /**
+     * Retrieves an offer by its UUID, with a weak ETag derived from the versions of the offer and its hotel.
+     * A matching If-None-Match is answered with 304 after reading only those versions.
+     * The tag is shared by the JSON, CBOR and Smile encodings, so responses vary by Accept.
      * @param id UUID of the offer to fetch.
-     * @return ResponseEntity with the offer data if found, or 404 if not.
+     * @param request Web request carrying the conditional headers.
+     * @return ResponseEntity with the offer data if found, 304 if unchanged, or 404 if not found.
      */
-    @GetMapping("/{id}")
-    public ResponseEntity<?> getOfferById(@PathVariable UUID id) {
+    @QueryBudget(5)
+    @GetMapping(value = "/{id}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, WebConfig.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<?> getOfferById(@PathVariable UUID id, WebRequest request) {
         logger.info("Fetching offer by ID: {}", id);
+        Optional<String> etag = offerService.getOfferEtag(id);
+        if (etag.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (request.checkNotModified(etag.get())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag.get()).cacheControl(REVALIDATE)
+                    .varyBy(HttpHeaders.ACCEPT).build();
+        }
+
+        // a write between the two reads only makes the next request miss, the tag never outlives the data
         return offerService.getOfferById(id)
-                .map(ResponseEntity::ok)
+                .<ResponseEntity<?>>map(offer -> ResponseEntity.ok().eTag(etag.get()).cacheControl(REVALIDATE)
+                        .varyBy(HttpHeaders.ACCEPT).body(offer))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
@@ -68,7 +114,8 @@ public class OfferController {
      * @param hotelId Filter offers by a specific hotel identifier.
      * @return ResponseEntity with filtered and sorted list of offers.
      */
-    @GetMapping("/search")
+    @QueryBudget(4)
+    @GetMapping(value = "/search", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, WebConfig.APPLICATION_SMILE_VALUE})
     public ResponseEntity<List<OfferWithLocationDTO>> searchOffers(
             @RequestParam String location,
             @RequestParam Integer rooms,
@@ -96,14 +143,74 @@ public class OfferController {
         );
     }
 
+    /**
+     * Streams the results of searchOffers as newline-delimited JSON, one OfferWithLocationDTO per line.
+     * Takes the same parameters; unsorted results are sent while the catalog is still being scanned.
+     * @param response HTTP servlet response the offers are written to.
+     * @throws IOException If the client disconnects; the cursor is closed.
+     */
+    @QueryBudget(batched = true)
+    @GetMapping(value = "/search/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamSearchOffers(
+            @RequestParam String location,
+            @RequestParam Integer rooms,
+            @RequestParam Integer people,
+            @RequestParam String dateFrom,
+            @RequestParam String dateUntil,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) Boolean wifi,
+            @RequestParam(required = false) Boolean parking,
+            @RequestParam(required = false) Boolean pool,
+            @RequestParam(required = false) Boolean airConditioning,
+            @RequestParam(required = false) Boolean breakfast,
+            @RequestParam(required = false) Integer rating,
+            @RequestParam(required = false) Integer hotelStars,
+            @RequestParam(required = false) String sortBy,
+            @RequestParam(required = false) String sortOrder,
+            @RequestParam(required = false) String hotelId,
+            HttpServletResponse response
+    ) throws IOException {
+        logger.info("Streaming offer search for location: {}, from: {}, until: {}", location, dateFrom, dateUntil);
+        writeNdjson(offerService.streamSearchOffers(location, rooms, people, dateFrom, dateUntil,
+                minPrice, maxPrice, wifi, parking, pool, airConditioning,
+                breakfast, rating, hotelStars, sortBy, sortOrder, hotelId), response);
+    }
+
     /**
      * Retrieves all dates that are currently booked for a specific offer.
      * @param offerId UUID of the offer.
      * @return ResponseEntity containing a list of LocalDate objects representing booked dates.
      */
-    @GetMapping("/{offerId}/booked-dates")
+    @QueryBudget(2)
+    @GetMapping(value = "/{offerId}/booked-dates", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, WebConfig.APPLICATION_SMILE_VALUE})
     public ResponseEntity<?> getBookedDatesForOffer(@PathVariable UUID offerId) {
         logger.info("Fetching booked dates for offer ID: {}", offerId);
         return ResponseEntity.ok(offerService.getBookedDatesForOffer(offerId));
     }
-}
\ No newline at end of file
+
+    /**
+     * Writes offers one JSON document per line on the request thread, which blocks while the client is slow,
+     * so the cursor is only read as fast as the client reads. The first line is flushed at once;
+     * after that the container sends the response whenever its buffer is full.
+     * Once the first line is sent, errors can only abort the response, leaving a truncated last line.
+     */
+    private void writeNdjson(Stream<OfferWithLocationDTO> offers, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream out = response.getOutputStream();
+        boolean first = true;
+
+        try (offers) {
+            Iterator<OfferWithLocationDTO> iterator = offers.iterator();
+            while (iterator.hasNext()) {
+                out.write(objectMapper.writeValueAsBytes(iterator.next()));
+                out.write('\n');
+                if (first) {
+                    out.flush();
+                    first = false;
+                }
+            }
+        }
+        out.flush();
+    }
+}
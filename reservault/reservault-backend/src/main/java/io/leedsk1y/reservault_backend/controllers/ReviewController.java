@@ -2,9 +2,12 @@ package io.leedsk1y.reservault_backend.controllers;
 
 import io.leedsk1y.reservault_backend.dto.ReviewDetailedDTO;
 import io.leedsk1y.reservault_backend.dto.ReviewRequestDTO;
+import io.leedsk1y.reservault_backend.monitoring.QueryBudget;
 import io.leedsk1y.reservault_backend.services.ReviewService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,6 +16,8 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 import java.util.UUID;
@@ -21,6 +26,7 @@ import java.util.UUID;
 @RequestMapping("/offers/{offerId}/reviews")
 public class ReviewController {
     private static final Logger logger = LoggerFactory.getLogger(ReviewController.class);
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
     private final ReviewService reviewService;
 
     public ReviewController(ReviewService reviewService) {
@@ -28,14 +34,24 @@ public class ReviewController {
     }
 
     /**
-     * Retrieves all reviews for a specific offer.
+     * Retrieves all reviews for a specific offer, with a weak ETag derived from the offer version
+     * and the reviewer names. A matching If-None-Match is answered with 304 without loading the reviews.
      * @param offerId UUID of the offer to fetch reviews for.
-     * @return ResponseEntity containing a list of ReviewDetailedDTOs.
+     * @param request Web request carrying the conditional headers.
+     * @return ResponseEntity containing a list of ReviewDetailedDTOs, or 304 if unchanged.
+     * @throws ResponseStatusException 404 if the offer is not found.
      */
+    @QueryBudget(5)
     @GetMapping
-    public ResponseEntity<List<ReviewDetailedDTO>> getReviews(@PathVariable UUID offerId) {
+    public ResponseEntity<List<ReviewDetailedDTO>> getReviews(@PathVariable UUID offerId, WebRequest request) {
         logger.info("Fetching reviews for offer ID: {}", offerId);
-        return ResponseEntity.ok(reviewService.getReviewsForOffer(offerId));
+        String etag = reviewService.getReviewsEtag(offerId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Offer not found"));
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+        }
+
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(reviewService.getReviewsForOffer(offerId));
     }
 
     /**
@@ -0,0 +1,49 @@
+package io.leedsk1y.reservault_backend.dto;
+
+import io.leedsk1y.reservault_backend.models.entities.CascadeDeletionJob;
+import io.leedsk1y.reservault_backend.models.enums.ECascadeDeletionStatus;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Getter
+public class CascadeDeletionJobDTO {
+    private final UUID id;
+    private final String target;
+    private final Instant startedAt;
+    private final AtomicLong deletedOffers = new AtomicLong();
+    private final AtomicLong deletedBookings = new AtomicLong();
+    private final AtomicLong deletedPayments = new AtomicLong();
+    private final AtomicLong deletedBookedDates = new AtomicLong();
+
+    @Setter
+    private volatile ECascadeDeletionStatus status = ECascadeDeletionStatus.RUNNING;
+
+    @Setter
+    private volatile Instant finishedAt;
+
+    @Setter
+    private volatile String error;
+
+    public CascadeDeletionJobDTO(String target) {
+        this.id = UUID.randomUUID();
+        this.target = target;
+        this.startedAt = Instant.now();
+    }
+
+    public CascadeDeletionJobDTO(CascadeDeletionJob job) {
+        this.id = job.getId();
+        this.target = job.getTarget();
+        this.startedAt = job.getStartedAt();
+        this.deletedOffers.set(job.getDeletedOffers());
+        this.deletedBookings.set(job.getDeletedBookings());
+        this.deletedPayments.set(job.getDeletedPayments());
+        this.deletedBookedDates.set(job.getDeletedBookedDates());
+        this.status = job.getStatus();
+        this.finishedAt = job.getFinishedAt();
+        this.error = job.getError();
+    }
+}
@@ -2,6 +2,7 @@ package io.leedsk1y.reservault_backend.dto;
 
 import io.leedsk1y.reservault_backend.models.entities.Location;
 import io.leedsk1y.reservault_backend.models.entities.Facilities;
+import io.leedsk1y.reservault_backend.models.entities.ImageVariants;
 import io.leedsk1y.reservault_backend.models.entities.Review;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -33,4 +34,6 @@ public class OfferWithLocationDTO {
     private Location location;
     private String hotelName;
     private int stars;
+    private String thumbnailUrl; // small variant of the first image, for search result cards
+    private List<ImageVariants> imageVariants; // one entry per imagesUrls entry
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import lombok.Getter;
 import lombok.Setter;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.Instant;
@@ -32,6 +33,7 @@ public class BookedDates {
 
     private UUID offerId;
 
+    @Indexed
     private UUID bookingId;
 
     private String dateFrom;
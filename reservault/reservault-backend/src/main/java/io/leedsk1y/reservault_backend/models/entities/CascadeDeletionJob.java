@@ -0,0 +1,34 @@
+package io.leedsk1y.reservault_backend.models.entities;
+
+import io.leedsk1y.reservault_backend.models.enums.ECascadeDeletionStatus;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@Document(collection = "cascade_deletion_jobs")
+public class CascadeDeletionJob {
+    @Id
+    private UUID id;
+    private String target;
+    private ECascadeDeletionStatus status;
+    private long deletedOffers;
+    private long deletedBookings;
+    private long deletedPayments;
+    private long deletedBookedDates;
+    private Instant startedAt;
+    private Instant updatedAt; // saved with every batch, a running job not updated for long lost its instance
+    private Instant finishedAt;
+    private String error;
+
+    @Indexed(expireAfter = "0s") // removed by MongoDB once the finished job is past its retention
+    private Instant expiresAt;
+}
@@ -1,9 +1,11 @@
 package io.leedsk1y.reservault_backend.models.entities;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 import java.time.Instant;
@@ -18,6 +20,7 @@ import java.util.UUID;
 public class Hotel {
     public Hotel() {
         this.imagesUrls = new ArrayList<>();
+        this.imageVariants = new ArrayList<>();
     }
 
     public Hotel(String identifier, String name, String description, List<String> imagesUrls, int stars, Location location) {
@@ -26,6 +29,7 @@ public class Hotel {
         this.name = name;
         this.description = description;
         this.imagesUrls = imagesUrls;
+        this.imageVariants = new ArrayList<>();
         this.stars = stars;
         this.location = location;
         this.createdAt = Instant.now();
@@ -34,6 +38,10 @@ public class Hotel {
     @Id
     private UUID id;
 
+    @Version
+    @JsonIgnore
+    private Long version; // incremented by every save, a save from a stale copy fails; clients see it in ETags
+
     private String identifier;
 
     private String name;
@@ -42,6 +50,8 @@ public class Hotel {
 
     private List<String> imagesUrls;
 
+    private List<ImageVariants> imageVariants; // resized copies of imagesUrls, absent for older images
+
     private int stars;
 
     private Location location;
@@ -0,0 +1,29 @@
+package io.leedsk1y.reservault_backend.models.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "image_blobs")
+public class ImageBlob {
+    @Id
+    private String id; // "<folder>:<SHA-256 of the original upload>"
+    private String folder;
+
+    @Indexed(unique = true)
+    private String url;
+
+    private ImageVariants variants;
+    private long refCount; // hotels and offers referencing the stored image
+    private Instant createdAt;
+}
@@ -0,0 +1,39 @@
+package io.leedsk1y.reservault_backend.models.entities;
+
+import io.leedsk1y.reservault_backend.models.enums.EImageDeletionStatus;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@Document(collection = "image_deletion_queue")
+@CompoundIndex(name = "status_next_attempt", def = "{'status': 1, 'nextAttemptAt': 1}")
+public class ImageDeletionTask {
+    @Id
+    private UUID id;
+    private String imageUrl;
+    private String folder;
+    private EImageDeletionStatus status;
+    private int attempts;
+    private Instant nextAttemptAt; // also used as a lease while a worker processes the task
+    private String lastError;
+    private Instant createdAt;
+
+    public ImageDeletionTask(String imageUrl, String folder) {
+        this.id = UUID.randomUUID();
+        this.imageUrl = imageUrl;
+        this.folder = folder;
+        this.status = EImageDeletionStatus.PENDING;
+        this.attempts = 0;
+        this.nextAttemptAt = Instant.now();
+        this.createdAt = Instant.now();
+    }
+}
@@ -0,0 +1,25 @@
+package io.leedsk1y.reservault_backend.models.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImageVariants {
+    private String url; // full size, same as the entry in imagesUrls
+    private String mediumUrl; // longest side 600px
+    private String smallUrl; // longest side 200px
+
+    /**
+     * Variants of an image stored before variants were generated: every size points to the full image.
+     * @param url The full-size image URL.
+     * @return Variants all pointing to the given URL.
+     */
+    public static ImageVariants fullSizeOnly(String url) {
+        return new ImageVariants(url, url, url);
+    }
+}
@@ -1,9 +1,11 @@
 package io.leedsk1y.reservault_backend.models.entities;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.math.BigDecimal;
@@ -18,6 +20,7 @@ import java.util.UUID;
 public class Offer {
     public Offer() {
         this.imagesUrls = new ArrayList<>();
+        this.imageVariants = new ArrayList<>();
         this.reviews = new ArrayList<>();
         this.createdAt = Instant.now();
     }
@@ -25,6 +28,10 @@ public class Offer {
     @Id
     private UUID id;
 
+    @Version
+    @JsonIgnore
+    private Long version; // incremented by every save, a save from a stale copy fails; clients see it in ETags
+
     private UUID hotelManagerId;
 
     private String hotelIdentifier;
@@ -51,6 +58,8 @@ public class Offer {
 
     private List<String> imagesUrls;
 
+    private List<ImageVariants> imageVariants; // resized copies of imagesUrls, absent for older images
+
     @CreatedDate
     private Instant createdAt;
 
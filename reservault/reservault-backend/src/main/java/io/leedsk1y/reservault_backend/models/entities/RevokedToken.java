@@ -0,0 +1,27 @@
+package io.leedsk1y.reservault_backend.models.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "revoked_tokens")
+public class RevokedToken {
+    @Id
+    private String tokenHash; // SHA-256 of the token ID
+
+    @Indexed
+    private Instant revokedAt;
+
+    @Indexed(expireAfter = "0s") // removed by MongoDB once the token would have expired anyway
+    private Instant expiresAt;
+}
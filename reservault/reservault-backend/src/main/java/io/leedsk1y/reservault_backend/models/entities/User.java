@@ -59,6 +59,8 @@ public class User implements UserDetails {
 
     private Set<String> roles;
 
+    private long tokenVersion; // bumped to invalidate issued JWTs
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return roles.stream()
@@ -0,0 +1,7 @@
+package io.leedsk1y.reservault_backend.models.enums;
+
+public enum ECascadeDeletionStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
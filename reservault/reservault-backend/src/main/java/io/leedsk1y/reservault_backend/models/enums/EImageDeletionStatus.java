@@ -0,0 +1,6 @@
+package io.leedsk1y.reservault_backend.models.enums;
+
+public enum EImageDeletionStatus {
+    PENDING,
+    DEAD
+}
@@ -0,0 +1,31 @@
+package io.leedsk1y.reservault_backend.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+import lombok.Setter;
+
+@Name("io.leedsk1y.reservault.BookingReserve")
+@Label("Booking Reserve")
+@Category({"ReserVault", "Bookings"})
+@Description("One booking attempt, from validation to the stored booked dates")
+@Setter
+public class BookingReserveEvent extends Event {
+    @Label("Offer ID")
+    private String offerId;
+
+    @Label("Nights")
+    private long nights;
+
+    @Label("Conflict Check Time")
+    @Description("Time spent checking the booked dates of the offer for overlaps")
+    @Timespan(Timespan.NANOSECONDS)
+    private long conflictCheckTime;
+
+    @Label("Outcome")
+    @Description("success, conflict, rejected or error")
+    private String outcome;
+}
@@ -0,0 +1,27 @@
+package io.leedsk1y.reservault_backend.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import lombok.Setter;
+
+@Name("io.leedsk1y.reservault.ImageUpload")
+@Label("Image Upload")
+@Category({"ReserVault", "Images"})
+@Description("One uploaded image; the event duration is the upload latency including normalization and storage")
+@Setter
+public class ImageUploadEvent extends Event {
+    @Label("Folder")
+    private String folder;
+
+    @Label("Bytes")
+    @DataAmount(DataAmount.BYTES)
+    private long bytes;
+
+    @Label("Outcome")
+    @Description("stored, reused or failed")
+    private String outcome;
+}
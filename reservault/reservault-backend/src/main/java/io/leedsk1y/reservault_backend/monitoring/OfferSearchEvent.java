@@ -0,0 +1,43 @@
+package io.leedsk1y.reservault_backend.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+import lombok.Setter;
+
+@Name("io.leedsk1y.reservault.OfferSearch")
+@Label("Offer Search")
+@Category({"ReserVault", "Offers"})
+@Description("One offer search with the time spent in each phase")
+@Setter
+public class OfferSearchEvent extends Event {
+    @Label("Filters")
+    @Description("Groups of optional filters used, e.g. price+facilities")
+    private String filters;
+
+    @Label("Candidates")
+    @Description("Offers loaded before filtering")
+    private int candidates;
+
+    @Label("Results")
+    private int results;
+
+    @Label("Load Time")
+    @Timespan(Timespan.NANOSECONDS)
+    private long loadTime;
+
+    @Label("Filter Time")
+    @Timespan(Timespan.NANOSECONDS)
+    private long filterTime;
+
+    @Label("Sort Time")
+    @Timespan(Timespan.NANOSECONDS)
+    private long sortTime;
+
+    @Label("Mapping Time")
+    @Timespan(Timespan.NANOSECONDS)
+    private long mappingTime;
+}
@@ -0,0 +1,28 @@
+package io.leedsk1y.reservault_backend.monitoring;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares how many database queries one request to an endpoint may issue.
+ * Checked by QueryCountFilter after the request; on a controller class it applies to all its endpoints.
+ * Streaming endpoints declare `batched` instead, as their query count grows with the data streamed.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface QueryBudget {
+    /**
+     * @return The maximum number of database queries per request.
+     */
+    int value() default Integer.MAX_VALUE;
+
+    /**
+     * @return True if the endpoint repeats the same queries once per batch by design,
+     * so repetitions are not reported as a possible N+1.
+     */
+    boolean batched() default false;
+}
@@ -0,0 +1,92 @@
+package io.leedsk1y.reservault_backend.monitoring;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+
+public class QueryCountCommandListener implements CommandListener {
+    private static final Set<String> IGNORED_COMMANDS = Set.of(
+            "hello", "isMaster", "ismaster", "ping", "buildInfo", "saslStart", "saslContinue", "endSessions");
+    private static final BsonDocumentCodec CODEC = new BsonDocumentCodec();
+
+    /**
+     * Counts the command in the scopes open on the calling thread. The synchronous driver
+     * notifies listeners on the thread that issued the command, so commands are attributed to
+     * the request that ran them.
+     * @param event The started command.
+     */
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        if (!QueryCounter.isCounting() || IGNORED_COMMANDS.contains(event.getCommandName())) {
+            return;
+        }
+        QueryCounter.recordQuery(shapeOf(event.getCommandName(), event.getCommand()),
+                !"getMore".equals(event.getCommandName()));
+    }
+
+    /**
+     * Adds the size of the reply to the scopes open on the calling thread.
+     * @param event The succeeded command.
+     */
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        if (!QueryCounter.isCounting() || IGNORED_COMMANDS.contains(event.getCommandName())) {
+            return;
+        }
+        QueryCounter.recordBytes(sizeOf(event.getResponse()));
+    }
+
+    /**
+     * Describes a command by name, collection and the fields it filters on, without the values,
+     * so the same lookup repeated for different IDs has the same shape.
+     * e.g. `find hotels {identifier}`
+     */
+    static String shapeOf(String commandName, BsonDocument command) {
+        BsonValue collection = command.get(commandName);
+        StringBuilder shape = new StringBuilder(commandName);
+        if (collection != null && collection.isString()) {
+            shape.append(' ').append(collection.asString().getValue());
+        }
+
+        BsonDocument filter = filterOf(commandName, command);
+        if (filter != null) {
+            shape.append(' ').append(new TreeSet<>(filter.keySet()));
+        }
+        return shape.toString();
+    }
+
+    private static BsonDocument filterOf(String commandName, BsonDocument command) {
+        BsonValue filter = switch (commandName) {
+            case "find" -> command.get("filter");
+            case "findAndModify", "count", "distinct" -> command.get("query");
+            case "delete" -> firstStatement(command.get("deletes"), "q");
+            case "update" -> firstStatement(command.get("updates"), "q");
+            case "aggregate" -> firstStatement(command.get("pipeline"), "$match");
+            default -> null;
+        };
+        return filter != null && filter.isDocument() ? filter.asDocument() : null;
+    }
+
+    private static BsonValue firstStatement(BsonValue statements, String field) {
+        if (statements == null || !statements.isArray() || statements.asArray().isEmpty()) {
+            return null;
+        }
+        BsonValue first = statements.asArray().get(0);
+        return first.isDocument() ? first.asDocument().get(field) : null;
+    }
+
+    private static long sizeOf(BsonDocument response) {
+        if (response instanceof RawBsonDocument raw) {
+            return raw.getByteBuffer().remaining();
+        }
+        return new RawBsonDocument(response, CODEC).getByteBuffer().remaining();
+    }
+}
@@ -0,0 +1,125 @@
+package io.leedsk1y.reservault_backend.monitoring;
+
+import java.io.IOException;
+import java.util.Map;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class QueryCountFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(QueryCountFilter.class);
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${spring.app.queryBudget.headers:false}")
+    private boolean headers;
+
+    @Value("${spring.app.queryBudget.repeatThreshold:10}")
+    private int repeatThreshold;
+
+    @Value("${spring.app.queryBudget.failOnExceed:false}")
+    private boolean failOnExceed;
+
+    public QueryCountFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Counts the database queries and reply bytes of a request, including those of the security filters.
+     * The counts are recorded per endpoint as `reservault.db.queries` and `reservault.db.bytes`.
+     * A query shape repeated `spring.app.queryBudget.repeatThreshold` times is logged as a possible N+1.
+     * Requests exceeding the @QueryBudget of their handler are logged and counted, or fail
+     * when `spring.app.queryBudget.failOnExceed` is set, as in tests.
+     * With `spring.app.queryBudget.headers` the counts are returned as X-DB-Queries and X-DB-Bytes;
+     * the response is buffered for that, streamed ones included, so it is meant for development only.
+     * @param request HTTP servlet request.
+     * @param response HTTP servlet response.
+     * @param filterChain The filter chain to proceed with.
+     * @throws ServletException If a servlet-specific error occurs.
+     * @throws IOException If an input or output error occurs.
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper buffered = headers ? new ContentCachingResponseWrapper(response) : null;
+
+        try (QueryCounter.Scope queries = QueryCounter.start()) {
+            filterChain.doFilter(request, buffered != null ? buffered : response);
+
+            if (buffered != null) {
+                buffered.setHeader("X-DB-Queries", String.valueOf(queries.queries()));
+                buffered.setHeader("X-DB-Bytes", String.valueOf(queries.bytes()));
+                buffered.copyBodyToResponse();
+            }
+            record(request, queries);
+        }
+    }
+
+    private void record(HttpServletRequest request, QueryCounter.Scope queries) {
+        String endpoint = endpointOf(request);
+        DistributionSummary.builder("reservault.db.queries")
+                .description("Database queries per request")
+                .tag("method", request.getMethod())
+                .tag("uri", endpoint)
+                .register(meterRegistry)
+                .record(queries.queries());
+        DistributionSummary.builder("reservault.db.bytes")
+                .description("Database reply bytes per request")
+                .baseUnit("bytes")
+                .tag("method", request.getMethod())
+                .tag("uri", endpoint)
+                .register(meterRegistry)
+                .record(queries.bytes());
+
+        QueryBudget budget = budgetOf(request);
+        Map.Entry<String, Integer> repeated = queries.mostRepeated();
+        if (repeated != null && repeated.getValue() >= repeatThreshold && (budget == null || !budget.batched())) {
+            meterRegistry.counter("reservault.db.repeated.queries", "uri", endpoint).increment();
+            logger.warn("Possible N+1 in {} {}: {} ran {} times", request.getMethod(), endpoint,
+                    repeated.getKey(), repeated.getValue());
+        }
+
+        if (budget != null && queries.queries() > budget.value()) {
+            meterRegistry.counter("reservault.db.budget.exceeded", "uri", endpoint).increment();
+            String message = request.getMethod() + " " + endpoint + " issued " + queries.queries()
+                    + " database queries, budget is " + budget.value() + " (most repeated: " + repeated + ")";
+            if (failOnExceed) {
+                throw new IllegalStateException(message);
+            }
+            logger.warn(message);
+        }
+    }
+
+    private static String endpointOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+
+    private static QueryBudget budgetOf(HttpServletRequest request) {
+        if (!(request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler)) {
+            return null;
+        }
+        QueryBudget budget = AnnotatedElementUtils.findMergedAnnotation(handler.getMethod(), QueryBudget.class);
+        return budget != null ? budget : AnnotatedElementUtils.findMergedAnnotation(handler.getBeanType(), QueryBudget.class);
+    }
+}
@@ -0,0 +1,23 @@
+package io.leedsk1y.reservault_backend.monitoring;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+public class QueryCountRepositoryInterceptor implements MethodInterceptor {
+    /**
+     * Counts a call to an in-memory repository as one database query in the scopes open on the calling thread,
+     * so query budgets hold under the `in-memory` profile as they do against MongoDB, where each
+     * repository method issues one command. Reply bytes are not counted, nothing is serialized.
+     * @param invocation The repository method call.
+     * @return The result of the call.
+     * @throws Throwable Whatever the repository throws.
+     */
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (QueryCounter.isCounting()) {
+            QueryCounter.recordQuery(invocation.getThis().getClass().getSimpleName() + "."
+                    + invocation.getMethod().getName(), true);
+        }
+        return invocation.proceed();
+    }
+}
@@ -0,0 +1,124 @@
+package io.leedsk1y.reservault_backend.monitoring;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+public final class QueryCounter {
+    private static final ThreadLocal<Deque<Scope>> SCOPES = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private QueryCounter() {
+    }
+
+    /**
+     * Opens a scope counting the database commands issued by the current thread until it is closed.
+     * Scopes nest: a command is counted in every open scope, so a test can wrap a request
+     * that is itself counted by QueryCountFilter.
+     * <pre>
+     * try (QueryCounter.Scope queries = QueryCounter.start()) {
+     *     mockMvc.perform(get("/offers/search"));
+     *     queries.assertAtMost(3);
+     * }
+     * </pre>
+     * @return The new scope, to be closed on the same thread.
+     */
+    public static Scope start() {
+        Scope scope = new Scope();
+        SCOPES.get().push(scope);
+        return scope;
+    }
+
+    /**
+     * Records a command in all scopes open on the current thread. Does nothing if none is open.
+     * @param shape Command, collection and filtered fields, identical for repetitions of the same query.
+     * @param repeatable False for commands that are expected to repeat, e.g. cursor batches.
+     */
+    static void recordQuery(String shape, boolean repeatable) {
+        for (Scope scope : SCOPES.get()) {
+            scope.queries++;
+            if (repeatable) {
+                scope.shapes.merge(shape, 1, Integer::sum);
+            }
+        }
+    }
+
+    /**
+     * Adds reply bytes to all scopes open on the current thread.
+     * @param bytes Size of the reply document.
+     */
+    static void recordBytes(long bytes) {
+        for (Scope scope : SCOPES.get()) {
+            scope.bytes += bytes;
+        }
+    }
+
+    /**
+     * @return True if a scope is open on the current thread, so commands are worth inspecting.
+     */
+    static boolean isCounting() {
+        return !SCOPES.get().isEmpty();
+    }
+
+    public static final class Scope implements AutoCloseable {
+        private final Map<String, Integer> shapes = new HashMap<>();
+        private int queries;
+        private long bytes;
+
+        private Scope() {
+        }
+
+        public int queries() {
+            return queries;
+        }
+
+        public long bytes() {
+            return bytes;
+        }
+
+        /**
+         * The query shape issued most often in this scope, the usual sign of an N+1 pattern.
+         * @return The shape and its count, or null if no query was counted.
+         */
+        public Map.Entry<String, Integer> mostRepeated() {
+            return shapes.entrySet().stream()
+                    .max(Map.Entry.comparingByValue())
+                    .map(entry -> Map.entry(entry.getKey(), entry.getValue()))
+                    .orElse(null);
+        }
+
+        /**
+         * Fails if more queries were issued than the budget allows.
+         * @param maxQueries The query budget.
+         * @throws AssertionError If the budget is exceeded.
+         */
+        public void assertAtMost(int maxQueries) {
+            if (queries > maxQueries) {
+                throw new AssertionError("Expected at most " + maxQueries + " database queries but "
+                        + queries + " were issued (most repeated: " + mostRepeated() + ")");
+            }
+        }
+
+        /**
+         * Fails if any query shape was issued more often than allowed.
+         * @param maxRepetitions How often the same query may run, e.g. 1 to rule out N+1 lookups.
+         * @throws AssertionError If a query shape ran more often.
+         */
+        public void assertNoRepeatedQueries(int maxRepetitions) {
+            Map.Entry<String, Integer> repeated = mostRepeated();
+            if (repeated != null && repeated.getValue() > maxRepetitions) {
+                throw new AssertionError("Query " + repeated.getKey() + " ran " + repeated.getValue()
+                        + " times, expected at most " + maxRepetitions);
+            }
+        }
+
+        @Override
+        public void close() {
+            Deque<Scope> scopes = SCOPES.get();
+            scopes.remove(this);
+            if (scopes.isEmpty()) {
+                SCOPES.remove();
+            }
+        }
+    }
+}
@@ -3,9 +3,13 @@ package io.leedsk1y.reservault_backend.repositories;
 import io.leedsk1y.reservault_backend.models.entities.BookedDates;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 public interface BookedDatesRepository extends MongoRepository<BookedDates, UUID> {
     List<BookedDates> findByOfferId(UUID offerId);
-}
\ No newline at end of file
+    long deleteByBookingId(UUID bookingId);
+    long deleteByBookingIdIn(Collection<UUID> bookingIds);
+    long deleteByOfferIdIn(Collection<UUID> offerIds);
+}
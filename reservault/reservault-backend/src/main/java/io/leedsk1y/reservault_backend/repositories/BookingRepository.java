@@ -2,12 +2,25 @@ package io.leedsk1y.reservault_backend.repositories;
 
 import io.leedsk1y.reservault_backend.models.entities.Booking;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface BookingRepository extends MongoRepository<Booking, UUID> {
     List<Booking> findByUserId(UUID userId);
     List<Booking> findByOfferId(UUID offerId);
     long countByOfferId(UUID offerId);
-}
\ No newline at end of file
+    long countByOfferIdIn(Collection<UUID> offerIds);
+    long countByUserId(UUID userId);
+    long deleteByIdIn(Collection<UUID> ids);
+
+    // only IDs and payment IDs, as needed by cascade deletions
+    @Query(value = "{ 'userId': ?0 }", fields = "{ 'paymentId': 1 }")
+    Stream<Booking> streamForDeletionByUserId(UUID userId);
+
+    @Query(value = "{ 'offerId': { '$in': ?0 } }", fields = "{ 'paymentId': 1 }")
+    Stream<Booking> streamForDeletionByOfferIdIn(Collection<UUID> offerIds);
+}
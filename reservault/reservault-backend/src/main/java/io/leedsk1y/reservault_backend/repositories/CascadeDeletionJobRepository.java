@@ -0,0 +1,9 @@
+package io.leedsk1y.reservault_backend.repositories;
+
+import io.leedsk1y.reservault_backend.models.entities.CascadeDeletionJob;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.UUID;
+
+public interface CascadeDeletionJobRepository extends MongoRepository<CascadeDeletionJob, UUID> {
+}
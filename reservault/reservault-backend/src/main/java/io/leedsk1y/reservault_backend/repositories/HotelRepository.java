@@ -2,10 +2,17 @@ package io.leedsk1y.reservault_backend.repositories;
 
 import io.leedsk1y.reservault_backend.models.entities.Hotel;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface HotelRepository extends MongoRepository<Hotel, UUID> {
     Optional<Hotel> findByIdentifier(String identifier);
+    List<Hotel> findByIdentifierIn(Collection<String> identifiers);
+
+    @Query(value = "{ 'identifier': ?0 }", fields = "{ 'version': 1 }")
+    Optional<Hotel> findVersionByIdentifier(String identifier);
 }
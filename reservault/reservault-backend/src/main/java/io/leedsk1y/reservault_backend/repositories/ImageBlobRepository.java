@@ -0,0 +1,10 @@
+package io.leedsk1y.reservault_backend.repositories;
+
+import io.leedsk1y.reservault_backend.models.entities.ImageBlob;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.Optional;
+
+public interface ImageBlobRepository extends MongoRepository<ImageBlob, String>, ImageBlobRepositoryCustom {
+    Optional<ImageBlob> findByUrl(String url);
+}
@@ -0,0 +1,31 @@
+package io.leedsk1y.reservault_backend.repositories;
+
+import io.leedsk1y.reservault_backend.models.entities.ImageBlob;
+
+import java.util.Optional;
+
+/**
+ * Atomic reference counting on image blobs, which derived queries cannot express.
+ */
+public interface ImageBlobRepositoryCustom {
+    /**
+     * Takes a reference on a blob that still has at least one.
+     * @param id ID of the blob.
+     * @return The updated blob, or empty if it does not exist or has no reference left.
+     */
+    Optional<ImageBlob> incrementLiveRefCount(String id);
+
+    /**
+     * Releases a reference on the blob of an image that still has at least one.
+     * @param url URL of the full-size image.
+     * @return The updated blob, or empty if it does not exist or has no reference left.
+     */
+    Optional<ImageBlob> decrementRefCountByUrl(String url);
+
+    /**
+     * Deletes a blob if it has no reference left.
+     * @param id ID of the blob.
+     * @return True if the blob was deleted.
+     */
+    boolean deleteIfUnreferenced(String id);
+}
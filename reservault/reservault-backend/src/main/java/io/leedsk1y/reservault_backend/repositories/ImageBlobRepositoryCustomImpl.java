@@ -0,0 +1,38 @@
+package io.leedsk1y.reservault_backend.repositories;
+
+import io.leedsk1y.reservault_backend.models.entities.ImageBlob;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Optional;
+
+public class ImageBlobRepositoryCustomImpl implements ImageBlobRepositoryCustom {
+    private final MongoTemplate mongoTemplate;
+
+    public ImageBlobRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Optional<ImageBlob> incrementLiveRefCount(String id) {
+        Query query = new Query(Criteria.where("_id").is(id).and("refCount").gt(0));
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, new Update().inc("refCount", 1),
+                FindAndModifyOptions.options().returnNew(true), ImageBlob.class));
+    }
+
+    @Override
+    public Optional<ImageBlob> decrementRefCountByUrl(String url) {
+        Query query = new Query(Criteria.where("url").is(url).and("refCount").gt(0));
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, new Update().inc("refCount", -1),
+                FindAndModifyOptions.options().returnNew(true), ImageBlob.class));
+    }
+
+    @Override
+    public boolean deleteIfUnreferenced(String id) {
+        Query query = new Query(Criteria.where("_id").is(id).and("refCount").lte(0));
+        return mongoTemplate.remove(query, ImageBlob.class).getDeletedCount() == 1;
+    }
+}
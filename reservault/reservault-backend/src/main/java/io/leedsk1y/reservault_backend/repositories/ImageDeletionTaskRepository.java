@@ -0,0 +1,15 @@
+package io.leedsk1y.reservault_backend.repositories;
+
+import io.leedsk1y.reservault_backend.models.entities.ImageDeletionTask;
+import io.leedsk1y.reservault_backend.models.enums.EImageDeletionStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public interface ImageDeletionTaskRepository extends MongoRepository<ImageDeletionTask, UUID>, ImageDeletionTaskRepositoryCustom {
+    List<ImageDeletionTask> findByStatusAndNextAttemptAtLessThanEqual(EImageDeletionStatus status, Instant now, Pageable pageable);
+    long countByStatus(EImageDeletionStatus status);
+}
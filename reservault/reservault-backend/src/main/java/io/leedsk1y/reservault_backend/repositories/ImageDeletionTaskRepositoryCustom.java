@@ -0,0 +1,19 @@
+package io.leedsk1y.reservault_backend.repositories;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Conditional update claiming image deletion tasks, which derived queries cannot express.
+ */
+public interface ImageDeletionTaskRepositoryCustom {
+    /**
+     * Claims a pending task by moving its next attempt to the end of the lease,
+     * unless another worker moved it first.
+     * @param id ID of the task.
+     * @param nextAttemptAt Next attempt of the task as read by this worker.
+     * @param leaseUntil End of the lease.
+     * @return True if this worker claimed the task.
+     */
+    boolean claim(UUID id, Instant nextAttemptAt, Instant leaseUntil);
+}
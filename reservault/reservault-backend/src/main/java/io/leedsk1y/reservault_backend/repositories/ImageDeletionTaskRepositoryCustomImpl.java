@@ -0,0 +1,28 @@
+package io.leedsk1y.reservault_backend.repositories;
+
+import io.leedsk1y.reservault_backend.models.entities.ImageDeletionTask;
+import io.leedsk1y.reservault_backend.models.enums.EImageDeletionStatus;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public class ImageDeletionTaskRepositoryCustomImpl implements ImageDeletionTaskRepositoryCustom {
+    private final MongoTemplate mongoTemplate;
+
+    public ImageDeletionTaskRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public boolean claim(UUID id, Instant nextAttemptAt, Instant leaseUntil) {
+        Query query = new Query(Criteria.where("_id").is(id)
+                .and("status").is(EImageDeletionStatus.PENDING)
+                .and("nextAttemptAt").is(nextAttemptAt));
+        Update update = new Update().set("nextAttemptAt", leaseUntil);
+        return mongoTemplate.updateFirst(query, update, ImageDeletionTask.class).getModifiedCount() == 1;
+    }
+}
@@ -1,15 +1,39 @@
 package io.leedsk1y.reservault_backend.repositories;
 
 import io.leedsk1y.reservault_backend.models.entities.Offer;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface OfferRepository extends MongoRepository<Offer, UUID> {
     List<Offer> findByHotelIdentifier(String hotelIdentifier);
     List<Offer> findByManagerId(UUID managerId);
     List<Offer> findByHotelIdentifierAndManagerId(String hotelIdentifier, UUID managerId);
-}
\ No newline at end of file
+    long deleteByIdIn(Collection<UUID> ids);
+
+    // the whole catalog through one cursor, fetched batch by batch as the stream is consumed
+    @Meta(cursorBatchSize = 200)
+    Stream<Offer> streamAllBy();
+
+    // only the version and what the ETag of a response also depends on, to answer conditional requests
+    @Query(value = "{ '_id': ?0 }", fields = "{ 'version': 1, 'hotelIdentifier': 1 }")
+    Optional<Offer> findVersionById(UUID id);
+
+    @Query(value = "{ '_id': ?0 }", fields = "{ 'version': 1, 'reviews.userId': 1 }")
+    Optional<Offer> findReviewersVersionById(UUID id);
+
+    // only IDs and image URLs, as needed by cascade deletions
+    @Query(value = "{ 'hotelIdentifier': ?0 }", fields = "{ 'imagesUrls': 1 }")
+    Stream<Offer> streamForDeletionByHotelIdentifier(String hotelIdentifier);
+
+    @Query(value = "{ 'managerId': ?0, 'hotelIdentifier': { '$in': ?1 } }", fields = "{ 'imagesUrls': 1 }")
+    Stream<Offer> streamForDeletionByManagerIdAndHotelIdentifierIn(UUID managerId, Collection<String> hotelIdentifiers);
+}
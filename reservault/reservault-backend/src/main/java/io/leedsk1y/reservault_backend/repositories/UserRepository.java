@@ -2,8 +2,11 @@ package io.leedsk1y.reservault_backend.repositories;
 
 import io.leedsk1y.reservault_backend.models.entities.User;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -11,4 +14,10 @@ import java.util.UUID;
 public interface UserRepository extends MongoRepository<User, UUID> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    @Query(value = "{ '_id': ?0 }", fields = "{ 'tokenVersion': 1 }")
+    Optional<User> findTokenVersionById(UUID id);
+
+    @Query(value = "{ '_id': { '$in': ?0 } }", fields = "{ 'name': 1 }")
+    List<User> findNamesByIdIn(Collection<UUID> ids);
 }
\ No newline at end of file
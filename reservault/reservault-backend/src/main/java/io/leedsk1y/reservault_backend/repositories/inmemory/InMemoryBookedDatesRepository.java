@@ -0,0 +1,40 @@
+package io.leedsk1y.reservault_backend.repositories.inmemory;
+
+import io.leedsk1y.reservault_backend.models.entities.BookedDates;
+import io.leedsk1y.reservault_backend.repositories.BookedDatesRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+@Profile("in-memory")
+public class InMemoryBookedDatesRepository extends InMemoryRepository<BookedDates, UUID> implements BookedDatesRepository {
+    public InMemoryBookedDatesRepository() {
+        super(BookedDates.class);
+        index("offerId");
+        index("bookingId");
+    }
+
+    @Override
+    public List<BookedDates> findByOfferId(UUID offerId) {
+        return list(where("offerId", offerId));
+    }
+
+    @Override
+    public long deleteByBookingId(UUID bookingId) {
+        return deleteWhere("bookingId", bookingId);
+    }
+
+    @Override
+    public long deleteByBookingIdIn(Collection<UUID> bookingIds) {
+        return deleteWhereIn("bookingId", bookingIds);
+    }
+
+    @Override
+    public long deleteByOfferIdIn(Collection<UUID> offerIds) {
+        return deleteWhereIn("offerId", offerIds);
+    }
+}
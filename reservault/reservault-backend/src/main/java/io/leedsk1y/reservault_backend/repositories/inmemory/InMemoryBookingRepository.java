@@ -0,0 +1,61 @@
+package io.leedsk1y.reservault_backend.repositories.inmemory;
+
+import io.leedsk1y.reservault_backend.models.entities.Booking;
+import io.leedsk1y.reservault_backend.repositories.BookingRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+@Repository
+@Profile("in-memory")
+public class InMemoryBookingRepository extends InMemoryRepository<Booking, UUID> implements BookingRepository {
+    public InMemoryBookingRepository() {
+        super(Booking.class);
+        index("userId");
+        index("offerId");
+    }
+
+    @Override
+    public List<Booking> findByUserId(UUID userId) {
+        return list(where("userId", userId));
+    }
+
+    @Override
+    public List<Booking> findByOfferId(UUID offerId) {
+        return list(where("offerId", offerId));
+    }
+
+    @Override
+    public long countByOfferId(UUID offerId) {
+        return where("offerId", offerId).count();
+    }
+
+    @Override
+    public long countByOfferIdIn(Collection<UUID> offerIds) {
+        return whereIn("offerId", offerIds).count();
+    }
+
+    @Override
+    public long countByUserId(UUID userId) {
+        return where("userId", userId).count();
+    }
+
+    @Override
+    public long deleteByIdIn(Collection<UUID> ids) {
+        return deleteWhereIn("_id", ids);
+    }
+
+    @Override
+    public Stream<Booking> streamForDeletionByUserId(UUID userId) {
+        return where("userId", userId).map(booking -> read(booking, "paymentId"));
+    }
+
+    @Override
+    public Stream<Booking> streamForDeletionByOfferIdIn(Collection<UUID> offerIds) {
+        return whereIn("offerId", offerIds).map(booking -> read(booking, "paymentId"));
+    }
+}
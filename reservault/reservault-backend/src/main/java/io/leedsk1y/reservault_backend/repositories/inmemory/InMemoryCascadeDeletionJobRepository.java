@@ -0,0 +1,18 @@
+package io.leedsk1y.reservault_backend.repositories.inmemory;
+
+import io.leedsk1y.reservault_backend.models.entities.CascadeDeletionJob;
+import io.leedsk1y.reservault_backend.repositories.CascadeDeletionJobRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+// expired jobs are not removed as the TTL index would, CascadeDeletionService skips them
+@Repository
+@Profile("in-memory")
+public class InMemoryCascadeDeletionJobRepository extends InMemoryRepository<CascadeDeletionJob, UUID>
+        implements CascadeDeletionJobRepository {
+    public InMemoryCascadeDeletionJobRepository() {
+        super(CascadeDeletionJob.class);
+    }
+}
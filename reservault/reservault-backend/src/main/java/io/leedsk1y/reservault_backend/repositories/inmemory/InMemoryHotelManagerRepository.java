@@ -0,0 +1,48 @@
+package io.leedsk1y.reservault_backend.repositories.inmemory;
+
+import io.leedsk1y.reservault_backend.models.entities.HotelManager;
+import io.leedsk1y.reservault_backend.repositories.HotelManagerRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+@Profile("in-memory")
+public class InMemoryHotelManagerRepository extends InMemoryRepository<HotelManager, UUID> implements HotelManagerRepository {
+    public InMemoryHotelManagerRepository() {
+        super(HotelManager.class);
+        index("managerId");
+        index("hotelIdentifier");
+    }
+
+    @Override
+    public List<HotelManager> findByManagerId(UUID managerId) {
+        return list(where("managerId", managerId));
+    }
+
+    @Override
+    public void deleteByManagerId(UUID managerId) {
+        deleteWhere("managerId", managerId);
+    }
+
+    @Override
+    public void deleteByManagerIdAndHotelIdentifierIn(UUID managerId, List<String> hotelIdentifiers) {
+        Object manager = toMongo(managerId);
+        deleteMatching(where("managerId", managerId), hotelManager -> manager.equals(hotelManager.get("managerId"))
+                && hotelIdentifiers.contains(hotelManager.getString("hotelIdentifier")));
+    }
+
+    @Override
+    public Optional<HotelManager> findByManagerIdAndHotelIdentifier(UUID managerId, String hotelIdentifier) {
+        Object manager = toMongo(managerId);
+        return first(where("hotelIdentifier", hotelIdentifier).filter(hotelManager -> manager.equals(hotelManager.get("managerId"))));
+    }
+
+    @Override
+    public void deleteByHotelIdentifier(String hotelIdentifier) {
+        deleteWhere("hotelIdentifier", hotelIdentifier);
+    }
+}
@@ -0,0 +1,35 @@
+package io.leedsk1y.reservault_backend.repositories.inmemory;
+
+import io.leedsk1y.reservault_backend.models.entities.Hotel;
+import io.leedsk1y.reservault_backend.repositories.HotelRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+@Profile("in-memory")
+public class InMemoryHotelRepository extends InMemoryRepository<Hotel, UUID> implements HotelRepository {
+    public InMemoryHotelRepository() {
+        super(Hotel.class);
+        uniqueIndex("identifier");
+    }
+
+    @Override
+    public Optional<Hotel> findByIdentifier(String identifier) {
+        return first(where("identifier", identifier));
+    }
+
+    @Override
+    public Optional<Hotel> findVersionByIdentifier(String identifier) {
+        return where("identifier", identifier).findFirst().map(hotel -> read(hotel, "version"));
+    }
+
+    @Override
+    public List<Hotel> findByIdentifierIn(Collection<String> identifiers) {
+        return list(whereIn("identifier", identifiers));
+    }
+}
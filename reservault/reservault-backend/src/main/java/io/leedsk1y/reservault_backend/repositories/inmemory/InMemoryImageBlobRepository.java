@@ -0,0 +1,39 @@
+package io.leedsk1y.reservault_backend.repositories.inmemory;
+
+import io.leedsk1y.reservault_backend.models.entities.ImageBlob;
+import io.leedsk1y.reservault_backend.repositories.ImageBlobRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+@Profile("in-memory")
+public class InMemoryImageBlobRepository extends InMemoryRepository<ImageBlob, String> implements ImageBlobRepository {
+    public InMemoryImageBlobRepository() {
+        super(ImageBlob.class);
+        uniqueIndex("url");
+    }
+
+    @Override
+    public Optional<ImageBlob> findByUrl(String url) {
+        return first(where("url", url));
+    }
+
+    @Override
+    public Optional<ImageBlob> incrementLiveRefCount(String id) {
+        return update(id, blob -> blob.getRefCount() > 0, blob -> blob.setRefCount(blob.getRefCount() + 1));
+    }
+
+    @Override
+    public Optional<ImageBlob> decrementRefCountByUrl(String url) {
+        return where("url", url).findFirst()
+                .flatMap(blob -> update(blob.getString("_id"), current -> url.equals(current.getUrl()) && current.getRefCount() > 0,
+                        current -> current.setRefCount(current.getRefCount() - 1)));
+    }
+
+    @Override
+    public boolean deleteIfUnreferenced(String id) {
+        return deleteIf(id, blob -> blob.getRefCount() <= 0);
+    }
+}
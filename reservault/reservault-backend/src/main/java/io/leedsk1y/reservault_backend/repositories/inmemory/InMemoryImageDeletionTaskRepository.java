@@ -0,0 +1,46 @@
+package io.leedsk1y.reservault_backend.repositories.inmemory;
+
+import io.leedsk1y.reservault_backend.models.entities.ImageDeletionTask;
+import io.leedsk1y.reservault_backend.models.enums.EImageDeletionStatus;
+import io.leedsk1y.reservault_backend.repositories.ImageDeletionTaskRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+@Profile("in-memory")
+public class InMemoryImageDeletionTaskRepository extends InMemoryRepository<ImageDeletionTask, UUID>
+        implements ImageDeletionTaskRepository {
+    public InMemoryImageDeletionTaskRepository() {
+        super(ImageDeletionTask.class);
+        index("status");
+    }
+
+    @Override
+    public List<ImageDeletionTask> findByStatusAndNextAttemptAtLessThanEqual(EImageDeletionStatus status, Instant now,
+                                                                            Pageable pageable) {
+        return where("status", status)
+                .map(this::read)
+                .filter(task -> !task.getNextAttemptAt().isAfter(now))
+                .sorted(Comparator.comparing(ImageDeletionTask::getNextAttemptAt)) // the only order the worker asks for
+                .skip(pageable.isPaged() ? pageable.getOffset() : 0)
+                .limit(pageable.isPaged() ? pageable.getPageSize() : Long.MAX_VALUE)
+                .toList();
+    }
+
+    @Override
+    public long countByStatus(EImageDeletionStatus status) {
+        return where("status", status).count();
+    }
+
+    @Override
+    public boolean claim(UUID id, Instant nextAttemptAt, Instant leaseUntil) {
+        return update(id, task -> task.getStatus() == EImageDeletionStatus.PENDING && task.getNextAttemptAt().equals(nextAttemptAt),
+                task -> task.setNextAttemptAt(leaseUntil)).isPresent();
+    }
+}
@@ -0,0 +1,70 @@
+package io.leedsk1y.reservault_backend.repositories.inmemory;
+
+import io.leedsk1y.reservault_backend.models.entities.Offer;
+import io.leedsk1y.reservault_backend.repositories.OfferRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+@Repository
+@Profile("in-memory")
+public class InMemoryOfferRepository extends InMemoryRepository<Offer, UUID> implements OfferRepository {
+    public InMemoryOfferRepository() {
+        super(Offer.class);
+        index("hotelIdentifier");
+        index("managerId");
+    }
+
+    @Override
+    public List<Offer> findByHotelIdentifier(String hotelIdentifier) {
+        return list(where("hotelIdentifier", hotelIdentifier));
+    }
+
+    @Override
+    public List<Offer> findByManagerId(UUID managerId) {
+        return list(where("managerId", managerId));
+    }
+
+    @Override
+    public List<Offer> findByHotelIdentifierAndManagerId(String hotelIdentifier, UUID managerId) {
+        Object manager = toMongo(managerId);
+        return list(where("hotelIdentifier", hotelIdentifier).filter(offer -> manager.equals(offer.get("managerId"))));
+    }
+
+    @Override
+    public long deleteByIdIn(Collection<UUID> ids) {
+        return deleteWhereIn("_id", ids);
+    }
+
+    @Override
+    public Stream<Offer> streamAllBy() {
+        return scan().map(this::read);
+    }
+
+    @Override
+    public Optional<Offer> findVersionById(UUID id) {
+        return where("_id", id).findFirst().map(offer -> read(offer, "version", "hotelIdentifier"));
+    }
+
+    @Override
+    public Optional<Offer> findReviewersVersionById(UUID id) {
+        return where("_id", id).findFirst().map(offer -> read(offer, "version", "reviews"));
+    }
+
+    @Override
+    public Stream<Offer> streamForDeletionByHotelIdentifier(String hotelIdentifier) {
+        return where("hotelIdentifier", hotelIdentifier).map(offer -> read(offer, "imagesUrls"));
+    }
+
+    @Override
+    public Stream<Offer> streamForDeletionByManagerIdAndHotelIdentifierIn(UUID managerId, Collection<String> hotelIdentifiers) {
+        return where("managerId", managerId)
+                .filter(offer -> hotelIdentifiers.contains(offer.getString("hotelIdentifier")))
+                .map(offer -> read(offer, "imagesUrls"));
+    }
+}
@@ -0,0 +1,23 @@
+package io.leedsk1y.reservault_backend.repositories.inmemory;
+
+import io.leedsk1y.reservault_backend.models.entities.Payment;
+import io.leedsk1y.reservault_backend.repositories.PaymentRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.UUID;
+
+@Repository
+@Profile("in-memory")
+public class InMemoryPaymentRepository extends InMemoryRepository<Payment, UUID> implements PaymentRepository {
+    public InMemoryPaymentRepository() {
+        super(Payment.class);
+        index("bookingId");
+    }
+
+    @Override
+    public long deleteByIdInOrBookingIdIn(Collection<UUID> ids, Collection<UUID> bookingIds) {
+        return deleteWhereIn("_id", ids) + deleteWhereIn("bookingId", bookingIds);
+    }
+}
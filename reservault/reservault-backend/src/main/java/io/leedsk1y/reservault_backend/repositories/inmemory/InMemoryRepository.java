@@ -0,0 +1,666 @@
+package io.leedsk1y.reservault_backend.repositories.inmemory;
+
+import org.bson.Document;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.PersistentPropertyAccessor;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.repository.query.FluentQuery;
+import org.springframework.data.support.ExampleMatcherAccessor;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Thread-safe MongoRepository kept in memory, base of the repositories of the `in-memory` profile.
+ * Entities are stored as BSON documents written by the same converter as MongoDB uses, so every read returns
+ * a fresh copy and field names, enums and dates behave as they would in the database.
+ * Writes are atomic per document, and a @Version field is checked and incremented on save as MongoTemplate does.
+ * Fields registered with {@link #index(String)} get a hash index that keeps
+ * equality lookups off a full scan, like the single-field indexes derived queries rely on in MongoDB.
+ * Query by example scans the documents and matches them against the probe as written by the converter.
+ */
+public abstract class InMemoryRepository<T, ID> implements MongoRepository<T, ID> {
+    private static final MappingMongoConverter CONVERTER = createConverter();
+    private static final Object NULL_KEY = new Object(); // concurrent maps cannot hold null keys
+
+    private final Class<T> type;
+    private final Map<Object, Document> documents = new ConcurrentHashMap<>();
+    private final Map<String, Map<Object, Set<Object>>> indexes = new ConcurrentHashMap<>();
+    private final Set<String> uniqueFields = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock uniqueLock = new ReentrantLock(); // not a monitor, waiting virtual threads release their carrier
+
+    protected InMemoryRepository(Class<T> type) {
+        this.type = type;
+    }
+
+    /**
+     * Adds a hash index on a top-level field. Must be called before documents are stored.
+     * @param field Name of the field in the stored document.
+     */
+    protected void index(String field) {
+        indexes.put(field, new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Adds a hash index on a top-level field rejecting two documents with the same value.
+     * @param field Name of the field in the stored document.
+     */
+    protected void uniqueIndex(String field) {
+        index(field);
+        uniqueFields.add(field);
+    }
+
+    // ----- queries for derived methods of subclasses -----
+
+    /**
+     * Documents whose field equals the value, through the index of the field if it has one.
+     * The matching IDs are collected first, so the stream may be consumed while deleting.
+     */
+    protected Stream<Document> where(String field, Object value) {
+        Object key = toMongo(value);
+        if ("_id".equals(field)) {
+            return key == null ? Stream.empty() : Stream.ofNullable(documents.get(key));
+        }
+
+        Map<Object, Set<Object>> index = indexes.get(field);
+        if (index == null) {
+            return List.copyOf(documents.values()).stream().filter(document -> matches(document, field, key));
+        }
+        return List.copyOf(index.getOrDefault(keyOf(key), Set.of())).stream()
+                .map(documents::get)
+                .filter(document -> document != null && matches(document, field, key));
+    }
+
+    /**
+     * Documents whose field equals any of the values.
+     */
+    protected Stream<Document> whereIn(String field, Collection<?> values) {
+        return new HashSet<>(values).stream().flatMap(value -> where(field, value));
+    }
+
+    /**
+     * All documents, for queries no index can answer.
+     */
+    protected Stream<Document> scan() {
+        return List.copyOf(documents.values()).stream();
+    }
+
+    protected T read(Document document) {
+        return CONVERTER.read(type, document);
+    }
+
+    /**
+     * Reads a document with only some of its fields, like a query with a field projection.
+     * @param fields Fields to keep besides the ID.
+     */
+    protected T read(Document document, String... fields) {
+        return read(projected(document, List.of(fields)));
+    }
+
+    protected Optional<T> first(Stream<Document> documents) {
+        return documents.findFirst().map(this::read);
+    }
+
+    protected List<T> list(Stream<Document> documents) {
+        return documents.map(this::read).toList();
+    }
+
+    protected long deleteWhere(String field, Object value) {
+        Object key = toMongo(value);
+        return deleteMatching(where(field, value), document -> matches(document, field, key));
+    }
+
+    protected long deleteWhereIn(String field, Collection<?> values) {
+        return new HashSet<>(values).stream().mapToLong(value -> deleteWhere(field, value)).sum();
+    }
+
+    /**
+     * Deletes the given documents that still match a condition, each atomically.
+     * @return The number of deleted documents.
+     */
+    protected long deleteMatching(Stream<Document> candidates, Predicate<Document> condition) {
+        AtomicLong deleted = new AtomicLong();
+        candidates.forEach(candidate -> documents.computeIfPresent(candidate.get("_id"), (key, current) -> {
+            if (!condition.test(current)) {
+                return current;
+            }
+            reindex(key, current, null);
+            deleted.incrementAndGet();
+            return null;
+        }));
+        return deleted.get();
+    }
+
+    /**
+     * Atomically changes a document if it still matches a condition, like findAndModify.
+     * @param id ID of the document.
+     * @param condition Condition on the current entity.
+     * @param change Change applied to a copy of the current entity.
+     * @return The changed entity, or empty if the document does not exist or does not match.
+     */
+    protected Optional<T> update(ID id, Predicate<? super T> condition, Consumer<? super T> change) {
+        Document[] updated = new Document[1];
+        documents.computeIfPresent(idKey(id), (key, current) -> {
+            T entity = read(current);
+            if (!condition.test(entity)) {
+                return current;
+            }
+            change.accept(entity);
+            updated[0] = toDocument(entity);
+            reindex(key, current, updated[0]);
+            return updated[0];
+        });
+        return Optional.ofNullable(updated[0]).map(this::read);
+    }
+
+    /**
+     * Atomically deletes a document if it still matches a condition.
+     * @return True if the document was deleted.
+     */
+    protected boolean deleteIf(ID id, Predicate<? super T> condition) {
+        return deleteMatching(Stream.ofNullable(documents.get(idKey(id))), document -> condition.test(read(document))) == 1;
+    }
+
+    /**
+     * Converts a query value the way it is stored, e.g. enums to their name and instants to dates.
+     */
+    protected static Object toMongo(Object value) {
+        return value == null ? null : CONVERTER.convertToMongoType(value);
+    }
+
+    // ----- MongoRepository -----
+
+    @Override
+    public <S extends T> S save(S entity) {
+        store(entity, false);
+        return entity;
+    }
+
+    @Override
+    public <S extends T> List<S> saveAll(Iterable<S> entities) {
+        List<S> saved = new ArrayList<>();
+        entities.forEach(entity -> saved.add(save(entity)));
+        return saved;
+    }
+
+    @Override
+    public <S extends T> S insert(S entity) {
+        store(entity, true);
+        return entity;
+    }
+
+    @Override
+    public <S extends T> List<S> insert(Iterable<S> entities) {
+        List<S> inserted = new ArrayList<>();
+        entities.forEach(entity -> inserted.add(insert(entity)));
+        return inserted;
+    }
+
+    @Override
+    public Optional<T> findById(ID id) {
+        return Optional.ofNullable(documents.get(idKey(id))).map(this::read);
+    }
+
+    @Override
+    public boolean existsById(ID id) {
+        return documents.containsKey(idKey(id));
+    }
+
+    @Override
+    public List<T> findAll() {
+        return list(scan());
+    }
+
+    @Override
+    public List<T> findAllById(Iterable<ID> ids) {
+        return StreamSupport.stream(ids.spliterator(), false)
+                .map(id -> documents.get(idKey(id)))
+                .filter(Objects::nonNull)
+                .map(this::read)
+                .toList();
+    }
+
+    @Override
+    public List<T> findAll(Sort sort) {
+        return list(scan().sorted(comparator(sort)));
+    }
+
+    @Override
+    public Page<T> findAll(Pageable pageable) {
+        return page(scan().sorted(comparator(pageable.getSort())).toList(), pageable, this::read);
+    }
+
+    @Override
+    public long count() {
+        return documents.size();
+    }
+
+    @Override
+    public void deleteById(ID id) {
+        deleteMatching(Stream.ofNullable(documents.get(idKey(id))), document -> true);
+    }
+
+    @Override
+    public void delete(T entity) {
+        deleteById(idOf(entity));
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends ID> ids) {
+        ids.forEach(this::deleteById);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends T> entities) {
+        entities.forEach(this::delete);
+    }
+
+    @Override
+    public void deleteAll() {
+        deleteMatching(scan(), document -> true);
+    }
+
+    @Override
+    public <S extends T> Optional<S> findOne(Example<S> example) {
+        return findBy(example, FluentQuery.FetchableFluentQuery::first);
+    }
+
+    @Override
+    public <S extends T> List<S> findAll(Example<S> example) {
+        return findBy(example, FluentQuery.FetchableFluentQuery::all);
+    }
+
+    @Override
+    public <S extends T> List<S> findAll(Example<S> example, Sort sort) {
+        return findBy(example, query -> query.sortBy(sort).all());
+    }
+
+    @Override
+    public <S extends T> Page<S> findAll(Example<S> example, Pageable pageable) {
+        return findBy(example, query -> query.page(pageable));
+    }
+
+    @Override
+    public <S extends T> long count(Example<S> example) {
+        return findBy(example, FluentQuery.FetchableFluentQuery::count);
+    }
+
+    @Override
+    public <S extends T> boolean exists(Example<S> example) {
+        return findBy(example, FluentQuery.FetchableFluentQuery::exists);
+    }
+
+    @Override
+    public <S extends T, R> R findBy(Example<S> example, Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+        Predicate<Document> condition = condition(example);
+        return queryFunction.apply(new ExampleQuery<>(example.getProbeType(), example.getProbeType(),
+                () -> scan().filter(condition), Sort.unsorted(), 0, List.of()));
+    }
+
+    /**
+     * Fluent query over the documents matching an example, read as the probe type or a projection of it.
+     * @param domainType Type the documents are read as.
+     * @param resultType Type returned, the domain type, a DTO read from the document or an interface projection.
+     * @param matching Supplies the documents matching the example, in no particular order.
+     * @param limit Maximum number of results, 0 for no limit.
+     * @param fields Fields to read besides the ID, empty for all.
+     */
+    private record ExampleQuery<R>(Class<?> domainType, Class<R> resultType, Supplier<Stream<Document>> matching,
+                                   Sort sort, int limit, List<String> fields)
+            implements FluentQuery.FetchableFluentQuery<R> {
+
+        @Override
+        public FluentQuery.FetchableFluentQuery<R> sortBy(Sort sort) {
+            return new ExampleQuery<>(domainType, resultType, matching, this.sort.and(sort), limit, fields);
+        }
+
+        @Override
+        public FluentQuery.FetchableFluentQuery<R> limit(int limit) {
+            Assert.isTrue(limit >= 0, "Limit must not be negative");
+            return new ExampleQuery<>(domainType, resultType, matching, sort, limit, fields);
+        }
+
+        @Override
+        public <P> FluentQuery.FetchableFluentQuery<P> as(Class<P> resultType) {
+            return new ExampleQuery<>(domainType, resultType, matching, sort, limit, fields);
+        }
+
+        @Override
+        public FluentQuery.FetchableFluentQuery<R> project(Collection<String> properties) {
+            List<String> projected = properties.stream().map(property -> "id".equals(property) ? "_id" : property).toList();
+            return new ExampleQuery<>(domainType, resultType, matching, sort, limit, projected);
+        }
+
+        @Override
+        public R oneValue() {
+            List<R> results = limit(2).all();
+            if (results.size() > 1) {
+                throw new IncorrectResultSizeDataAccessException(1, results.size());
+            }
+            return results.isEmpty() ? null : results.get(0);
+        }
+
+        @Override
+        public R firstValue() {
+            return limit(1).stream().findFirst().orElse(null);
+        }
+
+        @Override
+        public List<R> all() {
+            return stream().toList();
+        }
+
+        @Override
+        public Page<R> page(Pageable pageable) {
+            return InMemoryRepository.page(matching(sort.and(pageable.getSort())).toList(), pageable, this::convert);
+        }
+
+        @Override
+        public Stream<R> stream() {
+            Stream<Document> matching = matching(sort);
+            return (limit > 0 ? matching.limit(limit) : matching).map(this::convert);
+        }
+
+        @Override
+        public long count() {
+            return matching(Sort.unsorted()).count();
+        }
+
+        @Override
+        public boolean exists() {
+            return matching(Sort.unsorted()).findAny().isPresent();
+        }
+
+        private Stream<Document> matching(Sort sort) {
+            Stream<Document> matching = this.matching.get();
+            return sort.isSorted() ? matching.sorted(comparator(sort)) : matching;
+        }
+
+        private R convert(Document document) {
+            Document read = fields.isEmpty() ? document : projected(document, fields);
+            if (resultType.isAssignableFrom(domainType)) {
+                return resultType.cast(CONVERTER.read(domainType, read));
+            }
+            if (resultType.isInterface()) {
+                return CONVERTER.getProjectionFactory().createProjection(resultType, CONVERTER.read(domainType, read));
+            }
+            return CONVERTER.read(resultType, read);
+        }
+    }
+
+    // ----- storage -----
+
+    private void store(T entity, boolean insertOnly) {
+        Document document = toDocument(entity);
+        Object id = document.get("_id");
+        if (id == null) {
+            throw new IllegalArgumentException(type.getSimpleName() + " must have an ID before it is stored in memory");
+        }
+
+        PersistentPropertyAccessor<T> accessor = persistentEntity().getPropertyAccessor(entity);
+        MongoPersistentProperty versionProperty = persistentEntity().getVersionProperty();
+        Long expectedVersion = null;
+        if (versionProperty != null) {
+            Number current = (Number) accessor.getProperty(versionProperty);
+            expectedVersion = current == null ? null : current.longValue();
+            long nextVersion = expectedVersion == null ? 0 : insertOnly ? expectedVersion : expectedVersion + 1;
+            document.put(versionProperty.getFieldName(), nextVersion);
+            insertOnly |= expectedVersion == null; // like MongoTemplate, an entity without a version is new
+        }
+        String versionField = versionProperty != null && !insertOnly ? versionProperty.getFieldName() : null;
+
+        if (uniqueFields.isEmpty()) {
+            put(id, document, insertOnly, versionField, expectedVersion);
+        } else {
+            uniqueLock.lock(); // no other document can take the same unique value meanwhile
+            try {
+                for (String field : uniqueFields) {
+                    Object value = document.get(field);
+                    if (where(field, value).anyMatch(other -> !other.get("_id").equals(id))) {
+                        throw new DuplicateKeyException(type.getSimpleName() + " with " + field + " " + value + " already exists");
+                    }
+                }
+                put(id, document, insertOnly, versionField, expectedVersion);
+            } finally {
+                uniqueLock.unlock();
+            }
+        }
+
+        if (versionProperty != null) {
+            accessor.setProperty(versionProperty, document.get(versionProperty.getFieldName()));
+        }
+    }
+
+    /**
+     * Stores a document, failing like MongoDB if it is inserted with a taken ID or saved from a stale version.
+     * @param versionField Field holding the version to check, or null to store unconditionally.
+     * @param expectedVersion Version the stored document must still have.
+     */
+    private void put(Object id, Document document, boolean insertOnly, String versionField, Long expectedVersion) {
+        documents.compute(id, (key, previous) -> {
+            if (previous != null && insertOnly) {
+                throw new DuplicateKeyException(type.getSimpleName() + " with ID " + key + " already exists");
+            }
+            if (versionField != null && (previous == null || !expectedVersion.equals(previous.get(versionField)))) {
+                throw new OptimisticLockingFailureException(type.getSimpleName() + " with ID " + key
+                        + " and version " + expectedVersion + " was modified or deleted meanwhile");
+            }
+            reindex(key, previous, document);
+            return document;
+        });
+    }
+
+    /**
+     * Moves a document from the index entries of its previous version to those of its new one.
+     * Called while the document is locked by the map, so two writes of one document never interleave.
+     */
+    private void reindex(Object id, Document previous, Document next) {
+        indexes.forEach((field, index) -> {
+            Object previousKey = previous == null ? null : keyOf(previous.get(field));
+            Object nextKey = next == null ? null : keyOf(next.get(field));
+            if (previousKey != null && !previousKey.equals(nextKey)) {
+                index.computeIfPresent(previousKey, (key, ids) -> {
+                    ids.remove(id);
+                    return ids.isEmpty() ? null : ids;
+                });
+            }
+            if (nextKey != null) {
+                index.compute(nextKey, (key, ids) -> {
+                    Set<Object> updated = ids != null ? ids : ConcurrentHashMap.newKeySet();
+                    updated.add(id);
+                    return updated;
+                });
+            }
+        });
+    }
+
+    private Document toDocument(T entity) {
+        Document document = new Document();
+        CONVERTER.write(entity, document);
+        document.remove("_class");
+        return document;
+    }
+
+    @SuppressWarnings("unchecked")
+    private ID idOf(T entity) {
+        return (ID) persistentEntity().getIdentifierAccessor(entity).getIdentifier();
+    }
+
+    private MongoPersistentEntity<?> persistentEntity() {
+        return CONVERTER.getMappingContext().getRequiredPersistentEntity(type);
+    }
+
+    private static Object idKey(Object id) {
+        Assert.notNull(id, "The given id must not be null");
+        return toMongo(id);
+    }
+
+    private static boolean matches(Document document, String field, Object key) {
+        return Objects.equals(document.get(field), key);
+    }
+
+    private static Object keyOf(Object value) {
+        return value == null ? NULL_KEY : value;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparator<Document> comparator(Sort sort) {
+        Comparator<Document> comparator = (a, b) -> 0;
+        for (Sort.Order order : sort) {
+            String field = "id".equals(order.getProperty()) ? "_id" : order.getProperty();
+            Comparator<Document> byField = Comparator.comparing(document -> (Comparable) document.get(field),
+                    Comparator.nullsFirst(Comparator.naturalOrder()));
+            comparator = comparator.thenComparing(order.isAscending() ? byField : byField.reversed());
+        }
+        return comparator;
+    }
+
+    private static <R> Page<R> page(List<Document> sorted, Pageable pageable, Function<Document, R> reader) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(sorted.stream().map(reader).toList(), pageable, sorted.size());
+        }
+        return new PageImpl<>(sorted.stream().skip(pageable.getOffset()).limit(pageable.getPageSize()).map(reader).toList(),
+                pageable, sorted.size());
+    }
+
+    private static Document projected(Document document, List<String> fields) {
+        Document projected = new Document("_id", document.get("_id"));
+        for (String field : fields) {
+            if (document.containsKey(field)) {
+                projected.put(field, document.get(field));
+            }
+        }
+        return projected;
+    }
+
+    /**
+     * Condition on documents matching the probe of an example, like the query MongoDB derives from it:
+     * the non-null fields of the probe, nested ones included, must all match, or any of them with a matcher
+     * matching any. With {@link ExampleMatcher.NullHandler#INCLUDE} the null fields must be null as well.
+     */
+    private Predicate<Document> condition(Example<? extends T> example) {
+        ExampleMatcherAccessor matcher = new ExampleMatcherAccessor(example.getMatcher());
+        List<Predicate<Document>> conditions = new ArrayList<>();
+        addConditions(toDocument(example.getProbe()), persistentEntity(), "", List.of(), matcher, conditions);
+
+        if (conditions.isEmpty()) {
+            return document -> true;
+        }
+        return example.getMatcher().isAllMatching()
+                ? document -> conditions.stream().allMatch(condition -> condition.test(document))
+                : document -> conditions.stream().anyMatch(condition -> condition.test(document));
+    }
+
+    /**
+     * Adds a condition per property of a probe document, descending into embedded entities.
+     * @param path Property path of the document, used for the matcher settings of its properties.
+     * @param fields Field names leading to the document from the stored one.
+     */
+    private static void addConditions(Document probe, MongoPersistentEntity<?> entity, String path, List<String> fields,
+                                      ExampleMatcherAccessor matcher, List<Predicate<Document>> conditions) {
+        for (MongoPersistentProperty property : entity) {
+            String propertyPath = path + property.getName();
+            if (matcher.isIgnoredPath(propertyPath)) {
+                continue;
+            }
+
+            List<String> propertyFields = new ArrayList<>(fields);
+            propertyFields.add(property.getFieldName());
+            Object value = matcher.getValueTransformerForPath(propertyPath)
+                    .apply(Optional.ofNullable(probe.get(property.getFieldName())))
+                    .orElse(null);
+
+            if (value == null) {
+                // a null ID or version marks a new entity rather than a value to match
+                if (matcher.getNullHandler() == ExampleMatcher.NullHandler.INCLUDE
+                        && !property.isIdProperty() && !property.isVersionProperty()) {
+                    conditions.add(document -> valueAt(document, propertyFields) == null);
+                }
+            } else if (value instanceof Document nested && property.isEntity() && !property.isCollectionLike() && !property.isMap()) {
+                addConditions(nested, CONVERTER.getMappingContext().getRequiredPersistentEntity(property),
+                        propertyPath + ".", propertyFields, matcher, conditions);
+            } else {
+                Predicate<Object> test = value instanceof String string
+                        ? stringCondition(string, matcher.getStringMatcherForPath(propertyPath), matcher.isIgnoreCaseForPath(propertyPath))
+                        : candidate -> Objects.equals(candidate, value);
+                conditions.add(document -> test.test(valueAt(document, propertyFields)));
+            }
+        }
+    }
+
+    /**
+     * Matches a stored value against a string of the probe, with a regular expression like MongoDB
+     * unless the match is exact and case-sensitive.
+     */
+    private static Predicate<Object> stringCondition(String value, ExampleMatcher.StringMatcher stringMatcher, boolean ignoreCase) {
+        String quoted = Pattern.quote(value);
+        String regex = switch (stringMatcher) {
+            case STARTING -> "^" + quoted;
+            case ENDING -> quoted + "$";
+            case CONTAINING -> quoted;
+            case REGEX -> value;
+            case DEFAULT, EXACT -> ignoreCase ? "^" + quoted + "$" : null;
+        };
+        if (regex == null) {
+            return value::equals;
+        }
+
+        Pattern pattern = Pattern.compile(regex, ignoreCase ? Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE : 0);
+        return candidate -> candidate instanceof String string && pattern.matcher(string).find();
+    }
+
+    private static Object valueAt(Document document, List<String> fields) {
+        Object value = document;
+        for (String field : fields) {
+            if (!(value instanceof Document current)) {
+                return null;
+            }
+            value = current.get(field);
+        }
+        return value;
+    }
+
+    private static MappingMongoConverter createConverter() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        return converter;
+    }
+}
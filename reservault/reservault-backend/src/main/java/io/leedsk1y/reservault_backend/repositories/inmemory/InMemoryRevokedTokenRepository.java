@@ -0,0 +1,28 @@
+package io.leedsk1y.reservault_backend.repositories.inmemory;
+
+import io.leedsk1y.reservault_backend.models.entities.RevokedToken;
+import io.leedsk1y.reservault_backend.repositories.RevokedTokenRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+@Profile("in-memory")
+public class InMemoryRevokedTokenRepository extends InMemoryRepository<RevokedToken, String> implements RevokedTokenRepository {
+    public InMemoryRevokedTokenRepository() {
+        super(RevokedToken.class);
+    }
+
+    // range queries scan, revocations are few; expired ones are not removed as the TTL index would
+    @Override
+    public List<RevokedToken> findByRevokedAtAfter(Instant since) {
+        return scan().map(this::read).filter(token -> token.getRevokedAt().isAfter(since)).toList();
+    }
+
+    @Override
+    public List<RevokedToken> findByExpiresAtAfter(Instant now) {
+        return scan().map(this::read).filter(token -> token.getExpiresAt().isAfter(now)).toList();
+    }
+}
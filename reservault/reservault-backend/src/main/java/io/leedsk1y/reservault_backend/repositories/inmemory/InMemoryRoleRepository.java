@@ -0,0 +1,24 @@
+package io.leedsk1y.reservault_backend.repositories.inmemory;
+
+import io.leedsk1y.reservault_backend.models.entities.Role;
+import io.leedsk1y.reservault_backend.models.enums.ERole;
+import io.leedsk1y.reservault_backend.repositories.RoleRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+@Profile("in-memory")
+public class InMemoryRoleRepository extends InMemoryRepository<Role, UUID> implements RoleRepository {
+    public InMemoryRoleRepository() {
+        super(Role.class);
+        index("name");
+    }
+
+    @Override
+    public Optional<Role> findByName(ERole name) {
+        return first(where("name", name));
+    }
+}
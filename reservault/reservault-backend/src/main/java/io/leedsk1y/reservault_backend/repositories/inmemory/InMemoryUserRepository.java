@@ -0,0 +1,40 @@
+package io.leedsk1y.reservault_backend.repositories.inmemory;
+
+import io.leedsk1y.reservault_backend.models.entities.User;
+import io.leedsk1y.reservault_backend.repositories.UserRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+@Profile("in-memory")
+public class InMemoryUserRepository extends InMemoryRepository<User, UUID> implements UserRepository {
+    public InMemoryUserRepository() {
+        super(User.class);
+        index("email");
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        return first(where("email", email));
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return where("email", email).findAny().isPresent();
+    }
+
+    @Override
+    public Optional<User> findTokenVersionById(UUID id) {
+        return where("_id", id).findFirst().map(user -> read(user, "tokenVersion"));
+    }
+
+    @Override
+    public List<User> findNamesByIdIn(Collection<UUID> ids) {
+        return whereIn("_id", ids).map(user -> read(user, "name")).toList();
+    }
+}
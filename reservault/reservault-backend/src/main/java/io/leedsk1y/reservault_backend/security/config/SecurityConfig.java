@@ -2,10 +2,12 @@ package io.leedsk1y.reservault_backend.security.config;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.security.SecurityProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -23,6 +25,9 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 import io.leedsk1y.reservault_backend.repositories.UserRepository;
 import io.leedsk1y.reservault_backend.security.jwt.AuthEntryPointJwt;
 import io.leedsk1y.reservault_backend.security.jwt.AuthTokenFilter;
+import io.leedsk1y.reservault_backend.security.oauth2.HttpCookieOAuth2AuthorizationRequestRepository;
+import io.leedsk1y.reservault_backend.security.oauth2.OAuth2LoginSuccessHandler;
+import io.leedsk1y.reservault_backend.security.oauth2.StatelessOAuth2AuthorizedClientRepository;
 
 @Configuration
 @EnableWebSecurity
@@ -31,10 +36,19 @@ public class SecurityConfig {
     private static final Logger logger = LoggerFactory.getLogger(SecurityConfig.class);
     private final AuthEntryPointJwt unauthorizedHandler;
     private final UserRepository userRepository;
+    private final HttpCookieOAuth2AuthorizationRequestRepository authorizationRequestRepository;
+    private final OAuth2LoginSuccessHandler oAuth2LoginSuccessHandler;
 
-    public SecurityConfig(AuthEntryPointJwt unauthorizedHandler, UserRepository userRepository) {
+    @Value("${spring.app.bcryptStrength:10}")
+    private int bcryptStrength;
+
+    public SecurityConfig(AuthEntryPointJwt unauthorizedHandler, UserRepository userRepository,
+                          HttpCookieOAuth2AuthorizationRequestRepository authorizationRequestRepository,
+                          OAuth2LoginSuccessHandler oAuth2LoginSuccessHandler) {
         this.unauthorizedHandler = unauthorizedHandler;
         this.userRepository = userRepository;
+        this.authorizationRequestRepository = authorizationRequestRepository;
+        this.oAuth2LoginSuccessHandler = oAuth2LoginSuccessHandler;
     }
 
     /**
@@ -52,11 +66,12 @@ public class SecurityConfig {
 
     /**
      * Creates a BCryptPasswordEncoder bean used for password hashing and verification.
+     * The work factor is taken from `spring.app.bcryptStrength`.
      * @return A PasswordEncoder instance.
      */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
 
     /**
@@ -87,9 +102,9 @@ public class SecurityConfig {
      * Sets up:
      * - endpoint access rules
      * - JWT exception handling
-     * - stateless session policy
+     * - stateless session policy (no HTTP session is ever created, so no sticky load balancing is needed)
      * - CSRF and CORS config
-     * - OAuth2 login paths
+     * - OAuth2 login paths with cookie-stored authorization requests
      * - JWT filter integration
      *
      * @param http The HttpSecurity object to customize.
@@ -102,11 +117,13 @@ public class SecurityConfig {
         http.authorizeHttpRequests(authorizeRequests ->
             authorizeRequests
                 .requestMatchers("/auth/register", "/auth/login", "/oauth2/**").permitAll() // security endpoints
+                .requestMatchers(HttpMethod.GET, "/images/**").permitAll() // locally stored images, public like CDN URLs
+                .requestMatchers(HttpMethod.GET, "/actuator/health", "/actuator/prometheus").permitAll() // served on the management port only
                 .requestMatchers("/admin/**").hasRole("ADMIN") // admin endpoints
                 .anyRequest().authenticated());
 
         http.sessionManagement(session ->
-            session.sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED)); // cookies
+            session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)); // JWT and OAuth2 state live in cookies
 
         http.exceptionHandling(exception ->
             exception.authenticationEntryPoint(unauthorizedHandler)); // choosing custom exception handler JWT
@@ -118,8 +135,12 @@ public class SecurityConfig {
 
         http.oauth2Login(oauth2 -> oauth2
             .loginPage("/oauth2/login/google")
-            .defaultSuccessUrl("/oauth2/login/success", true)
-            .failureUrl("/oauth2/login/failure"));
+            .authorizationEndpoint(endpoint -> endpoint
+                .authorizationRequestRepository(authorizationRequestRepository)) // signed cookie instead of session
+            .authorizedClientRepository(new StatelessOAuth2AuthorizedClientRepository())
+            .successHandler(oAuth2LoginSuccessHandler) // issues the JWT cookie in the callback request
+            .failureHandler((request, response, exception) ->
+                response.sendRedirect("/oauth2/login/failure")));
 
         http.cors(Customizer.withDefaults()); // cors
 
@@ -1,6 +1,7 @@
 package io.leedsk1y.reservault_backend.security.jwt;
 
 import java.io.IOException;
+import java.util.Optional;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -18,6 +19,9 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import io.jsonwebtoken.Claims;
+import io.leedsk1y.reservault_backend.models.entities.User;
+
 @Component
 public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
@@ -26,11 +30,16 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private TokenVersionCache tokenVersionCache;
+
     private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
 
     /**
      * Extracts the JWT from cookies, validates it, and sets authentication in the security context.
-     * Rejects the request if the token is invalid, expired, or the user does not exist.
+     * The principal is built from the token claims; the database is only consulted through the
+     * cached token version check, or for legacy tokens that carry no user claims.
+     * Rejects the request if the token is invalid, expired, outdated, or the user does not exist.
      * @param request HTTP servlet request.
      * @param response HTTP servlet response.
      * @param filterChain The filter chain to proceed with if authentication succeeds.
@@ -45,7 +54,8 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         try {
             String jwt = jwtUtils.getJwtFromCookies(request);
             if (jwt != null) {
-                if (!jwtUtils.validateJwtToken(jwt, response)) {
+                Optional<Claims> validClaims = jwtUtils.validateJwtToken(jwt, response);
+                if (validClaims.isEmpty()) {
                     logger.warn("Invalid or blacklisted token detected: {}", jwt);
                     response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                     response.getWriter().write("{\"error\":\"Unauthorized - Invalid or blacklisted token\"}");
@@ -54,14 +64,15 @@ public class AuthTokenFilter extends OncePerRequestFilter {
                     return;
                 }
 
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
+                Claims claims = validClaims.get();
+                String username = claims.getSubject();
                 try {
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                    UserDetails userDetails = loadUserFromClaims(claims);
                     UsernamePasswordAuthenticationToken authentication =
                             new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                     SecurityContextHolder.getContext().setAuthentication(authentication);
                 } catch (UsernameNotFoundException ex) {
-                    logger.warn("JWT valid but user '{}' not found in DB. Possibly deleted.", username);
+                    logger.warn("JWT valid but user '{}' not found in DB or token outdated. Possibly deleted.", username);
                     jwtUtils.blacklistToken(jwt);
                     CookieUtils.clearJwtCookie(response);
                     response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
@@ -77,4 +88,24 @@ public class AuthTokenFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Resolves the authenticated principal from the token claims.
+     * Falls back to a database lookup for tokens issued before claims were added.
+     * @param claims The claims of a validated token.
+     * @return The UserDetails of the authenticated user.
+     * @throws UsernameNotFoundException If the user was deleted or the token version is outdated.
+     */
+    private UserDetails loadUserFromClaims(Claims claims) {
+        User user = jwtUtils.getUserFromClaims(claims);
+        if (user == null) {
+            return userDetailsService.loadUserByUsername(claims.getSubject());
+        }
+
+        if (!tokenVersionCache.isCurrent(user.getId(), user.getTokenVersion())) {
+            throw new UsernameNotFoundException("User not found or token revoked");
+        }
+
+        return user;
+    }
 }
@@ -1,9 +1,18 @@
 package io.leedsk1y.reservault_backend.security.jwt;
 
 import java.security.Key;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.crypto.SecretKey;
 
@@ -16,17 +25,27 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import io.leedsk1y.reservault_backend.models.entities.User;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 @Component
 public class JwtUtils {
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
-    private final Set<String> blacklistedTokens = ConcurrentHashMap.newKeySet();
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLES = "roles";
+    public static final String CLAIM_VERIFIED = "verified";
+    public static final String CLAIM_TOKEN_VERSION = "tv";
+    private final TokenRevocationStore tokenRevocationStore;
+    private final Map<String, Timer> validationTimers; // by result
 
     @Value("${spring.app.jwtSecret}")
     private String jwtSecret;
@@ -34,6 +53,12 @@ public class JwtUtils {
     @Value("${spring.app.jwtExpirationMs}")
     private int jwtExpirationMs;
 
+    public JwtUtils(TokenRevocationStore tokenRevocationStore, MeterRegistry meterRegistry) {
+        this.tokenRevocationStore = tokenRevocationStore;
+        this.validationTimers = Stream.of("valid", "revoked", "expired", "invalid")
+                .collect(Collectors.toUnmodifiableMap(Function.identity(), result -> validationTimer(meterRegistry, result)));
+    }
+
     private Key key() {
         return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
     }
@@ -55,13 +80,20 @@ public class JwtUtils {
     }
 
     /**
-     * Generates a signed JWT token for the specified username.
-     * @param username The username to include in the JWT subject.
+     * Generates a signed JWT token for the specified user.
+     * The token carries the user ID, roles, verification flag and token version,
+     * so requests can be authenticated from the claims alone.
+     * @param user The user to issue the token for (email is used as the subject).
      * @return A signed JWT token string.
      */
-    public String generateTokenFromUsername(String username) {
+    public String generateTokenFromUser(User user) {
         return Jwts.builder()
-                .subject(username)
+                .id(UUID.randomUUID().toString())
+                .subject(user.getUsername())
+                .claim(CLAIM_USER_ID, user.getId().toString())
+                .claim(CLAIM_ROLES, new ArrayList<>(user.getRoles()))
+                .claim(CLAIM_VERIFIED, user.isVerified())
+                .claim(CLAIM_TOKEN_VERSION, user.getTokenVersion())
                 .issuedAt(new Date())
                 .expiration(new Date((new Date()).getTime() + jwtExpirationMs))
                 .signWith(key())
@@ -82,38 +114,108 @@ public class JwtUtils {
     }
 
     /**
-     * Adds a JWT token to the in-memory blacklist, making it invalid for future use.
+     * Parses a valid JWT token and returns all of its claims.
+     * @param token The JWT token to parse.
+     * @return The claims stored in the token.
+     */
+    public Claims getClaimsFromJwtToken(String token) {
+        return Jwts.parser().verifyWith((SecretKey) key())
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    /**
+     * Builds a lightweight User principal from the token claims without touching the database.
+     * @param claims The claims of a validated token.
+     * @return A User holding ID, email, roles and verification flag, or null for tokens issued without these claims.
+     */
+    public User getUserFromClaims(Claims claims) {
+        String userId = claims.get(CLAIM_USER_ID, String.class);
+        if (userId == null) {
+            return null;
+        }
+
+        Set<String> roles = new HashSet<>();
+        Collection<?> roleClaims = claims.get(CLAIM_ROLES, Collection.class);
+        if (roleClaims != null) {
+            roleClaims.forEach(role -> roles.add(role.toString()));
+        }
+
+        User user = new User();
+        user.setId(UUID.fromString(userId));
+        user.setEmail(claims.getSubject());
+        user.setRoles(roles);
+        user.setVerified(Boolean.TRUE.equals(claims.get(CLAIM_VERIFIED, Boolean.class)));
+        user.setTokenVersion(getTokenVersionFromClaims(claims));
+        return user;
+    }
+
+    /**
+     * Reads the token version claim, treating tokens issued without it as version 0.
+     * @param claims The claims of a validated token.
+     * @return The token version the JWT was issued with.
+     */
+    public long getTokenVersionFromClaims(Claims claims) {
+        Number version = claims.get(CLAIM_TOKEN_VERSION, Number.class);
+        return version != null ? version.longValue() : 0L;
+    }
+
+    /**
+     * Revokes a JWT token until it expires, across all application instances.
+     * Tokens that can no longer be parsed are already unusable and are ignored.
      * @param token The JWT token to blacklist.
      */
     public void blacklistToken(String token) {
-        blacklistedTokens.add(token);
+        try {
+            Claims claims = getClaimsFromJwtToken(token);
+            tokenRevocationStore.revoke(getTokenId(token, claims), claims.getExpiration().toInstant());
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.debug("Skipping revocation of unparseable token: {}", e.getMessage());
+        }
     }
 
     /**
      * Checks if the given JWT token is blacklisted.
      * @param token The JWT token to verify.
+     * @param claims The already verified claims of the token.
      * @return True if the token is blacklisted, false otherwise.
      */
-    public boolean isTokenBlacklisted(String token) {
-        return blacklistedTokens.contains(token);
+    public boolean isTokenBlacklisted(String token, Claims claims) {
+        return tokenRevocationStore.isRevoked(getTokenId(token, claims));
+    }
+
+    /**
+     * Resolves the identifier a token is revoked under: its `jti` claim, or the raw token for older tokens.
+     * @param token The JWT token.
+     * @param claims The verified claims of the token.
+     * @return The identifier used as revocation key.
+     */
+    private String getTokenId(String token, Claims claims) {
+        return claims.getId() != null ? claims.getId() : token;
     }
 
     /**
      * Validates a JWT token for signature, expiration, and blacklist status.
+     * The token is parsed once; callers build the principal from the returned claims.
+     * The latency is recorded as `reservault.jwt.validation`, tagged with the result.
      * @param authToken The JWT token to validate.
      * @param response HTTP response used for cookie cleanup if validation fails.
-     * @return True if the token is valid, false otherwise.
+     * @return The verified claims if the token is valid, otherwise empty.
      */
-    public boolean validateJwtToken(String authToken, HttpServletResponse response) {
-        if (isTokenBlacklisted(authToken)) {
-            logger.error("JWT token is blacklisted");
-            CookieUtils.clearJwtCookie(response);
-            return false;
-        }
-
+    public Optional<Claims> validateJwtToken(String authToken, HttpServletResponse response) {
+        long start = System.nanoTime();
+        String result = "invalid";
         try {
-            Jwts.parser().verifyWith((SecretKey) key()).build().parseSignedClaims(authToken);
-            return true;
+            Claims claims = getClaimsFromJwtToken(authToken);
+            if (isTokenBlacklisted(authToken, claims)) {
+                logger.error("JWT token is blacklisted");
+                CookieUtils.clearJwtCookie(response);
+                result = "revoked";
+                return Optional.empty();
+            }
+            result = "valid";
+            return Optional.of(claims);
         }
         catch(MalformedJwtException e) {
             logger.error("Invalid JWT token: {}", e.getMessage());
@@ -122,6 +224,7 @@ public class JwtUtils {
         catch (ExpiredJwtException e) {
             logger.error("JWT token is expired: {}", e.getMessage());
             CookieUtils.clearJwtCookie(response);
+            result = "expired";
         }
         catch (UnsupportedJwtException e) {
             logger.error("JWT token is unsupported: {}", e.getMessage());
@@ -131,7 +234,18 @@ public class JwtUtils {
             logger.error("JWT claims string is empty: {}", e.getMessage());
             CookieUtils.clearJwtCookie(response);
         }
+        finally {
+            validationTimers.get(result).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        return Optional.empty();
+    }
 
-        return false;
+    private static Timer validationTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("reservault.jwt.validation")
+                .description("JWT signature, expiry and revocation check")
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+package io.leedsk1y.reservault_backend.security.jwt;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+class RevocationBloomFilter {
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * Sizes the filter for the expected number of revoked tokens and false positive probability.
+     * @param expectedInsertions Expected number of live revocations.
+     * @param falsePositiveRate Target false positive probability (e.g. 0.01).
+     */
+    RevocationBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitCount = Math.max(64, m);
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+        this.bits = new AtomicLongArray((int) ((bitCount + 63) / 64));
+    }
+
+    /**
+     * Adds a token hash to the filter.
+     * @param tokenHash SHA-256 hex string of the token ID.
+     */
+    void put(String tokenHash) {
+        long h1 = Long.parseUnsignedLong(tokenHash.substring(0, 16), 16);
+        long h2 = Long.parseUnsignedLong(tokenHash.substring(16, 32), 16);
+        for (int i = 0; i < hashCount; i++) {
+            long index = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            setBit(index);
+        }
+    }
+
+    /**
+     * Checks whether a token hash may have been added.
+     * @param tokenHash SHA-256 hex string of the token ID.
+     * @return False if the hash was definitely never added, true if it possibly was.
+     */
+    boolean mightContain(String tokenHash) {
+        long h1 = Long.parseUnsignedLong(tokenHash.substring(0, 16), 16);
+        long h2 = Long.parseUnsignedLong(tokenHash.substring(16, 32), 16);
+        for (int i = 0; i < hashCount; i++) {
+            long index = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void setBit(long index) {
+        int word = (int) (index >>> 6);
+        long mask = 1L << index;
+        long current;
+        do {
+            current = bits.get(word);
+            if ((current & mask) != 0) {
+                return;
+            }
+        } while (!bits.compareAndSet(word, current, current | mask));
+    }
+}
@@ -0,0 +1,117 @@
+package io.leedsk1y.reservault_backend.security.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+
+import jakarta.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.leedsk1y.reservault_backend.models.entities.RevokedToken;
+import io.leedsk1y.reservault_backend.repositories.RevokedTokenRepository;
+
+@Component
+public class TokenRevocationStore {
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationStore.class);
+    private static final Duration SYNC_OVERLAP = Duration.ofSeconds(5); // tolerates clock skew between replicas
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private volatile RevocationBloomFilter filter;
+    private volatile Instant lastSync = Instant.EPOCH;
+
+    @Value("${spring.app.revocationExpectedTokens:100000}")
+    private long expectedTokens;
+
+    public TokenRevocationStore(RevokedTokenRepository revokedTokenRepository) {
+        this.revokedTokenRepository = revokedTokenRepository;
+    }
+
+    /**
+     * Loads all live revocations into the local filter.
+     */
+    @PostConstruct
+    public void init() {
+        rebuildFilter();
+    }
+
+    /**
+     * Revokes a token until its expiry. The revocation is persisted so other replicas pick it up,
+     * and MongoDB removes it automatically once the token has expired.
+     * @param tokenId The token ID (jti) or, for tokens without one, the raw token.
+     * @param expiresAt The expiry of the token.
+     */
+    public void revoke(String tokenId, Instant expiresAt) {
+        String tokenHash = hash(tokenId);
+        filter.put(tokenHash);
+        revokedTokenRepository.save(new RevokedToken(tokenHash, Instant.now(), expiresAt));
+    }
+
+    /**
+     * Checks whether a token was revoked.
+     * The local Bloom filter answers the common negative case without I/O;
+     * only possible matches are confirmed against the database.
+     * @param tokenId The token ID (jti) or, for tokens without one, the raw token.
+     * @return True if the token has been revoked, false otherwise.
+     */
+    public boolean isRevoked(String tokenId) {
+        String tokenHash = hash(tokenId);
+        if (!filter.mightContain(tokenHash)) {
+            return false;
+        }
+        return revokedTokenRepository.existsById(tokenHash);
+    }
+
+    /**
+     * Pulls revocations made on other replicas since the last sync into the local filter.
+     */
+    @Scheduled(fixedDelayString = "${spring.app.revocationSyncMs:5000}")
+    public void syncRecentRevocations() {
+        Instant syncStart = Instant.now();
+        List<RevokedToken> recent = revokedTokenRepository.findByRevokedAtAfter(lastSync.minus(SYNC_OVERLAP));
+        RevocationBloomFilter current = filter;
+        recent.forEach(token -> current.put(token.getTokenHash()));
+        lastSync = syncStart;
+
+        if (!recent.isEmpty()) {
+            logger.debug("Synced {} recent token revocation(s)", recent.size());
+        }
+    }
+
+    /**
+     * Periodically rebuilds the filter from live revocations, dropping expired entries
+     * that a Bloom filter cannot remove on its own.
+     */
+    @Scheduled(fixedDelayString = "${spring.app.revocationRebuildMs:3600000}",
+            initialDelayString = "${spring.app.revocationRebuildMs:3600000}")
+    public void rebuildFilter() {
+        Instant rebuildStart = Instant.now();
+        List<RevokedToken> live = revokedTokenRepository.findByExpiresAtAfter(rebuildStart);
+
+        RevocationBloomFilter rebuilt = new RevocationBloomFilter(Math.max(expectedTokens, live.size() * 2L),
+                FALSE_POSITIVE_RATE);
+        live.forEach(token -> rebuilt.put(token.getTokenHash()));
+
+        filter = rebuilt;
+        lastSync = rebuildStart;
+        logger.info("Rebuilt token revocation filter with {} live revocation(s)", live.size());
+    }
+
+    private static String hash(String tokenId) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(tokenId.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
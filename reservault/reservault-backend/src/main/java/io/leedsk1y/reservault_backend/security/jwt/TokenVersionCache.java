@@ -0,0 +1,77 @@
+package io.leedsk1y.reservault_backend.security.jwt;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.leedsk1y.reservault_backend.models.entities.User;
+import io.leedsk1y.reservault_backend.repositories.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Component
+public class TokenVersionCache {
+    private static final Logger logger = LoggerFactory.getLogger(TokenVersionCache.class);
+    private static final int MAX_ENTRIES = 100_000;
+    private static final long DELETED = -1L;
+
+    private final UserRepository userRepository;
+    private final Map<UUID, CachedVersion> versions = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    @Value("${spring.app.tokenVersionCheckMs:30000}")
+    private long tokenVersionCheckMs;
+
+    public TokenVersionCache(UserRepository userRepository, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Checks whether a token issued with the given version is still current for the user.
+     * The stored version is cached per user for `spring.app.tokenVersionCheckMs`, so most requests
+     * are answered without a database read, while role changes and deletions propagate within that window.
+     * Lookups are counted as `reservault.cache.requests` with cache=tokenVersion and result hit or miss.
+     * @param userId UUID of the user from the token claims.
+     * @param tokenVersion Token version from the token claims.
+     * @return True if the user still exists and the version matches, false otherwise.
+     */
+    public boolean isCurrent(UUID userId, long tokenVersion) {
+        long now = System.currentTimeMillis();
+        CachedVersion cached = versions.get(userId);
+
+        boolean hit = cached != null && now - cached.checkedAt() <= tokenVersionCheckMs;
+        meterRegistry.counter("reservault.cache.requests", "cache", "tokenVersion", "result", hit ? "hit" : "miss").increment();
+
+        if (!hit) {
+            long version = userRepository.findTokenVersionById(userId)
+                    .map(User::getTokenVersion)
+                    .orElse(DELETED);
+
+            if (versions.size() >= MAX_ENTRIES) {
+                logger.debug("Token version cache full, clearing {} entries", versions.size());
+                versions.clear();
+            }
+
+            cached = new CachedVersion(version, now);
+            versions.put(userId, cached);
+        }
+
+        return cached.version() != DELETED && cached.version() == tokenVersion;
+    }
+
+    /**
+     * Drops the cached version of a user so the next request re-reads it from the database.
+     * Called after the user is modified or deleted on this node.
+     * @param userId UUID of the user.
+     */
+    public void evict(UUID userId) {
+        versions.remove(userId);
+    }
+
+    private record CachedVersion(long version, long checkedAt) {}
+}
@@ -0,0 +1,169 @@
+package io.leedsk1y.reservault_backend.security.oauth2;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.client.web.AuthorizationRequestRepository;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+import org.springframework.stereotype.Component;
+
+import io.jsonwebtoken.io.Decoders;
+
+@Component
+public class HttpCookieOAuth2AuthorizationRequestRepository
+        implements AuthorizationRequestRepository<OAuth2AuthorizationRequest> {
+    private static final Logger logger = LoggerFactory.getLogger(HttpCookieOAuth2AuthorizationRequestRepository.class);
+    public static final String COOKIE_NAME = "oauth2_auth_request";
+    private static final int COOKIE_MAX_AGE_SECONDS = 180; // 3 min to complete the provider login
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final byte[] signingKey;
+
+    public HttpCookieOAuth2AuthorizationRequestRepository(@Value("${spring.app.jwtSecret}") String jwtSecret) {
+        this.signingKey = Decoders.BASE64.decode(jwtSecret);
+    }
+
+    /**
+     * Restores the pending authorization request from the signed cookie.
+     * @param request HTTP request carrying the cookie.
+     * @return The authorization request, or null if the cookie is missing, tampered with, or unreadable.
+     */
+    @Override
+    public OAuth2AuthorizationRequest loadAuthorizationRequest(HttpServletRequest request) {
+        String value = getCookieValue(request);
+        return value != null ? deserialize(value) : null;
+    }
+
+    /**
+     * Stores the authorization request in a short-lived, signed, HTTP-only cookie instead of the session.
+     * @param authorizationRequest The request to store, or null to remove it.
+     * @param request HTTP request.
+     * @param response HTTP response the cookie is added to.
+     */
+    @Override
+    public void saveAuthorizationRequest(OAuth2AuthorizationRequest authorizationRequest,
+                                         HttpServletRequest request, HttpServletResponse response) {
+        if (authorizationRequest == null) {
+            clearCookie(response);
+            return;
+        }
+
+        addCookie(response, serialize(authorizationRequest), COOKIE_MAX_AGE_SECONDS);
+    }
+
+    /**
+     * Loads the authorization request and clears the cookie, as it is single-use.
+     * @param request HTTP request carrying the cookie.
+     * @param response HTTP response used to clear the cookie.
+     * @return The authorization request, or null if none was stored.
+     */
+    @Override
+    public OAuth2AuthorizationRequest removeAuthorizationRequest(HttpServletRequest request,
+                                                                 HttpServletResponse response) {
+        OAuth2AuthorizationRequest authorizationRequest = loadAuthorizationRequest(request);
+        clearCookie(response);
+        return authorizationRequest;
+    }
+
+    private String getCookieValue(HttpServletRequest request) {
+        if (request.getCookies() != null) {
+            for (Cookie cookie : request.getCookies()) {
+                if (COOKIE_NAME.equals(cookie.getName())) {
+                    return cookie.getValue();
+                }
+            }
+        }
+        return null;
+    }
+
+    private void addCookie(HttpServletResponse response, String value, int maxAge) {
+        Cookie cookie = new Cookie(COOKIE_NAME, value);
+        cookie.setHttpOnly(true);
+        cookie.setSecure(true);
+        cookie.setPath("/");
+        cookie.setMaxAge(maxAge);
+        cookie.setAttribute("SameSite", "Lax"); // must survive the top-level redirect back from the provider
+
+        response.addCookie(cookie);
+    }
+
+    private void clearCookie(HttpServletResponse response) {
+        addCookie(response, "", 0);
+    }
+
+    /**
+     * Serializes and signs an authorization request as `base64url(payload).base64url(hmac)`.
+     * @param authorizationRequest The request to serialize.
+     * @return The cookie value.
+     */
+    private String serialize(OAuth2AuthorizationRequest authorizationRequest) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(authorizationRequest);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to serialize OAuth2 authorization request", e);
+        }
+
+        byte[] payload = bytes.toByteArray();
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(payload) + "." + encoder.encodeToString(sign(payload));
+    }
+
+    /**
+     * Verifies the signature of a cookie value before deserializing it,
+     * so only requests created by this application are ever deserialized.
+     * @param value The cookie value.
+     * @return The authorization request, or null if the value is invalid.
+     */
+    private OAuth2AuthorizationRequest deserialize(String value) {
+        int separator = value.indexOf('.');
+        if (separator < 0) {
+            return null;
+        }
+
+        try {
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            byte[] payload = decoder.decode(value.substring(0, separator));
+            byte[] signature = decoder.decode(value.substring(separator + 1));
+
+            if (!MessageDigest.isEqual(sign(payload), signature)) {
+                logger.warn("Rejected OAuth2 authorization request cookie with invalid signature");
+                return null;
+            }
+
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(payload))) {
+                return (OAuth2AuthorizationRequest) in.readObject();
+            }
+        } catch (IllegalArgumentException | IOException | ClassNotFoundException | ClassCastException e) {
+            logger.warn("Could not read OAuth2 authorization request cookie: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private byte[] sign(byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(signingKey, HMAC_ALGORITHM));
+            return mac.doFinal(payload);
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException("Failed to sign OAuth2 authorization request", e);
+        }
+    }
+}
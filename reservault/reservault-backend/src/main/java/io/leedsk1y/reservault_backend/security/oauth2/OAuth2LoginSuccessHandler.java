@@ -0,0 +1,55 @@
+package io.leedsk1y.reservault_backend.security.oauth2;
+
+import java.io.IOException;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.security.web.authentication.AuthenticationSuccessHandler;
+import org.springframework.stereotype.Component;
+
+import io.leedsk1y.reservault_backend.security.jwt.CookieUtils;
+import io.leedsk1y.reservault_backend.services.OAuth2Service;
+
+@Component
+public class OAuth2LoginSuccessHandler implements AuthenticationSuccessHandler {
+    private static final Logger logger = LoggerFactory.getLogger(OAuth2LoginSuccessHandler.class);
+    private final OAuth2Service oAuth2Service;
+
+    @Value("${spring.frontend.url}")
+    private String frontendUrl;
+
+    public OAuth2LoginSuccessHandler(OAuth2Service oAuth2Service) {
+        this.oAuth2Service = oAuth2Service;
+    }
+
+    /**
+     * Handles successful OAuth2 authentication by generating a JWT token and setting it as a cookie,
+     * then redirects the user to the frontend dashboard.
+     * Runs in the callback request itself, so no server-side session is needed to carry the authentication.
+     * @param request HTTP request of the provider callback.
+     * @param response HTTP response used to set cookies and redirect.
+     * @param authentication The authenticated user's token.
+     * @throws IOException If the redirect fails.
+     */
+    @Override
+    public void onAuthenticationSuccess(HttpServletRequest request, HttpServletResponse response,
+                                        Authentication authentication) throws IOException {
+        logger.info("Handling successful OAuth2 login for user: {}", authentication.getName());
+        try {
+            String jwtToken = oAuth2Service.handleOAuth2Authentication((OAuth2AuthenticationToken) authentication);
+
+            CookieUtils.setJwtCookie(response, jwtToken);
+
+            response.sendRedirect(frontendUrl + "/dashboard");
+        } catch (RuntimeException e) {
+            response.sendError(HttpStatus.UNAUTHORIZED.value(), "Authentication failed: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package io.leedsk1y.reservault_backend.security.oauth2;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.web.OAuth2AuthorizedClientRepository;
+
+public class StatelessOAuth2AuthorizedClientRepository implements OAuth2AuthorizedClientRepository {
+
+    /**
+     * Provider access tokens are only needed to complete the login, after which the app issues its own JWT,
+     * so authorized clients are never kept in memory or in a session.
+     * @return Always null.
+     */
+    @Override
+    public <T extends OAuth2AuthorizedClient> T loadAuthorizedClient(String clientRegistrationId,
+                                                                     Authentication principal,
+                                                                     HttpServletRequest request) {
+        return null;
+    }
+
+    @Override
+    public void saveAuthorizedClient(OAuth2AuthorizedClient authorizedClient, Authentication principal,
+                                     HttpServletRequest request, HttpServletResponse response) {
+    }
+
+    @Override
+    public void removeAuthorizedClient(String clientRegistrationId, Authentication principal,
+                                       HttpServletRequest request, HttpServletResponse response) {
+    }
+}
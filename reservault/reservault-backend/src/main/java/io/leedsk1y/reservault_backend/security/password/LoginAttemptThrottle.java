@@ -0,0 +1,96 @@
+package io.leedsk1y.reservault_backend.security.password;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Component
+public class LoginAttemptThrottle {
+    private static final Logger logger = LoggerFactory.getLogger(LoginAttemptThrottle.class);
+
+    private final Map<String, AttemptWindow> ipAttempts = new ConcurrentHashMap<>();
+    private final Map<String, AttemptWindow> accountAttempts = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    @Value("${spring.app.loginThrottle.windowMs:60000}")
+    private long windowMs;
+
+    @Value("${spring.app.loginThrottle.maxPerIp:30}")
+    private int maxPerIp;
+
+    @Value("${spring.app.loginThrottle.maxPerAccount:5}")
+    private int maxPerAccount;
+
+    public LoginAttemptThrottle(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Registers a password attempt for the client IP and, if given, the account.
+     * Called before any hashing work, so throttled requests cost no CPU.
+     * @param clientIp Address of the client. Behind a reverse proxy Tomcat resolves it from X-Forwarded-For,
+     *                 so the limit applies per client rather than per proxy.
+     * @param account Lower-cased email of the targeted account, or null for registrations.
+     * @throws ResponseStatusException With 429 if either limit is exceeded within the window.
+     */
+    public void checkAndRecord(String clientIp, String account) {
+        long now = System.currentTimeMillis();
+
+        if (clientIp != null && increment(ipAttempts, clientIp, now) > maxPerIp) {
+            reject("ip", clientIp);
+        }
+
+        if (account != null && increment(accountAttempts, account, now) > maxPerAccount) {
+            reject("account", account);
+        }
+    }
+
+    /**
+     * Clears the attempt counter of an account after a successful login.
+     * @param account Lower-cased email of the account.
+     */
+    public void recordSuccess(String account) {
+        accountAttempts.remove(account);
+    }
+
+    /**
+     * Drops windows that have ended so the maps stay bounded by recent activity.
+     */
+    @Scheduled(fixedDelayString = "${spring.app.loginThrottle.windowMs:60000}")
+    public void evictExpiredWindows() {
+        long now = System.currentTimeMillis();
+        ipAttempts.values().removeIf(window -> now - window.start >= windowMs);
+        accountAttempts.values().removeIf(window -> now - window.start >= windowMs);
+    }
+
+    private int increment(Map<String, AttemptWindow> attempts, String key, long now) {
+        AttemptWindow window = attempts.compute(key, (k, existing) ->
+                existing == null || now - existing.start >= windowMs ? new AttemptWindow(now) : existing);
+        return window.count.incrementAndGet();
+    }
+
+    private void reject(String scope, String key) {
+        meterRegistry.counter("reservault.login.throttled", "scope", scope).increment();
+        logger.warn("Too many password attempts for {} '{}'", scope, key);
+        throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many attempts, please try again later");
+    }
+
+    private static final class AttemptWindow {
+        private final long start;
+        private final AtomicInteger count = new AtomicInteger();
+
+        private AttemptWindow(long start) {
+            this.start = start;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package io.leedsk1y.reservault_backend.security.password;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+@Service
+public class PasswordHashingService {
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingService.class);
+    private static final String DUMMY_PASSWORD = "dummy-password-for-timing";
+
+    private final PasswordEncoder passwordEncoder;
+    private final MeterRegistry meterRegistry;
+    private ThreadPoolExecutor executor;
+    private String dummyHash;
+
+    @Value("${spring.app.bcryptStrength:10}")
+    private int bcryptStrength;
+
+    @Value("${spring.app.passwordHashing.threads:0}")
+    private int threads;
+
+    @Value("${spring.app.passwordHashing.queueCapacity:64}")
+    private int queueCapacity;
+
+    @Value("${spring.app.passwordHashing.timeoutMs:5000}")
+    private long timeoutMs;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder, MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Starts the bounded hashing pool and measures the cost of one hash at the configured work factor.
+     * The pool defaults to one thread per CPU; requests beyond the queue capacity are rejected
+     * instead of piling up on Tomcat request threads.
+     */
+    @PostConstruct
+    public void init() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadIndex = new AtomicInteger();
+
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("reservault.password.hash.queue", executor, pool -> pool.getQueue().size())
+                .description("Password hashing tasks waiting for a worker")
+                .register(meterRegistry);
+
+        long start = System.nanoTime();
+        dummyHash = passwordEncoder.encode(DUMMY_PASSWORD);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        logger.info("BCrypt work factor {} measured at {} ms per hash ({} hashing threads, queue {})",
+                bcryptStrength, elapsedMs, poolSize, queueCapacity);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Hashes a raw password on the hashing pool.
+     * @param rawPassword The password to hash.
+     * @return The encoded password.
+     * @throws ResponseStatusException With 503 if the hashing pool is saturated.
+     */
+    public String encode(String rawPassword) {
+        return submit("encode", () -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Verifies a raw password against an encoded one on the hashing pool.
+     * @param rawPassword The password provided by the user.
+     * @param encodedPassword The stored hash.
+     * @return True if the password matches, false otherwise.
+     * @throws ResponseStatusException With 503 if the hashing pool is saturated.
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return submit("matches", () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Performs a verification against a dummy hash so unknown accounts take as long as known ones.
+     * @param rawPassword The password provided by the user.
+     */
+    public void matchDummy(String rawPassword) {
+        matches(rawPassword, dummyHash);
+    }
+
+    /**
+     * Checks whether a stored hash was created with a different work factor than the configured one.
+     * @param encodedPassword The stored BCrypt hash (e.g. `$2a$10$...`).
+     * @return True if the password should be re-hashed after a successful login.
+     */
+    public boolean needsRehash(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$') {
+            return false;
+        }
+
+        try {
+            int storedStrength = Integer.parseInt(encodedPassword.substring(4, 6));
+            return storedStrength != bcryptStrength;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Runs a hashing task on the pool, recording its latency and translating saturation into a 503.
+     * @param operation Name of the operation used as metric tag.
+     * @param task The hashing task.
+     * @return The task result.
+     */
+    private <T> T submit(String operation, Callable<T> task) {
+        Timer timer = Timer.builder("reservault.password.hash")
+                .description("Password hashing latency including queue wait")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+
+        long start = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            meterRegistry.counter("reservault.password.hash.rejected", "operation", operation).increment();
+            logger.warn("Password hashing pool saturated, rejecting {} request", operation);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Server is busy, please try again shortly");
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Server is busy, please try again shortly");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Password hashing interrupted");
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Password hashing failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package io.leedsk1y.reservault_backend.services;
 
 import io.leedsk1y.reservault_backend.dto.AdminDashboardStatsDTO;
+import io.leedsk1y.reservault_backend.dto.CascadeDeletionJobDTO;
 import io.leedsk1y.reservault_backend.dto.UserDetailedResponseDTO;
 import io.leedsk1y.reservault_backend.models.entities.Hotel;
 import io.leedsk1y.reservault_backend.models.entities.HotelManager;
@@ -11,6 +12,7 @@ import io.leedsk1y.reservault_backend.repositories.HotelManagerRepository;
 import io.leedsk1y.reservault_backend.repositories.HotelRepository;
 import io.leedsk1y.reservault_backend.repositories.OfferRepository;
 import io.leedsk1y.reservault_backend.repositories.UserRepository;
+import io.leedsk1y.reservault_backend.security.jwt.TokenVersionCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
@@ -35,6 +37,9 @@ public class AdminService {
     private final UserDeletionService userDeletionService;
     private final OfferRepository offerRepository;
     private final BookingRepository bookingRepository;
+    private final TokenVersionCache tokenVersionCache;
+    private final CascadeDeletionService cascadeDeletionService;
+    private final OfferService offerService;
 
     public AdminService(HotelService hotelService,
                         HotelRepository hotelRepository,
@@ -42,7 +47,10 @@ public class AdminService {
                         HotelManagerRepository hotelManagerRepository,
                         UserDeletionService userDeletionService,
                         OfferRepository offerRepository,
-                        BookingRepository bookingRepository) {
+                        BookingRepository bookingRepository,
+                        TokenVersionCache tokenVersionCache,
+                        CascadeDeletionService cascadeDeletionService,
+                        OfferService offerService) {
         this.hotelService = hotelService;
         this.hotelRepository = hotelRepository;
         this.userRepository = userRepository;
@@ -50,6 +58,9 @@ public class AdminService {
         this.userDeletionService = userDeletionService;
         this.offerRepository = offerRepository;
         this.bookingRepository = bookingRepository;
+        this.tokenVersionCache = tokenVersionCache;
+        this.cascadeDeletionService = cascadeDeletionService;
+        this.offerService = offerService;
     }
 
     /**
@@ -89,13 +100,26 @@ public class AdminService {
     /**
      * Deletes a hotel by its UUID.
      * @param id UUID of the hotel to delete.
-     * @return True if deletion was successful, false otherwise.
+     * @return Optional containing the deletion job, or empty if the hotel was not found.
      */
-    public boolean deleteHotel(UUID id) {
+    public Optional<CascadeDeletionJobDTO> deleteHotel(UUID id) {
         logger.info("Deleting hotel with ID: {}", id);
         return hotelService.deleteHotel(id);
     }
 
+    /**
+     * Deletes an offer of any manager by its UUID.
+     * @param id UUID of the offer to delete.
+     * @return Optional containing the deletion job, or empty if the offer was not found.
+     */
+    public Optional<CascadeDeletionJobDTO> deleteOffer(UUID id) {
+        logger.info("Deleting offer with ID: {}", id);
+        if (!offerRepository.existsById(id)) {
+            return Optional.empty();
+        }
+        return Optional.of(offerService.deleteOffer(id, null));
+    }
+
     /**
      * Removes an image from a specific hotel.
      * @param hotelId UUID of the hotel.
@@ -133,9 +157,10 @@ public class AdminService {
     /**
      * Deletes a user by UUID based on their role.
      * @param userId UUID of the user to delete.
+     * @return The deletion job, RUNNING if it continues in the background.
      * @throws ResponseStatusException If the user is not found or has an invalid role.
      */
-    public void deleteUser(UUID userId) {
+    public CascadeDeletionJobDTO deleteUser(UUID userId) {
         logger.info("Deleting user with ID: {}", userId);
         Optional<User> userOpt = userRepository.findById(userId);
         if (userOpt.isEmpty()) {
@@ -145,14 +170,24 @@ public class AdminService {
         User user = userOpt.get();
 
         if (user.getRoles().contains("ROLE_MANAGER")) {
-            userDeletionService.deleteManager(userId);
+            return userDeletionService.deleteManager(userId);
         } else if (user.getRoles().contains("ROLE_USER")) {
-            userDeletionService.deleteUser(userId);
+            return userDeletionService.deleteUser(userId);
         } else {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid user role for deletion");
         }
     }
 
+    /**
+     * Retrieves the progress of a hotel, offer or user deletion running in the background.
+     * @param jobId UUID of the deletion job.
+     * @return Optional containing the job, or empty if unknown or expired.
+     */
+    public Optional<CascadeDeletionJobDTO> getDeletionJob(UUID jobId) {
+        logger.info("Fetching deletion job with ID: {}", jobId);
+        return cascadeDeletionService.getJob(jobId);
+    }
+
     /**
      * Approves a manager's request and updates their verification and hotel-manager statuses.
      * @param managerId UUID of the manager.
@@ -176,7 +211,9 @@ public class AdminService {
 
         if (!user.isVerified()) {
             user.setVerified(true);
+            user.setTokenVersion(user.getTokenVersion() + 1); // reissue tokens with the new verification claim
             userRepository.save(user);
+            tokenVersionCache.evict(managerId);
             isUpdated = true;
         }
 
@@ -209,6 +246,7 @@ public class AdminService {
         hotelManagerRepository.deleteByManagerId(managerId);
 
         userRepository.deleteById(managerId);
+        tokenVersionCache.evict(managerId);
 
         return true;
     }
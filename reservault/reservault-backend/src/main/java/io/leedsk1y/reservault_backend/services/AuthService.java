@@ -1,5 +1,6 @@
 package io.leedsk1y.reservault_backend.services;
 
+import io.jsonwebtoken.Claims;
 import io.leedsk1y.reservault_backend.dto.RegisterRequestDTO;
 import io.leedsk1y.reservault_backend.dto.UpdatePasswordDTO;
 import io.leedsk1y.reservault_backend.dto.UserDetailedResponseDTO;
@@ -15,17 +16,15 @@ import io.leedsk1y.reservault_backend.repositories.RoleRepository;
 import io.leedsk1y.reservault_backend.repositories.UserRepository;
 import io.leedsk1y.reservault_backend.security.jwt.JwtUtils;
 import io.leedsk1y.reservault_backend.security.jwt.CookieUtils;
+import io.leedsk1y.reservault_backend.security.password.LoginAttemptThrottle;
+import io.leedsk1y.reservault_backend.security.password.PasswordHashingService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -45,29 +44,32 @@ public class AuthService {
     private final RoleRepository roleRepository;
     private final HotelRepository hotelRepository;
     private final HotelManagerRepository hotelManagerRepository ;
-    private final PasswordEncoder passwordEncoder;
-    private final AuthenticationManager authenticationManager;
+    private final PasswordHashingService passwordHashingService;
+    private final LoginAttemptThrottle loginAttemptThrottle;
     private final JwtUtils jwtUtils;
 
     public AuthService(UserRepository userRepository, RoleRepository roleRepository, HotelRepository hotelRepository,
-                       HotelManagerRepository hotelManagerRepository, PasswordEncoder passwordEncoder,
-                       AuthenticationManager authenticationManager, JwtUtils jwtUtils) {
+                       HotelManagerRepository hotelManagerRepository, PasswordHashingService passwordHashingService,
+                       LoginAttemptThrottle loginAttemptThrottle, JwtUtils jwtUtils) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.hotelRepository = hotelRepository;
         this.hotelManagerRepository = hotelManagerRepository;
-        this.passwordEncoder = passwordEncoder;
-        this.authenticationManager = authenticationManager;
+        this.passwordHashingService = passwordHashingService;
+        this.loginAttemptThrottle = loginAttemptThrottle;
         this.jwtUtils = jwtUtils;
     }
 
     /**
      * Registers a new user or manager with the provided registration details.
      * @param request The registration request containing user info and hotel associations (if manager).
+     * @param clientIp Address of the client as resolved from trusted proxy headers, used for attempt throttling.
      * @return A detailed response DTO of the registered user.
      */
-    public UserDetailedResponseDTO registerUser(RegisterRequestDTO request) {
+    public UserDetailedResponseDTO registerUser(RegisterRequestDTO request, String clientIp) {
         logger.info("Registering new user with email: {}, isManager: {}", request.getEmail(), request.getIsManager());
+        loginAttemptThrottle.checkAndRecord(clientIp, null);
+
         if (userRepository.existsByEmail(request.getEmail().toLowerCase())) {
             throw new RuntimeException("Email is already in use");
         }
@@ -90,7 +92,7 @@ public class AuthService {
                 UUID.randomUUID(),
                 request.getName(),
                 request.getEmail().toLowerCase(),
-                passwordEncoder.encode(request.getPassword()),
+                passwordHashingService.encode(request.getPassword()),
                 null,
                 Instant.now(),
                 !isManager, // not verified if manager
@@ -147,31 +149,47 @@ public class AuthService {
 
     /**
      * Authenticates a user with email and password, generating a JWT on success.
+     * Attempts are throttled per client IP and account before any hashing, and the password check
+     * runs on the bounded hashing pool. Hashes created with an outdated work factor are upgraded.
      * @param email The user's email.
      * @param password The user's password.
+     * @param clientIp Address of the client as resolved from trusted proxy headers, used for attempt throttling.
      * @return A JWT token for authenticated access.
      * @throws RuntimeException If authentication fails or user is unverified.
+     * @throws ResponseStatusException If the client is throttled or the hashing pool is saturated.
      */
-    public String authenticateUser(String email, String password) {
+    public String authenticateUser(String email, String password, String clientIp) {
         logger.info("Authenticating user with email: {}", email);
-        try {
-            Authentication authentication = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(email.toLowerCase(), password)
-            );
+        String normalizedEmail = email.toLowerCase();
+        loginAttemptThrottle.checkAndRecord(clientIp, normalizedEmail);
 
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+        Optional<User> userOptional = userRepository.findByEmail(normalizedEmail);
+        if (userOptional.isEmpty() || userOptional.get().getPassword() == null) {
+            passwordHashingService.matchDummy(password); // keep timing of unknown accounts comparable
+            throw new RuntimeException("Invalid email or password");
+        }
 
-            User user = userRepository.findByEmail(email.toLowerCase())
-                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+        User user = userOptional.get();
+        if (!passwordHashingService.matches(password, user.getPassword())) {
+            throw new RuntimeException("Invalid email or password");
+        }
 
-            if (user.getRoles().contains("ROLE_MANAGER") && !user.isVerified()) {
-                throw new RuntimeException("Manager is not verified");
-            }
+        loginAttemptThrottle.recordSuccess(normalizedEmail);
 
-            return jwtUtils.generateTokenFromUsername(user.getUsername());
-        } catch (AuthenticationException e) {
-            throw new RuntimeException("Invalid email or password");
+        if (passwordHashingService.needsRehash(user.getPassword())) {
+            logger.info("Upgrading password hash work factor for user: {}", normalizedEmail);
+            user.setPassword(passwordHashingService.encode(password));
+            userRepository.save(user);
         }
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+
+        if (user.getRoles().contains("ROLE_MANAGER") && !user.isVerified()) {
+            throw new RuntimeException("Manager is not verified");
+        }
+
+        return jwtUtils.generateTokenFromUser(user);
     }
 
     /**
@@ -185,12 +203,13 @@ public class AuthService {
         logger.info("Retrieving authenticated user from request");
         String token = jwtUtils.getJwtFromCookies(request);
 
-        if (token == null || !jwtUtils.validateJwtToken(token, response)) {
+        Optional<Claims> claims = token != null ? jwtUtils.validateJwtToken(token, response) : Optional.empty();
+        if (claims.isEmpty()) {
             CookieUtils.clearJwtCookie(response);
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid or expired token");
         }
 
-        String email = jwtUtils.getUserNameFromJwtToken(token);
+        String email = claims.get().getSubject();
 
         Optional<User> userOptional = userRepository.findByEmail(email);
         if (userOptional.isEmpty()) {
@@ -219,7 +238,7 @@ public class AuthService {
     /**
      * Updates the password of the currently authenticated user.
      * @param passwordDTO DTO containing the current and new passwords.
-     * @param request The HTTP request containing JWT.
+     * @param request The HTTP request containing JWT, whose remote address is throttled.
      * @param response The HTTP response to clear cookies if needed.
      * @throws RuntimeException If user is OAuth2-based, password is incorrect, or token is invalid.
      */
@@ -227,12 +246,13 @@ public class AuthService {
         logger.info("Attempting to update password for authenticated user");
         String token = jwtUtils.getJwtFromCookies(request);
 
-        if (token == null || !jwtUtils.validateJwtToken(token, response)) {
+        Optional<Claims> claims = token != null ? jwtUtils.validateJwtToken(token, response) : Optional.empty();
+        if (claims.isEmpty()) {
             CookieUtils.clearJwtCookie(response);
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid or expired token");
         }
 
-        String email = jwtUtils.getUserNameFromJwtToken(token);
+        String email = claims.get().getSubject();
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
 
@@ -240,11 +260,14 @@ public class AuthService {
             throw new RuntimeException("OAuth2 users cannot change password via this method.");
         }
 
-        if (!passwordEncoder.matches(passwordDTO.getCurrentPassword(), user.getPassword())) {
+        loginAttemptThrottle.checkAndRecord(request.getRemoteAddr(), email);
+
+        if (!passwordHashingService.matches(passwordDTO.getCurrentPassword(), user.getPassword())) {
             throw new RuntimeException("Current password is incorrect");
         }
 
-        user.setPassword(passwordEncoder.encode(passwordDTO.getNewPassword()));
+        loginAttemptThrottle.recordSuccess(email);
+        user.setPassword(passwordHashingService.encode(passwordDTO.getNewPassword()));
         userRepository.save(user);
     }
 }
\ No newline at end of file
@@ -1,12 +1,13 @@
 package io.leedsk1y.reservault_backend.services;
 
-import io.leedsk1y.reservault_backend.models.entities.BookedDates;
 import io.leedsk1y.reservault_backend.models.entities.Booking;
 import io.leedsk1y.reservault_backend.models.enums.EBookingStatus;
 import io.leedsk1y.reservault_backend.models.enums.EPaymentStatus;
 import io.leedsk1y.reservault_backend.repositories.BookedDatesRepository;
 import io.leedsk1y.reservault_backend.repositories.BookingRepository;
 import io.leedsk1y.reservault_backend.repositories.PaymentRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -15,6 +16,7 @@ import org.springframework.stereotype.Service;
 import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class BookingCleanupService {
@@ -22,24 +24,29 @@ public class BookingCleanupService {
     private final BookingRepository bookingRepository;
     private final BookedDatesRepository bookedDatesRepository;
     private final PaymentRepository paymentRepository;
+    private final MeterRegistry meterRegistry;
 
     public BookingCleanupService(
             BookingRepository bookingRepository,
             BookedDatesRepository bookedDatesRepository,
-            PaymentRepository paymentRepository
+            PaymentRepository paymentRepository,
+            MeterRegistry meterRegistry
     ) {
         this.bookingRepository = bookingRepository;
         this.bookedDatesRepository = bookedDatesRepository;
         this.paymentRepository = paymentRepository;
+        this.meterRegistry = meterRegistry;
     }
 
     /**
      * Scheduled task that runs every 10 minutes to clean up expired bookings.
      * Marks associated pending payments as failed and deletes booked dates and booking records.
+     * The sweep duration and removed bookings are recorded under `reservault.cleanup.*`.
      */
     @Scheduled(fixedRate = 10 * 60 * 1000) // 10min
     public void cleanExpiredBookings() {
         logger.info("Running scheduled task: cleanExpiredBookings");
+        long start = System.nanoTime();
 
         List<Booking> expiredBookings = bookingRepository.findAll().stream()
                 .filter(b -> b.getStatus() == EBookingStatus.PENDING)
@@ -58,13 +65,16 @@ public class BookingCleanupService {
                 }
             });
 
-            bookedDatesRepository.findByOfferId(booking.getOfferId()).stream()
-                    .filter(bd -> bd.getDateFrom().equals(booking.getDateFrom()) &&
-                            bd.getDateUntil().equals(booking.getDateUntil()))
-                    .map(BookedDates::getId)
-                    .forEach(bookedDatesRepository::deleteById);
+            bookedDatesRepository.deleteByBookingId(booking.getId());
 
             bookingRepository.deleteById(booking.getId());
         }
+
+        Timer.builder("reservault.cleanup.duration")
+                .description("Duration of a cleanup sweep")
+                .tag("task", "expiredBookings")
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        meterRegistry.counter("reservault.cleanup.items", "task", "expiredBookings").increment(expiredBookings.size());
     }
 }
\ No newline at end of file
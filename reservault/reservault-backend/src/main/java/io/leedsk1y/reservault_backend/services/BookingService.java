@@ -10,12 +10,15 @@ import io.leedsk1y.reservault_backend.models.entities.Payment;
 import io.leedsk1y.reservault_backend.models.entities.User;
 import io.leedsk1y.reservault_backend.models.enums.EBookingStatus;
 import io.leedsk1y.reservault_backend.models.enums.EPaymentStatus;
+import io.leedsk1y.reservault_backend.monitoring.BookingReserveEvent;
 import io.leedsk1y.reservault_backend.repositories.BookedDatesRepository;
 import io.leedsk1y.reservault_backend.repositories.BookingRepository;
 import io.leedsk1y.reservault_backend.repositories.HotelRepository;
 import io.leedsk1y.reservault_backend.repositories.OfferRepository;
 import io.leedsk1y.reservault_backend.repositories.PaymentRepository;
 import io.leedsk1y.reservault_backend.repositories.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
@@ -28,8 +31,13 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class BookingService {
@@ -40,28 +48,63 @@ public class BookingService {
     private final BookedDatesRepository bookedDatesRepository;
     private final HotelRepository hotelRepository;
     private final PaymentRepository paymentRepository;
+    private final Map<String, Timer> createTimers; // by outcome
 
     public BookingService(BookingRepository bookingRepository,
                           OfferRepository offerRepository,
                           UserRepository userRepository,
                           BookedDatesRepository bookedDatesRepository,
                           HotelRepository hotelRepository,
-                          PaymentRepository paymentRepository) {
+                          PaymentRepository paymentRepository,
+                          MeterRegistry meterRegistry) {
         this.bookingRepository = bookingRepository;
         this.offerRepository = offerRepository;
         this.userRepository = userRepository;
         this.bookedDatesRepository = bookedDatesRepository;
         this.hotelRepository = hotelRepository;
         this.paymentRepository = paymentRepository;
+        this.createTimers = Stream.of("success", "conflict", "rejected", "error")
+                .collect(Collectors.toUnmodifiableMap(Function.identity(), outcome -> createTimer(meterRegistry, outcome)));
     }
 
     /**
      * Creates a new booking for an offer after validating date availability and range.
      * Also initializes a pending payment and records booked dates.
+     * The latency is recorded as `reservault.bookings.create` with the outcome
+     * success, conflict (dates already booked), rejected (other invalid requests) or error,
+     * and a BookingReserve JFR event is emitted with the nights and the conflict check time.
      * @param booking The booking entity to be created.
      * @return The saved booking with payment and booking IDs set.
      */
     public Booking createBooking(Booking booking) {
+        long start = System.nanoTime();
+        String outcome = "error";
+        BookingReserveEvent event = new BookingReserveEvent();
+        event.begin();
+        event.setOfferId(String.valueOf(booking.getOfferId()));
+        try {
+            Booking created = placeBooking(booking, event);
+            outcome = "success";
+            return created;
+        } catch (ResponseStatusException e) {
+            outcome = e.getStatusCode().isSameCodeAs(HttpStatus.CONFLICT) ? "conflict" : "rejected";
+            throw e;
+        } finally {
+            event.setOutcome(outcome);
+            event.commit();
+            createTimers.get(outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static Timer createTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("reservault.bookings.create")
+                .description("Booking creation latency")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private Booking placeBooking(Booking booking, BookingReserveEvent event) {
         logger.info("Creating booking for offerId: {}", booking.getOfferId());
         User user = getAuthenticatedUser();
 
@@ -96,16 +139,12 @@ public class BookingService {
                     "Booking must be within offer's availability range (" + offer.getDateFrom() + " to " + offer.getDateUntil() + ")");
         }
 
-        List<BookedDates> existingBookings = bookedDatesRepository.findByOfferId(booking.getOfferId());
-        for (BookedDates existing : existingBookings) {
-            if (existing.getDateFrom() == null || existing.getDateUntil() == null) continue;
-
-            LocalDate existingStart = LocalDate.parse(existing.getDateFrom(), formatter);
-            LocalDate existingEnd = LocalDate.parse(existing.getDateUntil(), formatter);
-
-            if (!(newEnd.isBefore(existingStart) || newStart.isAfter(existingEnd))) {
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Selected dates are already booked");
-            }
+        event.setNights(newEnd.toEpochDay() - newStart.toEpochDay() + 1); // billed like calculateTotalPrice
+        long checkStart = System.nanoTime();
+        try {
+            ensureDatesAvailable(booking.getOfferId(), newStart, newEnd);
+        } finally {
+            event.setConflictCheckTime(System.nanoTime() - checkStart);
         }
 
         BigDecimal totalPrice = calculateTotalPrice(newStart, newEnd, offer.getPricePerNight());
@@ -126,6 +165,29 @@ public class BookingService {
         return booking;
     }
 
+    /**
+     * Checks that a date range does not overlap any booked range of an offer.
+     * @param offerId UUID of the offer.
+     * @param start First day of the requested range.
+     * @param end Last day of the requested range.
+     * @throws ResponseStatusException 409 if the range overlaps an existing booking.
+     */
+    public void ensureDatesAvailable(UUID offerId, LocalDate start, LocalDate end) {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MM.dd.yyyy");
+
+        List<BookedDates> existingBookings = bookedDatesRepository.findByOfferId(offerId);
+        for (BookedDates existing : existingBookings) {
+            if (existing.getDateFrom() == null || existing.getDateUntil() == null) continue;
+
+            LocalDate existingStart = LocalDate.parse(existing.getDateFrom(), formatter);
+            LocalDate existingEnd = LocalDate.parse(existing.getDateUntil(), formatter);
+
+            if (!(end.isBefore(existingStart) || start.isAfter(existingEnd))) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Selected dates are already booked");
+            }
+        }
+    }
+
     /**
      * Calculates the total price for a booking based on duration and nightly rate.
      * @param startDate Booking start date.
@@ -226,10 +288,7 @@ public class BookingService {
         payment.setStatus(EPaymentStatus.FAILED);
         paymentRepository.save(payment);
 
-        bookedDatesRepository.findByOfferId(booking.getOfferId()).stream()
-                .filter(bd -> bd.getDateFrom().equals(booking.getDateFrom()) &&
-                        bd.getDateUntil().equals(booking.getDateUntil()))
-                .forEach(bd -> bookedDatesRepository.deleteById(bd.getId()));
+        bookedDatesRepository.deleteByBookingId(bookingId);
 
         bookingRepository.deleteById(bookingId);
         return true;
@@ -326,11 +385,8 @@ public class BookingService {
             paymentRepository.deleteById(booking.getPaymentId());
         }
 
-        bookedDatesRepository.findByOfferId(booking.getOfferId()).stream()
-                .filter(bd -> bd.getDateFrom().equals(booking.getDateFrom()) && bd.getDateUntil().equals(booking.getDateUntil()))
-                .map(BookedDates::getId)
-                .forEach(bookedDatesRepository::deleteById);
-        
+        bookedDatesRepository.deleteByBookingId(bookingId);
+
         bookingRepository.deleteById(bookingId);
 
         return true;
@@ -0,0 +1,290 @@
+package io.leedsk1y.reservault_backend.services;
+
+import io.leedsk1y.reservault_backend.dto.CascadeDeletionJobDTO;
+import io.leedsk1y.reservault_backend.models.entities.Booking;
+import io.leedsk1y.reservault_backend.models.entities.CascadeDeletionJob;
+import io.leedsk1y.reservault_backend.models.entities.Offer;
+import io.leedsk1y.reservault_backend.models.enums.ECascadeDeletionStatus;
+import io.leedsk1y.reservault_backend.repositories.BookedDatesRepository;
+import io.leedsk1y.reservault_backend.repositories.BookingRepository;
+import io.leedsk1y.reservault_backend.repositories.CascadeDeletionJobRepository;
+import io.leedsk1y.reservault_backend.repositories.OfferRepository;
+import io.leedsk1y.reservault_backend.repositories.PaymentRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@Service
+public class CascadeDeletionService {
+    private static final Logger logger = LoggerFactory.getLogger(CascadeDeletionService.class);
+    private static final long SHUTDOWN_WAIT_SECONDS = 5;
+    private static final String INTERRUPTED = "Interrupted before completion, delete the target again to resume";
+
+    private final OfferRepository offerRepository;
+    private final BookingRepository bookingRepository;
+    private final PaymentRepository paymentRepository;
+    private final BookedDatesRepository bookedDatesRepository;
+    private final ImageBlobService imageBlobService;
+    private final CascadeDeletionJobRepository cascadeDeletionJobRepository;
+    private final Map<UUID, CascadeDeletionJobDTO> jobs = new ConcurrentHashMap<>(); // background jobs running on this instance
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "cascade-deletion");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${spring.app.cascadeDeletion.batchSize:500}")
+    private int batchSize;
+
+    @Value("${spring.app.cascadeDeletion.backgroundThreshold:1000}")
+    private long backgroundThreshold;
+
+    @Value("${spring.app.cascadeDeletion.retentionMs:3600000}")
+    private long retentionMs;
+
+    @Value("${spring.app.cascadeDeletion.heartbeatTimeoutMs:600000}")
+    private long heartbeatTimeoutMs;
+
+    public CascadeDeletionService(OfferRepository offerRepository,
+                                  BookingRepository bookingRepository,
+                                  PaymentRepository paymentRepository,
+                                  BookedDatesRepository bookedDatesRepository,
+                                  ImageBlobService imageBlobService,
+                                  CascadeDeletionJobRepository cascadeDeletionJobRepository) {
+        this.offerRepository = offerRepository;
+        this.bookingRepository = bookingRepository;
+        this.paymentRepository = paymentRepository;
+        this.bookedDatesRepository = bookedDatesRepository;
+        this.imageBlobService = imageBlobService;
+        this.cascadeDeletionJobRepository = cascadeDeletionJobRepository;
+    }
+
+    /**
+     * Interrupts the background worker and saves the jobs it did not finish as FAILED,
+     * since no other instance will pick them up.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(SHUTDOWN_WAIT_SECONDS, TimeUnit.SECONDS); // an interrupted job may fail by itself
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        jobs.values().forEach(job -> finish(job, ECascadeDeletionStatus.FAILED, INTERRUPTED));
+    }
+
+    /**
+     * Runs a cascade deletion. Small cascades run in the calling thread and are completed on return;
+     * cascades touching more than `backgroundThreshold` bookings run in the background and can be
+     * followed with {@link #getJob(UUID)}. A background job runs on the instance that accepted it,
+     * but its progress is saved after every batch, so any instance can report it.
+     * Every step deletes children before parents and is safe to run again, so a failed job
+     * can be retried by deleting the target again.
+     * @param target Description of the deleted entity, for logs and the job status.
+     * @param bookings Number of bookings the cascade will delete.
+     * @param cascade The deletion steps, reporting progress to the job.
+     * @return The job, RUNNING if it was moved to the background.
+     */
+    public CascadeDeletionJobDTO submit(String target, long bookings, Consumer<CascadeDeletionJobDTO> cascade) {
+        CascadeDeletionJobDTO job = new CascadeDeletionJobDTO(target);
+
+        if (bookings <= backgroundThreshold) {
+            cascade.accept(job);
+            finish(job, ECascadeDeletionStatus.COMPLETED, null);
+            return job;
+        }
+
+        logger.info("Deleting {} in the background ({} bookings), job ID: {}", target, bookings, job.getId());
+        jobs.put(job.getId(), job);
+        save(job);
+        executor.execute(() -> {
+            try {
+                cascade.accept(job);
+                finish(job, ECascadeDeletionStatus.COMPLETED, null);
+            } catch (RuntimeException e) {
+                logger.error("Cascade deletion of {} failed: {}", target, e.getMessage(), e);
+                finish(job, ECascadeDeletionStatus.FAILED, e.getMessage());
+            }
+        });
+        return job;
+    }
+
+    /**
+     * Retrieves the progress of a background cascade deletion started on any instance.
+     * Finished jobs are kept for `retentionMs`. A running job whose progress was not saved
+     * for `heartbeatTimeoutMs` lost its instance and is marked FAILED.
+     * @param jobId UUID of the job.
+     * @return Optional containing the job, or empty if unknown or expired.
+     */
+    public Optional<CascadeDeletionJobDTO> getJob(UUID jobId) {
+        CascadeDeletionJobDTO running = jobs.get(jobId);
+        if (running != null) {
+            return Optional.of(running);
+        }
+
+        Instant now = Instant.now();
+        return cascadeDeletionJobRepository.findById(jobId)
+                .filter(job -> job.getExpiresAt() == null || job.getExpiresAt().isAfter(now))
+                .map(job -> {
+                    if (job.getStatus() == ECascadeDeletionStatus.RUNNING
+                            && job.getUpdatedAt().isBefore(now.minusMillis(heartbeatTimeoutMs))) {
+                        logger.warn("Cascade deletion of {} stopped reporting progress at {}, marking it failed",
+                                job.getTarget(), job.getUpdatedAt());
+                        job.setStatus(ECascadeDeletionStatus.FAILED);
+                        job.setError(INTERRUPTED);
+                        job.setFinishedAt(now);
+                        job.setExpiresAt(now.plusMillis(retentionMs));
+                        cascadeDeletionJobRepository.save(job);
+                    }
+                    return new CascadeDeletionJobDTO(job);
+                });
+    }
+
+    /**
+     * Counts the bookings of the given offers, to decide whether their deletion runs in the background.
+     * @param offers The offers, only their IDs are read.
+     * @return The number of bookings.
+     */
+    public long countOfferBookings(Stream<Offer> offers) {
+        List<UUID> offerIds;
+        try (offers) {
+            offerIds = offers.map(Offer::getId).toList();
+        }
+        return offerIds.isEmpty() ? 0 : bookingRepository.countByOfferIdIn(offerIds);
+    }
+
+    /**
+     * Deletes the given offers with their bookings, payments and booked dates, batch by batch,
+     * and releases their images.
+     * @param offers The offers, only their IDs and image URLs are read.
+     * @param job The job to report progress to.
+     */
+    public void deleteOffers(Stream<Offer> offers, CascadeDeletionJobDTO job) {
+        forEachBatch(offers, job, batch -> {
+            List<UUID> offerIds = batch.stream().map(Offer::getId).toList();
+
+            deleteBookings(bookingRepository.streamForDeletionByOfferIdIn(offerIds), job);
+            // booked dates of these offers left without a booking
+            job.getDeletedBookedDates().addAndGet(bookedDatesRepository.deleteByOfferIdIn(offerIds));
+            long deleted = job.getDeletedOffers().addAndGet(offerRepository.deleteByIdIn(offerIds));
+
+            imageBlobService.release(batch.stream()
+                    .map(Offer::getImagesUrls)
+                    .filter(Objects::nonNull)
+                    .flatMap(List::stream)
+                    .toList(), "offers_images");
+            logger.info("Cascade deletion of {}: {} offer(s) deleted", job.getTarget(), deleted);
+        });
+    }
+
+    /**
+     * Deletes the given bookings with their payments and booked dates, batch by batch.
+     * @param bookings The bookings, only their IDs and payment IDs are read.
+     * @param job The job to report progress to.
+     */
+    public void deleteBookings(Stream<Booking> bookings, CascadeDeletionJobDTO job) {
+        forEachBatch(bookings, job, batch -> {
+            List<UUID> bookingIds = batch.stream().map(Booking::getId).toList();
+            List<UUID> paymentIds = batch.stream().map(Booking::getPaymentId).filter(Objects::nonNull).toList();
+
+            job.getDeletedPayments().addAndGet(paymentRepository.deleteByIdInOrBookingIdIn(paymentIds, bookingIds));
+            job.getDeletedBookedDates().addAndGet(bookedDatesRepository.deleteByBookingIdIn(bookingIds));
+            long deleted = job.getDeletedBookings().addAndGet(bookingRepository.deleteByIdIn(bookingIds));
+
+            logger.info("Cascade deletion of {}: {} booking(s) deleted", job.getTarget(), deleted);
+        });
+    }
+
+    /**
+     * Applies the action batch by batch. The progress of a background job is saved after each batch.
+     */
+    private <T> void forEachBatch(Stream<T> documents, CascadeDeletionJobDTO job, Consumer<List<T>> action) {
+        try (documents) {
+            List<T> batch = new ArrayList<>(batchSize);
+            for (T document : (Iterable<T>) documents::iterator) {
+                batch.add(document);
+                if (batch.size() == batchSize) {
+                    action.accept(batch);
+                    checkpoint(job);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+
+            if (!batch.isEmpty()) {
+                action.accept(batch);
+                checkpoint(job);
+            }
+        }
+    }
+
+    private void checkpoint(CascadeDeletionJobDTO job) {
+        if (jobs.containsKey(job.getId())) {
+            save(job);
+        }
+    }
+
+    /**
+     * Completes a job unless it already finished, which happens when shutdown fails a job
+     * its worker is still finishing. Background jobs are saved with their expiry and leave this instance.
+     */
+    private void finish(CascadeDeletionJobDTO job, ECascadeDeletionStatus status, String error) {
+        synchronized (job) {
+            if (job.getStatus() != ECascadeDeletionStatus.RUNNING) {
+                return;
+            }
+            job.setError(error);
+            job.setFinishedAt(Instant.now());
+            job.setStatus(status);
+        }
+
+        if (jobs.containsKey(job.getId())) {
+            save(job);
+            jobs.remove(job.getId());
+        }
+        logger.info("Cascade deletion of {} {}: {} offer(s), {} booking(s), {} payment(s), {} booked date(s) deleted",
+                job.getTarget(), status, job.getDeletedOffers().get(), job.getDeletedBookings().get(),
+                job.getDeletedPayments().get(), job.getDeletedBookedDates().get());
+    }
+
+    /**
+     * Saves a snapshot of a background job. A failed save is only logged, the deletion itself goes on.
+     */
+    private void save(CascadeDeletionJobDTO job) {
+        CascadeDeletionJob snapshot = new CascadeDeletionJob();
+        snapshot.setId(job.getId());
+        snapshot.setTarget(job.getTarget());
+        snapshot.setStatus(job.getStatus());
+        snapshot.setDeletedOffers(job.getDeletedOffers().get());
+        snapshot.setDeletedBookings(job.getDeletedBookings().get());
+        snapshot.setDeletedPayments(job.getDeletedPayments().get());
+        snapshot.setDeletedBookedDates(job.getDeletedBookedDates().get());
+        snapshot.setStartedAt(job.getStartedAt());
+        snapshot.setUpdatedAt(Instant.now());
+        snapshot.setFinishedAt(job.getFinishedAt());
+        snapshot.setError(job.getError());
+        snapshot.setExpiresAt(job.getFinishedAt() != null ? job.getFinishedAt().plusMillis(retentionMs) : null);
+
+        try {
+            cascadeDeletionJobRepository.save(snapshot);
+        } catch (RuntimeException e) {
+            logger.warn("Could not save progress of cascade deletion job {}: {}", job.getId(), e.getMessage());
+        }
+    }
+}
@@ -1,21 +1,22 @@
 package io.leedsk1y.reservault_backend.services;
 
-import org.apache.tika.Tika;
 import com.cloudinary.Cloudinary;
 import com.cloudinary.utils.ObjectUtils;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
 import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 
 @Service
-public class CloudinaryService {
+@ConditionalOnProperty(name = "spring.app.imageStorage.type", havingValue = "cloudinary", matchIfMissing = true)
+public class CloudinaryService implements ImageStorage {
     private static final Logger logger = LoggerFactory.getLogger(CloudinaryService.class);
+    public static final int MAX_BULK_DELETE = 100; // limit of public IDs per Admin API delete call
     private Cloudinary cloudinary;
 
     public CloudinaryService(Cloudinary cloudinary) {
@@ -23,56 +24,17 @@ public class CloudinaryService {
     }
 
     /**
-     * Validates the uploaded file's size and format.
-     * Only PNG and JPG files under 1.5MB are allowed.
-     * @param file The file to validate (MultipartFile or File).
-     * @throws IOException If the file cannot be read or is invalid.
-     * @throws IllegalArgumentException If the file exceeds size limit or has an unsupported format.
-     */
-    private void validateFile(Object file) throws IOException {
-        logger.debug("Validating file size and format");
-        long maxSize = 1_500_000; // 1.5mb
-
-        long fileSize = (file instanceof MultipartFile) ? ((MultipartFile) file).getSize() : ((File) file).length();
-        if (fileSize > maxSize) {
-            throw new IllegalArgumentException("File size exceeds the 1.5 MB limit.");
-        }
-
-        Tika tika = new Tika();
-        String mimeType = (file instanceof MultipartFile)
-                ? tika.detect(((MultipartFile) file).getInputStream())
-                : tika.detect((File) file);
-
-        if (!"image/png".equals(mimeType) && !"image/jpeg".equals(mimeType)) {
-            throw new IllegalArgumentException("Invalid file format. Only PNG and JPG are allowed.");
-        }
-    }
-
-    /**
-     * Uploads an image from a MultipartFile to a specific Cloudinary folder.
-     * @param file The image file to upload.
-     * @param folder The destination folder in Cloudinary.
-     * @return The secure URL of the uploaded image.
-     * @throws IOException If upload or validation fails.
-     */
-    public String uploadImage(MultipartFile file, String folder) throws IOException {
-        logger.info("Uploading image from MultipartFile to folder: {}", folder);
-        validateFile(file);
-        Map uploadResult = cloudinary.uploader().upload(file.getBytes(), ObjectUtils.asMap("folder", folder));
-        return uploadResult.get("secure_url").toString();
-    }
-
-    /**
-     * Uploads an image from a File to a specific Cloudinary folder.
-     * @param file The image file to upload.
+     * Uploads an already normalized image to a specific Cloudinary folder.
+     * @param content The image content.
+     * @param mimeType The MIME type of the content, detected again by Cloudinary.
      * @param folder The destination folder in Cloudinary.
      * @return The secure URL of the uploaded image.
-     * @throws IOException If upload or validation fails.
+     * @throws IOException If upload fails.
      */
-    public String uploadImage(File file, String folder) throws IOException {
-        logger.info("Uploading image from File to folder: {}", folder);
-        validateFile(file);
-        Map uploadResult = cloudinary.uploader().upload(file, ObjectUtils.asMap("folder", folder));
+    @Override
+    public String storeImage(byte[] content, String mimeType, String folder) throws IOException {
+        logger.info("Uploading {} bytes to Cloudinary folder: {}", content.length, folder);
+        Map uploadResult = cloudinary.uploader().upload(content, ObjectUtils.asMap("folder", folder));
         return uploadResult.get("secure_url").toString();
     }
 
@@ -82,6 +44,7 @@ public class CloudinaryService {
      * @param folder The folder in which the image was uploaded.
      * @throws RuntimeException If deletion fails.
      */
+    @Override
     public void deleteImage(String imageUrl, String folder) {
         logger.info("Deleting image from Cloudinary with URL: {} in folder: {}", imageUrl, folder);
         try {
@@ -92,6 +55,28 @@ public class CloudinaryService {
         }
     }
 
+    /**
+     * Deletes images in bulk through the Admin API, up to 100 public IDs per call.
+     * Images that no longer exist are reported as "not_found" by Cloudinary and treated as deleted.
+     * @param imageUrls The full URLs of the images.
+     * @param folder The folder in which the images were uploaded.
+     * @throws RuntimeException If a bulk deletion call fails.
+     */
+    @Override
+    public void deleteImages(List<String> imageUrls, String folder) {
+        List<String> publicIds = imageUrls.stream().map(imageUrl -> extractPublicId(imageUrl, folder)).toList();
+
+        for (int from = 0; from < publicIds.size(); from += MAX_BULK_DELETE) {
+            List<String> chunk = publicIds.subList(from, Math.min(from + MAX_BULK_DELETE, publicIds.size()));
+            logger.info("Deleting {} image(s) from Cloudinary folder: {}", chunk.size(), folder);
+            try {
+                cloudinary.api().deleteResources(chunk, ObjectUtils.emptyMap());
+            } catch (Exception e) {
+                throw new RuntimeException("Failed to delete images: " + e.getMessage());
+            }
+        }
+    }
+
     /**
      * Extracts the public ID of the image from its URL for deletion purposes.
      * @param imageUrl The full Cloudinary URL of the image.
@@ -0,0 +1,107 @@
+package io.leedsk1y.reservault_backend.services;
+
+import io.leedsk1y.reservault_backend.monitoring.BookingReserveEvent;
+import io.leedsk1y.reservault_backend.monitoring.ImageUploadEvent;
+import io.leedsk1y.reservault_backend.monitoring.OfferSearchEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+
+@Service
+public class FlightRecordingService {
+    private static final Logger logger = LoggerFactory.getLogger(FlightRecordingService.class);
+
+    @Value("${spring.app.flightRecorder.enabled:true}")
+    private boolean enabled;
+
+    @Value("${spring.app.flightRecorder.settings:default}")
+    private String settings;
+
+    @Value("${spring.app.flightRecorder.maxAgeSeconds:900}")
+    private long maxAgeSeconds;
+
+    @Value("${spring.app.flightRecorder.maxSizeBytes:67108864}")
+    private long maxSizeBytes;
+
+    private volatile Recording recording;
+
+    /**
+     * Starts a continuous recording of the JVM and the ReserVault events, bounded by
+     * `spring.app.flightRecorder.maxAgeSeconds` and `maxSizeBytes`, so recent activity can be dumped
+     * after a latency spike without attaching a profiler. The `default` settings keep the overhead
+     * around one percent.
+     */
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        if (!FlightRecorder.isAvailable()) {
+            logger.warn("Java Flight Recorder is not available, continuous recording disabled");
+            return;
+        }
+
+        try {
+            Recording continuous = new Recording(Configuration.getConfiguration(settings));
+            continuous.setName("reservault-continuous");
+            continuous.setMaxAge(Duration.ofSeconds(maxAgeSeconds));
+            continuous.setMaxSize(maxSizeBytes);
+            continuous.setToDisk(true);
+            continuous.enable(OfferSearchEvent.class);
+            continuous.enable(BookingReserveEvent.class);
+            continuous.enable(ImageUploadEvent.class);
+            continuous.start();
+            recording = continuous;
+            logger.info("Started continuous flight recording ({} settings, last {}s, at most {} bytes)",
+                    settings, maxAgeSeconds, maxSizeBytes);
+        } catch (IOException | ParseException e) {
+            logger.warn("Could not start flight recording with settings '{}': {}", settings, e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the continuous recording to a temporary file.
+     * @return The .jfr file, to be deleted by the caller once sent.
+     * @throws ResponseStatusException 503 if no recording is running.
+     * @throws IOException If the file cannot be written.
+     */
+    public Path dump() throws IOException {
+        Recording current = recording;
+        if (current == null) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Flight recording is not running");
+        }
+
+        Path file = Files.createTempFile("reservault-", ".jfr");
+        try {
+            current.dump(file);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        logger.info("Dumped flight recording to {} ({} bytes)", file, Files.size(file));
+        return file;
+    }
+
+    @PreDestroy
+    public void stop() {
+        Recording current = recording;
+        recording = null;
+        if (current != null) {
+            current.close();
+        }
+    }
+}
@@ -1,17 +1,22 @@
 package io.leedsk1y.reservault_backend.services;
 
+import io.leedsk1y.reservault_backend.dto.CascadeDeletionJobDTO;
 import io.leedsk1y.reservault_backend.models.entities.Hotel;
-import io.leedsk1y.reservault_backend.models.entities.Offer;
+import io.leedsk1y.reservault_backend.models.entities.ImageVariants;
 import io.leedsk1y.reservault_backend.repositories.HotelManagerRepository;
 import io.leedsk1y.reservault_backend.repositories.HotelRepository;
 import io.leedsk1y.reservault_backend.repositories.OfferRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.io.IOException;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -20,21 +25,24 @@ import java.util.UUID;
 public class HotelService {
     private static final Logger logger = LoggerFactory.getLogger(HotelService.class);
     private final HotelRepository hotelRepository;
-    private final CloudinaryService cloudinaryService;
-    private final OfferRepository offerRepository;
-    private final OfferService offerService;
+    private final ImageUploadService imageUploadService;
+    private final ImageBlobService imageBlobService;
+    private final CascadeDeletionService cascadeDeletionService;
     private final HotelManagerRepository hotelManagerRepository;
+    private final OfferRepository offerRepository;
 
     public HotelService(HotelRepository hotelRepository,
-                        CloudinaryService cloudinaryService,
-                        OfferRepository offerRepository,
-                        OfferService offerService,
-                        HotelManagerRepository hotelManagerRepository) {
+                        ImageUploadService imageUploadService,
+                        ImageBlobService imageBlobService,
+                        CascadeDeletionService cascadeDeletionService,
+                        HotelManagerRepository hotelManagerRepository,
+                        OfferRepository offerRepository) {
         this.hotelRepository = hotelRepository;
-        this.cloudinaryService = cloudinaryService;
-        this.offerRepository = offerRepository;
-        this.offerService = offerService;
+        this.imageUploadService = imageUploadService;
+        this.imageBlobService = imageBlobService;
+        this.cascadeDeletionService = cascadeDeletionService;
         this.hotelManagerRepository = hotelManagerRepository;
+        this.offerRepository = offerRepository;
     }
 
     /**
@@ -63,18 +71,18 @@ public class HotelService {
             throw new IllegalArgumentException("At least one image is required to create a hotel.");
         }
 
-        for (MultipartFile image : images) {
-            String imageUrl = cloudinaryService.uploadImage(image, "hotels_images");
-            hotel.getImagesUrls().add(imageUrl);
-        }
+        List<ImageVariants> uploaded = imageUploadService.uploadImages(images, "hotels_images");
+        uploaded.forEach(image -> hotel.getImagesUrls().add(image.getUrl()));
+        hotel.getImageVariants().addAll(uploaded);
 
         hotel.setId(UUID.randomUUID());
         hotel.setCreatedAt(Instant.now());
-        return hotelRepository.save(hotel);
+        return save(hotel, uploaded);
     }
 
     /**
      * Updates an existing hotel with new details and optionally new images.
+     * The given imagesUrls may only reorder or drop the hotel's images; dropped images are released.
      * @param id UUID of the hotel to update.
      * @param updatedHotel The updated hotel information.
      * @param newImages Optional list of new images to add.
@@ -84,15 +92,23 @@ public class HotelService {
         logger.info("Updating hotel with ID: {}", id);
         return hotelRepository.findById(id).map(existingHotel -> {
             try {
+                List<String> droppedImages = List.of();
                 if (updatedHotel.getImagesUrls() != null && !updatedHotel.getImagesUrls().isEmpty()) {
-                    existingHotel.setImagesUrls(updatedHotel.getImagesUrls());
+                    droppedImages = imageBlobService.droppedImages(existingHotel.getImagesUrls(), updatedHotel.getImagesUrls());
+                    existingHotel.setImagesUrls(new ArrayList<>(updatedHotel.getImagesUrls()));
+                    if (existingHotel.getImageVariants() != null) {
+                        existingHotel.getImageVariants().removeIf(image -> !existingHotel.getImagesUrls().contains(image.getUrl()));
+                    }
                 }
 
+                List<ImageVariants> uploaded = List.of();
                 if (newImages != null && !newImages.isEmpty()) {
-                    for (MultipartFile image : newImages) {
-                        String imageUrl = cloudinaryService.uploadImage(image, "hotels_images");
-                        existingHotel.getImagesUrls().add(imageUrl);
+                    uploaded = imageUploadService.uploadImages(newImages, "hotels_images");
+                    uploaded.forEach(image -> existingHotel.getImagesUrls().add(image.getUrl()));
+                    if (existingHotel.getImageVariants() == null) {
+                        existingHotel.setImageVariants(new ArrayList<>());
                     }
+                    existingHotel.getImageVariants().addAll(uploaded);
                 }
 
                 existingHotel.setName(updatedHotel.getName());
@@ -100,7 +116,9 @@ public class HotelService {
                 existingHotel.setStars(updatedHotel.getStars());
                 existingHotel.setLocation(updatedHotel.getLocation());
 
-                return hotelRepository.save(existingHotel);
+                Hotel saved = save(existingHotel, uploaded);
+                imageBlobService.release(droppedImages, "hotels_images");
+                return saved;
             } catch (IOException e) {
                 throw new RuntimeException("Error uploading images: " + e.getMessage());
             }
@@ -109,37 +127,35 @@ public class HotelService {
 
     /**
      * Deletes a hotel by its ID, including related hotel-manager relations, offers, and images.
+     * Offers and their bookings are deleted in batches, in the background for large hotels.
      * @param id UUID of the hotel to delete.
-     * @return True if deletion was successful, false if hotel not found.
+     * @return Optional containing the deletion job, or empty if hotel not found.
      */
-    public boolean deleteHotel(UUID id) {
+    public Optional<CascadeDeletionJobDTO> deleteHotel(UUID id) {
         logger.info("Deleting hotel with ID: {}", id);
         Optional<Hotel> hotelOptional = hotelRepository.findById(id);
         if (hotelOptional.isEmpty()) {
-            return false;
+            return Optional.empty();
         }
 
         Hotel hotel = hotelOptional.get();
         String hotelIdentifier = hotel.getIdentifier();
+        long bookings = cascadeDeletionService.countOfferBookings(
+                offerRepository.streamForDeletionByHotelIdentifier(hotelIdentifier));
 
-        // 1. delete hotelmanager
-        hotelManagerRepository.deleteByHotelIdentifier(hotelIdentifier);
+        return Optional.of(cascadeDeletionService.submit("hotel " + id, bookings, job -> {
+            // 1. delete hotelmanager, so no new offers are created meanwhile
+            hotelManagerRepository.deleteByHotelIdentifier(hotelIdentifier);
 
-        // 2. delete offers
-        List<Offer> offers = offerRepository.findByHotelIdentifier(hotelIdentifier);
-        for (Offer offer : offers) {
-            offerService.deleteOffer(offer.getId(), null);
-        }
+            // 2. delete offers with their bookings, payments and booked dates
+            cascadeDeletionService.deleteOffers(offerRepository.streamForDeletionByHotelIdentifier(hotelIdentifier), job);
 
-        // 3. delete hotel images
-        for (String imageUrl : hotel.getImagesUrls()) {
-            cloudinaryService.deleteImage(imageUrl, "hotels_images");
-        }
-
-        // 4. delete hotel
-        hotelRepository.deleteById(id);
+            // 3. delete hotel
+            hotelRepository.deleteById(id);
 
-        return true;
+            // 4. release hotel images, unreferenced ones are deleted in the background
+            imageBlobService.release(hotel.getImagesUrls(), "hotels_images");
+        }));
     }
 
     /**
@@ -156,16 +172,31 @@ public class HotelService {
             Hotel hotel = hotelOptional.get();
 
             if (hotel.getImagesUrls().contains(imageUrl)) {
-                cloudinaryService.deleteImage(imageUrl, "hotels_images");
-
                 hotel.getImagesUrls().remove(imageUrl);
-                hotelRepository.save(hotel);
+                if (hotel.getImageVariants() != null) {
+                    hotel.getImageVariants().removeIf(image -> image.getUrl().equals(imageUrl));
+                }
+                save(hotel);
+                imageBlobService.release(List.of(imageUrl), "hotels_images");
                 return true;
             }
         }
         return false;
     }
 
+    /**
+     * Computes the entity tag of a hotel from its ID and version, read with a projection,
+     * so a conditional request is answered without loading the hotel.
+     * The ID keeps a hotel recreated under the same identifier from matching the tag of the old one.
+     * The tag is weak, as Tomcat does not compress responses with strong ones.
+     * @param identifier The unique identifier of the hotel.
+     * @return The entity tag, or empty if the hotel does not exist.
+     */
+    public Optional<String> getHotelEtag(String identifier) {
+        return hotelRepository.findVersionByIdentifier(identifier)
+                .map(hotel -> "W/\"" + hotel.getId() + "." + hotel.getVersion() + "\"");
+    }
+
     /**
      * Retrieves a hotel using its unique identifier.
      * @param identifier The unique identifier of the hotel.
@@ -175,4 +206,31 @@ public class HotelService {
         logger.info("Fetching hotel by identifier: {}", identifier);
         return hotelRepository.findByIdentifier(identifier);
     }
+
+    /**
+     * Saves a hotel read earlier in the request.
+     * @param hotel The hotel to save.
+     * @return The saved hotel with its new version.
+     * @throws ResponseStatusException 409 if another request changed the hotel meanwhile.
+     */
+    private Hotel save(Hotel hotel) {
+        try {
+            return hotelRepository.save(hotel);
+        } catch (OptimisticLockingFailureException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Hotel was changed by another request, please reload it");
+        }
+    }
+
+    /**
+     * Saves a hotel whose new images are already uploaded and acquired, releasing them if the save fails,
+     * e.g. with 409 after a concurrent update, so their references do not leak.
+     */
+    private Hotel save(Hotel hotel, List<ImageVariants> uploaded) {
+        try {
+            return save(hotel);
+        } catch (RuntimeException e) {
+            imageBlobService.release(uploaded.stream().map(ImageVariants::getUrl).toList(), "hotels_images");
+            throw e;
+        }
+    }
 }
@@ -0,0 +1,249 @@
+package io.leedsk1y.reservault_backend.services;
+
+import io.leedsk1y.reservault_backend.models.entities.ImageBlob;
+import io.leedsk1y.reservault_backend.models.entities.ImageVariants;
+import io.leedsk1y.reservault_backend.monitoring.ImageUploadEvent;
+import io.leedsk1y.reservault_backend.repositories.ImageBlobRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+public class ImageBlobService {
+    private static final Logger logger = LoggerFactory.getLogger(ImageBlobService.class);
+    private static final int MAX_ACQUIRE_ATTEMPTS = 3;
+
+    private final ImageBlobRepository imageBlobRepository;
+    private final ImageStorage imageStorage;
+    private final ImageNormalizationService imageNormalizationService;
+    private final ImageDeletionQueueService imageDeletionQueueService;
+    private final Map<String, Timer> uploadTimers; // by outcome
+    private final Map<String, DistributionSummary> uploadBytes; // by outcome
+
+    public ImageBlobService(ImageBlobRepository imageBlobRepository,
+                            ImageStorage imageStorage,
+                            ImageNormalizationService imageNormalizationService,
+                            ImageDeletionQueueService imageDeletionQueueService,
+                            MeterRegistry meterRegistry) {
+        this.imageBlobRepository = imageBlobRepository;
+        this.imageStorage = imageStorage;
+        this.imageNormalizationService = imageNormalizationService;
+        this.imageDeletionQueueService = imageDeletionQueueService;
+        this.uploadTimers = Stream.of("stored", "reused", "failed")
+                .collect(Collectors.toUnmodifiableMap(Function.identity(), outcome -> uploadTimer(meterRegistry, outcome)));
+        this.uploadBytes = Stream.of("stored", "reused", "failed")
+                .collect(Collectors.toUnmodifiableMap(Function.identity(), outcome -> uploadBytes(meterRegistry, outcome)));
+    }
+
+    /**
+     * Stores an uploaded image, reusing an identical image already stored in the same folder.
+     * The file is hashed with SHA-256 while it is read.
+     * @param file The uploaded image.
+     * @param folder The destination folder.
+     * @return The URLs of the stored image and its variants, holding one reference.
+     * @throws IOException If the file cannot be read or stored.
+     */
+    public ImageVariants acquire(MultipartFile file, String folder) throws IOException {
+        MessageDigest digest = sha256();
+        byte[] content;
+        try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+            content = in.readAllBytes();
+        }
+        return acquire(content, HexFormat.of().formatHex(digest.digest()), folder);
+    }
+
+    /**
+     * Stores an image, reusing an identical image already stored in the same folder.
+     * @param content The image content.
+     * @param folder The destination folder.
+     * @return The URLs of the stored image and its variants, holding one reference.
+     * @throws IOException If the image cannot be stored.
+     */
+    public ImageVariants acquire(byte[] content, String folder) throws IOException {
+        return acquire(content, HexFormat.of().formatHex(sha256().digest(content)), folder);
+    }
+
+    /**
+     * If a blob with the hash exists, its reference count is incremented and its URLs returned
+     * without normalizing or uploading again. Otherwise the image is normalized, stored with its
+     * variants and registered as a new blob.
+     * The latency and uploaded bytes are recorded as `reservault.images.upload` and
+     * `reservault.images.upload.bytes`, tagged with the outcome stored, reused or failed,
+     * and emitted as an ImageUpload JFR event.
+     */
+    private ImageVariants acquire(byte[] content, String hash, String folder) throws IOException {
+        String id = folder + ":" + hash;
+        long start = System.nanoTime();
+        String outcome = "failed";
+        ImageUploadEvent event = new ImageUploadEvent();
+        event.begin();
+
+        try {
+            for (int attempt = 0; attempt < MAX_ACQUIRE_ATTEMPTS; attempt++) {
+                Optional<ImageVariants> existing = incrementLive(id);
+                if (existing.isPresent()) {
+                    logger.info("Reusing stored image {} for duplicate upload to folder: {}", existing.get().getUrl(), folder);
+                    outcome = "reused";
+                    return existing.get();
+                }
+
+                ImageVariants variants = store(imageNormalizationService.normalize(content), folder);
+                try {
+                    imageBlobRepository.insert(new ImageBlob(id, folder, variants.getUrl(), variants, 1, Instant.now()));
+                    outcome = "stored";
+                    return variants;
+                } catch (DuplicateKeyException e) {
+                    // the same image was stored concurrently, or its last reference is being released: retry on that blob
+                    imageDeletionQueueService.enqueue(urlsOf(variants), folder);
+                }
+            }
+            throw new IOException("Could not store image, it is being updated concurrently");
+        } finally {
+            event.setFolder(folder);
+            event.setBytes(content.length);
+            event.setOutcome(outcome);
+            event.commit();
+            uploadTimers.get(outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            uploadBytes.get(outcome).record(content.length);
+        }
+    }
+
+    private static Timer uploadTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("reservault.images.upload")
+                .description("Image upload latency including normalization and storage")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static DistributionSummary uploadBytes(MeterRegistry meterRegistry, String outcome) {
+        return DistributionSummary.builder("reservault.images.upload.bytes")
+                .description("Size of uploaded images before normalization")
+                .baseUnit("bytes")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Stores the full image and its variants. Sizes the image does not exceed reuse the full image URL.
+     * If storing a variant fails, the images already stored are queued for deletion.
+     */
+    private ImageVariants store(ImageNormalizationService.NormalizedImages images, String folder) throws IOException {
+        ImageNormalizationService.NormalizedImage full = images.full();
+        String url = imageStorage.storeImage(full.bytes(), full.mimeType(), folder);
+        ImageVariants variants = ImageVariants.fullSizeOnly(url);
+
+        try {
+            if (images.medium() != null) {
+                variants.setMediumUrl(imageStorage.storeImage(images.medium().bytes(), images.medium().mimeType(), folder));
+            }
+            variants.setSmallUrl(images.small() != null
+                    ? imageStorage.storeImage(images.small().bytes(), images.small().mimeType(), folder)
+                    : variants.getMediumUrl());
+        } catch (IOException | RuntimeException e) {
+            imageDeletionQueueService.enqueue(urlsOf(variants), folder);
+            throw e;
+        }
+
+        logger.info("Stored image {} in folder: {} ({} bytes saved by normalization)", url, folder, full.bytesSaved());
+        return variants;
+    }
+
+    /**
+     * Checks a new order of the images an offer or hotel already holds references to. Owners may reorder
+     * and drop their images but not adopt URLs they never acquired, whose reference they would later
+     * release on behalf of another owner, possibly deleting an image still in use.
+     * @param ownedUrls The URLs the owner currently holds.
+     * @param requestedUrls The URLs in their new order.
+     * @return The owned URLs left out, to be released once the owner is saved.
+     * @throws IllegalArgumentException If a requested URL is not owned or listed twice.
+     */
+    public List<String> droppedImages(Collection<String> ownedUrls, List<String> requestedUrls) {
+        Set<String> requested = new LinkedHashSet<>();
+        for (String url : requestedUrls) {
+            if (!ownedUrls.contains(url)) {
+                throw new IllegalArgumentException("Image URL does not belong to this listing: " + url);
+            }
+            if (!requested.add(url)) {
+                throw new IllegalArgumentException("Image URL listed twice: " + url);
+            }
+        }
+        return ownedUrls.stream().filter(url -> !requested.contains(url)).distinct().toList();
+    }
+
+    /**
+     * Releases one reference to each image. Images whose last reference is released are queued for deletion
+     * together with their variants.
+     * Images stored before deduplication have no blob and are queued for deletion directly.
+     * @param imageUrls The URLs of the images to release.
+     * @param folder The folder the images were stored in.
+     */
+    public void release(Collection<String> imageUrls, String folder) {
+        if (imageUrls == null || imageUrls.isEmpty()) {
+            return;
+        }
+
+        Set<String> unreferenced = new LinkedHashSet<>();
+        for (String imageUrl : imageUrls) {
+            ImageBlob blob = imageBlobRepository.decrementRefCountByUrl(imageUrl).orElse(null);
+
+            if (blob == null) {
+                if (imageBlobRepository.findByUrl(imageUrl).isEmpty()) {
+                    unreferenced.add(imageUrl); // legacy image without a blob
+                }
+            } else if (blob.getRefCount() <= 0 && imageBlobRepository.deleteIfUnreferenced(blob.getId())) {
+                unreferenced.addAll(blob.getVariants() != null ? urlsOf(blob.getVariants()) : List.of(imageUrl));
+            }
+        }
+
+        imageDeletionQueueService.enqueue(unreferenced, folder);
+    }
+
+    /**
+     * Takes a reference on a blob that still has at least one. Blobs at zero are about to be removed
+     * and must not be revived, otherwise the returned URL could be deleted under the new owner.
+     */
+    private Optional<ImageVariants> incrementLive(String id) {
+        return imageBlobRepository.incrementLiveRefCount(id)
+                .map(found -> found.getVariants() != null ? found.getVariants() : ImageVariants.fullSizeOnly(found.getUrl()));
+    }
+
+    private static Set<String> urlsOf(ImageVariants variants) {
+        Set<String> urls = new LinkedHashSet<>();
+        urls.add(variants.getUrl());
+        urls.add(variants.getMediumUrl());
+        urls.add(variants.getSmallUrl());
+        return urls;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
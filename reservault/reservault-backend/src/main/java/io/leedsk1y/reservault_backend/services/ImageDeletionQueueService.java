@@ -0,0 +1,156 @@
+package io.leedsk1y.reservault_backend.services;
+
+import io.leedsk1y.reservault_backend.models.entities.ImageDeletionTask;
+import io.leedsk1y.reservault_backend.models.enums.EImageDeletionStatus;
+import io.leedsk1y.reservault_backend.repositories.ImageDeletionTaskRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@Service
+public class ImageDeletionQueueService {
+    private static final Logger logger = LoggerFactory.getLogger(ImageDeletionQueueService.class);
+
+    private final ImageDeletionTaskRepository imageDeletionTaskRepository;
+    private final ImageStorage imageStorage;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${spring.app.imageDeletion.batchSize:100}")
+    private int batchSize;
+
+    @Value("${spring.app.imageDeletion.leaseMs:60000}")
+    private long leaseMs;
+
+    @Value("${spring.app.imageDeletion.backoffBaseMs:10000}")
+    private long backoffBaseMs;
+
+    @Value("${spring.app.imageDeletion.backoffMaxMs:3600000}")
+    private long backoffMaxMs;
+
+    @Value("${spring.app.imageDeletion.maxAttempts:10}")
+    private int maxAttempts;
+
+    public ImageDeletionQueueService(ImageDeletionTaskRepository imageDeletionTaskRepository,
+                                     ImageStorage imageStorage,
+                                     MeterRegistry meterRegistry) {
+        this.imageDeletionTaskRepository = imageDeletionTaskRepository;
+        this.imageStorage = imageStorage;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Registers the queue gauges.
+     */
+    @PostConstruct
+    public void init() {
+        Gauge.builder("reservault.images.deletion.queue", imageDeletionTaskRepository,
+                        repository -> repository.countByStatus(EImageDeletionStatus.PENDING))
+                .description("Image deletions waiting to be processed")
+                .register(meterRegistry);
+        Gauge.builder("reservault.images.deletion.dead", imageDeletionTaskRepository,
+                        repository -> repository.countByStatus(EImageDeletionStatus.DEAD))
+                .description("Image deletions that exhausted their retries")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues images for deletion from the image storage. Only a database write happens here;
+     * the remote deletion is done by the background worker.
+     * @param imageUrls The URLs of the images to delete.
+     * @param folder The folder the images were stored in.
+     */
+    public void enqueue(Collection<String> imageUrls, String folder) {
+        if (imageUrls == null || imageUrls.isEmpty()) {
+            return;
+        }
+
+        logger.info("Queueing {} image(s) for deletion from folder: {}", imageUrls.size(), folder);
+        imageDeletionTaskRepository.saveAll(imageUrls.stream()
+                .map(imageUrl -> new ImageDeletionTask(imageUrl, folder))
+                .toList());
+    }
+
+    /**
+     * Drains due tasks in batches. Each task is claimed with a conditional update that moves
+     * its next attempt past the lease, so several instances can run the worker without deleting twice.
+     * Claimed tasks are deleted per folder through the bulk API of the storage backend.
+     * The sweep duration and claimed tasks are recorded under `reservault.cleanup.*`.
+     */
+    @Scheduled(fixedDelayString = "${spring.app.imageDeletion.pollMs:5000}")
+    public void processQueue() {
+        long start = System.nanoTime();
+        long claimedTotal = 0;
+        List<ImageDeletionTask> due;
+        do {
+            Instant now = Instant.now();
+            due = imageDeletionTaskRepository.findByStatusAndNextAttemptAtLessThanEqual(
+                    EImageDeletionStatus.PENDING, now, PageRequest.of(0, batchSize, Sort.by("nextAttemptAt")));
+
+            List<ImageDeletionTask> claimed = due.stream()
+                    .filter(task -> imageDeletionTaskRepository.claim(task.getId(), task.getNextAttemptAt(), now.plusMillis(leaseMs)))
+                    .toList();
+            Map<String, List<ImageDeletionTask>> byFolder = claimed.stream()
+                    .collect(Collectors.groupingBy(ImageDeletionTask::getFolder));
+            byFolder.forEach(this::deleteBatch);
+            claimedTotal += claimed.size();
+        } while (due.size() == batchSize);
+
+        Timer.builder("reservault.cleanup.duration")
+                .description("Duration of a cleanup sweep")
+                .tag("task", "imageDeletion")
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        meterRegistry.counter("reservault.cleanup.items", "task", "imageDeletion").increment(claimedTotal);
+    }
+
+    private void deleteBatch(String folder, List<ImageDeletionTask> tasks) {
+        try {
+            imageStorage.deleteImages(tasks.stream().map(ImageDeletionTask::getImageUrl).toList(), folder);
+            imageDeletionTaskRepository.deleteAll(tasks);
+            meterRegistry.counter("reservault.images.deletion.processed", "result", "deleted").increment(tasks.size());
+            logger.info("Deleted {} queued image(s) from folder: {}", tasks.size(), folder);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to delete {} queued image(s) from folder {}: {}", tasks.size(), folder, e.getMessage());
+            tasks.forEach(task -> scheduleRetry(task, e.getMessage()));
+        }
+    }
+
+    /**
+     * Schedules the next attempt with exponential backoff and jitter,
+     * or dead-letters the task once it has used up its attempts.
+     */
+    private void scheduleRetry(ImageDeletionTask task, String error) {
+        int attempts = task.getAttempts() + 1;
+        task.setAttempts(attempts);
+        task.setLastError(error);
+
+        if (attempts >= maxAttempts) {
+            task.setStatus(EImageDeletionStatus.DEAD);
+            meterRegistry.counter("reservault.images.deletion.processed", "result", "dead").increment();
+            logger.error("Giving up deleting image {} after {} attempts: {}", task.getImageUrl(), attempts, error);
+        } else {
+            long delay = Math.min(backoffMaxMs, backoffBaseMs << Math.min(attempts - 1, 30));
+            delay += ThreadLocalRandom.current().nextLong(delay / 4 + 1); // spread retries of one failed batch
+            task.setNextAttemptAt(Instant.now().plusMillis(delay));
+            meterRegistry.counter("reservault.images.deletion.processed", "result", "retry").increment();
+        }
+
+        imageDeletionTaskRepository.save(task);
+    }
+}
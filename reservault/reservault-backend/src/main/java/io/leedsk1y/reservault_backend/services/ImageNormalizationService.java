@@ -0,0 +1,308 @@
+package io.leedsk1y.reservault_backend.services;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.tika.Tika;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Set;
+
+@Service
+public class ImageNormalizationService {
+    private static final Logger logger = LoggerFactory.getLogger(ImageNormalizationService.class);
+    private static final int HEADER_BYTES = 64; // enough for the PNG and JPEG magic numbers
+    private static final Tika TIKA = new Tika(); // thread-safe, loading the detector is the expensive part
+    private static final Set<String> PNG_METADATA_CHUNKS = Set.of("tEXt", "zTXt", "iTXt", "eXIf", "tIME");
+
+    private final DistributionSummary bytesReduced;
+    private final DistributionSummary bytesGrown;
+
+    @Value("${spring.app.imageNormalization.maxUploadBytes:1500000}")
+    private long maxUploadBytes;
+
+    @Value("${spring.app.imageNormalization.maxDimension:2048}")
+    private int maxDimension;
+
+    @Value("${spring.app.imageNormalization.mediumDimension:600}")
+    private int mediumDimension;
+
+    @Value("${spring.app.imageNormalization.smallDimension:200}")
+    private int smallDimension;
+
+    @Value("${spring.app.imageNormalization.maxPixels:40000000}")
+    private long maxPixels;
+
+    @Value("${spring.app.imageNormalization.jpegQuality:0.82}")
+    private float jpegQuality;
+
+    public ImageNormalizationService(MeterRegistry meterRegistry) {
+        this.bytesReduced = bytesSaved(meterRegistry, "reduced");
+        this.bytesGrown = bytesSaved(meterRegistry, "grown");
+    }
+
+    /**
+     * Detects the image type from its header bytes.
+     * @param bytes The image content.
+     * @return The detected MIME type.
+     * @throws IllegalArgumentException If the image is neither PNG nor JPEG.
+     */
+    public String detectImageType(byte[] bytes) {
+        String mimeType = TIKA.detect(Arrays.copyOf(bytes, Math.min(bytes.length, HEADER_BYTES)));
+        if (!"image/png".equals(mimeType) && !"image/jpeg".equals(mimeType)) {
+            throw new IllegalArgumentException("Invalid file format. Only PNG and JPG are allowed.");
+        }
+        return mimeType;
+    }
+
+    /**
+     * Normalizes an image before upload: strips metadata, downscales it to `maxDimension`
+     * and re-encodes it, as JPEG if it is opaque and as PNG if it has transparency.
+     * An image that is not downscaled keeps its original encoding, with only the metadata removed,
+     * when re-encoding would not make it smaller.
+     * The medium and small variants are rendered from the same decoded image.
+     * Images the JDK decoder cannot read (e.g. CMYK JPEGs) are passed through unchanged, without variants.
+     * @param bytes The original image content.
+     * @return The normalized image and its variants; a variant is null if the image is not larger than it.
+     * @throws IllegalArgumentException If the image is too large or its type is unsupported.
+     */
+    public NormalizedImages normalize(byte[] bytes) {
+        if (bytes.length > maxUploadBytes) {
+            throw new IllegalArgumentException("File size exceeds the " + (maxUploadBytes / 1_000_000.0) + " MB limit.");
+        }
+
+        String mimeType = detectImageType(bytes);
+
+        try {
+            int[] dimensions = readDimensions(bytes);
+            if (dimensions == null) {
+                return passThrough(bytes, mimeType, 0, 0);
+            }
+            if ((long) dimensions[0] * dimensions[1] > maxPixels) {
+                throw new IllegalArgumentException("Image dimensions are too large.");
+            }
+
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(bytes)); // decoding drops all metadata
+            if (image == null) {
+                return passThrough(bytes, mimeType, dimensions[0], dimensions[1]);
+            }
+
+            BufferedImage full = downscale(image, maxDimension);
+            BufferedImage medium = downscale(full, mediumDimension);
+            BufferedImage small = downscale(medium, smallDimension);
+
+            NormalizedImage normalized = encode(full, bytes.length);
+            if (full == image && normalized.bytes().length >= bytes.length) {
+                normalized = new NormalizedImage(stripMetadata(bytes, mimeType), mimeType,
+                        image.getWidth(), image.getHeight(), bytes.length);
+            }
+            if (normalized.bytesSaved() >= 0) {
+                bytesReduced.record(normalized.bytesSaved());
+            } else {
+                bytesGrown.record(-normalized.bytesSaved());
+            }
+            logger.info("Normalized {} {}x{} to {} {}x{}: {} -> {} bytes", mimeType, dimensions[0], dimensions[1],
+                    normalized.mimeType(), normalized.width(), normalized.height(), bytes.length, normalized.bytes().length);
+
+            return new NormalizedImages(normalized,
+                    medium != full ? encode(medium, bytes.length) : null,
+                    small != medium ? encode(small, bytes.length) : null);
+        } catch (IOException e) {
+            logger.warn("Could not normalize {} image, uploading it unchanged: {}", mimeType, e.getMessage());
+            return passThrough(bytes, mimeType, 0, 0);
+        }
+    }
+
+    private NormalizedImage encode(BufferedImage image, long originalBytes) throws IOException {
+        boolean transparent = image.getColorModel().hasAlpha();
+        byte[] encoded = transparent ? encodePng(image) : encodeJpeg(image);
+        return new NormalizedImage(encoded, transparent ? "image/png" : "image/jpeg",
+                image.getWidth(), image.getHeight(), originalBytes);
+    }
+
+    /**
+     * Reads the image dimensions from its header without decoding the pixels,
+     * so oversized images are rejected before any large allocation.
+     * @return `{width, height}`, or null if no reader is available.
+     */
+    private int[] readDimensions(byte[] bytes) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(bytes))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                return new int[] { reader.getWidth(0), reader.getHeight(0) };
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage downscale(BufferedImage image, int targetDimension) {
+        int longestSide = Math.max(image.getWidth(), image.getHeight());
+        if (longestSide <= targetDimension) {
+            return image;
+        }
+
+        double scale = (double) targetDimension / longestSide;
+        int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+        int type = image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+        BufferedImage scaled = new BufferedImage(width, height, type);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        BufferedImage rgb = image;
+        if (image.getType() != BufferedImage.TYPE_INT_RGB && image.getType() != BufferedImage.TYPE_3BYTE_BGR) {
+            rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = rgb.createGraphics();
+            try {
+                graphics.drawImage(image, 0, 0, Color.WHITE, null);
+            } finally {
+                graphics.dispose();
+            }
+        }
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(rgb, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private byte[] encodePng(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Removes the metadata of an image without re-encoding it: comments and the EXIF, XMP and IPTC segments
+     * of a JPEG, the text, EXIF and time chunks of a PNG. Segments affecting how the image renders
+     * (JFIF, ICC profile, Adobe color transform) are kept.
+     * @return The image without metadata, or the given bytes if their structure is not as expected.
+     */
+    private static byte[] stripMetadata(byte[] bytes, String mimeType) {
+        return "image/png".equals(mimeType) ? stripPngMetadata(bytes) : stripJpegMetadata(bytes);
+    }
+
+    private static byte[] stripJpegMetadata(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length);
+        out.write(bytes, 0, 2); // SOI
+        int position = 2;
+        while (position + 4 <= bytes.length) {
+            if ((bytes[position] & 0xFF) != 0xFF) {
+                return bytes;
+            }
+            int marker = bytes[position + 1] & 0xFF;
+            if (marker == 0xFF) {
+                position++; // fill byte
+                continue;
+            }
+            if (marker == 0xDA) { // start of scan, the rest is image data
+                out.write(bytes, position, bytes.length - position);
+                return out.toByteArray();
+            }
+
+            int length = ((bytes[position + 2] & 0xFF) << 8) | (bytes[position + 3] & 0xFF);
+            if (length < 2 || position + 2 + length > bytes.length) {
+                return bytes;
+            }
+            boolean metadata = marker == 0xFE || (marker >= 0xE1 && marker <= 0xEF && marker != 0xE2 && marker != 0xEE);
+            if (!metadata) {
+                out.write(bytes, position, 2 + length);
+            }
+            position += 2 + length;
+        }
+        return bytes;
+    }
+
+    private static byte[] stripPngMetadata(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length);
+        out.write(bytes, 0, 8); // signature
+        int position = 8;
+        while (position + 12 <= bytes.length) {
+            int length = ((bytes[position] & 0xFF) << 24) | ((bytes[position + 1] & 0xFF) << 16)
+                    | ((bytes[position + 2] & 0xFF) << 8) | (bytes[position + 3] & 0xFF);
+            if (length < 0 || length > bytes.length - position - 12) {
+                return bytes;
+            }
+            String type = new String(bytes, position + 4, 4, StandardCharsets.US_ASCII);
+            if (!PNG_METADATA_CHUNKS.contains(type)) {
+                out.write(bytes, position, 12 + length); // length, type, data and CRC
+            }
+            position += 12 + length;
+            if (type.equals("IEND")) {
+                return out.toByteArray();
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Bytes saved per normalized image. Images that grew are recorded under `change=grown`,
+     * so the net saving is the reduced total minus the grown total.
+     */
+    private static DistributionSummary bytesSaved(MeterRegistry meterRegistry, String change) {
+        return DistributionSummary.builder("reservault.images.bytes.saved")
+                .description("Bytes by which normalization reduced or grew an image before upload")
+                .baseUnit("bytes")
+                .tag("change", change)
+                .register(meterRegistry);
+    }
+
+    private NormalizedImages passThrough(byte[] bytes, String mimeType, int width, int height) {
+        return new NormalizedImages(new NormalizedImage(bytes, mimeType, width, height, bytes.length), null, null);
+    }
+
+    public record NormalizedImages(NormalizedImage full, NormalizedImage medium, NormalizedImage small) {
+    }
+
+    public record NormalizedImage(byte[] bytes, String mimeType, int width, int height, long originalBytes) {
+        public long bytesSaved() {
+            return originalBytes - bytes.length;
+        }
+    }
+}
@@ -1,45 +1,521 @@
 package io.leedsk1y.reservault_backend.services;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.http.HttpEntity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
 import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
 
 @Service
 public class ImageProxyService {
     private static final Logger logger = LoggerFactory.getLogger(ImageProxyService.class);
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private HttpClient httpClient; // shared and thread-safe, keeps connections to origins alive between calls
+    private final MemoryCache memoryCache = new MemoryCache();
+    private final AtomicLong diskCacheSize = new AtomicLong();
+    private final MeterRegistry meterRegistry;
+
+    @Value("${spring.app.imageProxy.memoryCacheBytes:33554432}")
+    private long memoryCacheBytes;
+
+    @Value("${spring.app.imageProxy.memoryEntryMaxBytes:524288}")
+    private long memoryEntryMaxBytes;
+
+    @Value("${spring.app.imageProxy.diskCacheDir:${java.io.tmpdir}/reservault-image-cache}")
+    private String diskCacheDir;
+
+    @Value("${spring.app.imageProxy.diskCacheBytes:536870912}")
+    private long diskCacheBytes;
+
+    @Value("${spring.app.imageProxy.diskEntryMaxBytes:10485760}")
+    private long diskEntryMaxBytes;
+
+    @Value("${spring.app.imageProxy.ttlSeconds:86400}")
+    private long ttlSeconds;
+
+    @Value("${spring.app.imageProxy.browserMaxAgeSeconds:86400}")
+    private long browserMaxAgeSeconds;
+
+    @Value("${spring.app.imageProxy.timeoutMs:10000}")
+    private long timeoutMs;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private Path cacheDir;
+
+    public ImageProxyService(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Creates the HTTP client and the on-disk cache directory, and measures the size of entries left from previous runs.
+     * With virtual threads the client runs its response handling on virtual threads instead of its own cached pool.
+     * @throws IOException If the directory cannot be created.
+     */
+    @PostConstruct
+    public void init() throws IOException {
+        HttpClient.Builder client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .followRedirects(HttpClient.Redirect.NORMAL);
+        if (virtualThreads) {
+            client.executor(Executors.newVirtualThreadPerTaskExecutor());
+        }
+        httpClient = client.build();
+
+        cacheDir = Paths.get(diskCacheDir);
+        Files.createDirectories(cacheDir);
+
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            diskCacheSize.set(files.filter(path -> path.getFileName().toString().endsWith(".img")).mapToLong(ImageProxyService::sizeOf).sum());
+        }
+        logger.info("Image proxy disk cache at {} ({} bytes)", cacheDir, diskCacheSize.get());
+    }
 
     /**
-     * Fetches an image from a given external URL and returns it as a byte array.
-     * Sets a user-agent header to mimic a browser request.
+     * Fetches an image from a given external URL and streams it to the client.
+     * Images are served from the memory or disk cache while fresh; stale entries are revalidated
+     * with the origin using their ETag / Last-Modified, and served as-is if the origin is unreachable.
+     * Lookups are counted per tier as `reservault.cache.requests` with cache imageProxyMemory / imageProxyDisk.
      * @param url The URL of the external image.
-     * @return ResponseEntity containing the image data or an error response.
+     * @param ifNoneMatch The If-None-Match header of the client, may be null.
+     * @param ifModifiedSince The If-Modified-Since header of the client, may be null.
+     * @return ResponseEntity streaming the image, 304 if the client copy is current, or an error response.
+     */
+    public ResponseEntity<StreamingResponseBody> fetchImage(String url, String ifNoneMatch, String ifModifiedSince) {
+        URI uri;
+        try {
+            uri = new URI(url);
+        } catch (URISyntaxException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        if (!"http".equalsIgnoreCase(uri.getScheme()) && !"https".equalsIgnoreCase(uri.getScheme())) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        String key = hash(url);
+        CachedImage cached = memoryCache.get(key);
+        countLookup("imageProxyMemory", cached != null);
+        if (cached == null) {
+            cached = readDiskEntry(key);
+            countLookup("imageProxyDisk", cached != null);
+        }
+
+        try {
+            if (cached != null && cached.isFresh(ttlSeconds)) {
+                return serveCached(cached, ifNoneMatch, ifModifiedSince);
+            }
+
+            logger.info("Fetching image from external URL: {}", url);
+            HttpResponse<InputStream> response = httpClient.send(buildRequest(uri, cached),
+                    HttpResponse.BodyHandlers.ofInputStream());
+
+            if (cached != null && response.statusCode() == HttpStatus.NOT_MODIFIED.value()) {
+                response.body().close();
+                CachedImage revalidated = cached.revalidated(Instant.now());
+                storeEntry(key, revalidated);
+                return serveCached(revalidated, ifNoneMatch, ifModifiedSince);
+            }
+
+            String contentType = response.headers().firstValue(HttpHeaders.CONTENT_TYPE).orElse("");
+            if (response.statusCode() != HttpStatus.OK.value() || !contentType.startsWith("image/")) {
+                response.body().close();
+                logger.warn("Origin returned status {} with content type '{}' for {}", response.statusCode(), contentType, url);
+                return cached != null ? serveCached(cached, ifNoneMatch, ifModifiedSince)
+                        : ResponseEntity.status(HttpStatus.BAD_GATEWAY).build();
+            }
+
+            CachedImage fetched = new CachedImage(key, contentType,
+                    response.headers().firstValue(HttpHeaders.ETAG).orElse(null),
+                    response.headers().firstValue(HttpHeaders.LAST_MODIFIED).orElse(null),
+                    Instant.now(), null);
+
+            HttpHeaders headers = responseHeaders(fetched);
+            response.headers().firstValueAsLong(HttpHeaders.CONTENT_LENGTH).ifPresent(headers::setContentLength);
+            return ResponseEntity.ok().headers(headers).body(out -> streamAndCache(response.body(), out, fetched));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to fetch image from {}: {}", url, e.getMessage());
+            return cached != null ? serveCached(cached, ifNoneMatch, ifModifiedSince)
+                    : ResponseEntity.status(HttpStatus.BAD_GATEWAY).build();
+        }
+    }
+
+    private void countLookup(String cache, boolean hit) {
+        meterRegistry.counter("reservault.cache.requests", "cache", cache, "result", hit ? "hit" : "miss").increment();
+    }
+
+    private HttpRequest buildRequest(URI uri, CachedImage cached) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofMillis(timeoutMs))
+                .header("User-Agent", "Mozilla/5.0")
+                .GET();
+
+        if (cached != null && cached.etag() != null) {
+            builder.header(HttpHeaders.IF_NONE_MATCH, cached.etag());
+        }
+        if (cached != null && cached.lastModified() != null) {
+            builder.header(HttpHeaders.IF_MODIFIED_SINCE, cached.lastModified());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Serves a cached entry from memory or disk, answering 304 when the client copy matches it.
+     * @param cached The cache entry.
+     * @param ifNoneMatch The If-None-Match header of the client, may be null.
+     * @param ifModifiedSince The If-Modified-Since header of the client, may be null.
+     * @return ResponseEntity with the cached image or 304.
+     */
+    private ResponseEntity<StreamingResponseBody> serveCached(CachedImage cached, String ifNoneMatch, String ifModifiedSince) {
+        HttpHeaders headers = responseHeaders(cached);
+        if (cached.matches(ifNoneMatch, ifModifiedSince)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+        }
+
+        byte[] body = cached.body();
+        if (body != null) {
+            headers.setContentLength(body.length);
+            return ResponseEntity.ok().headers(headers).body(out -> out.write(body));
+        }
+
+        Path file = dataFile(cached.key());
+        headers.setContentLength(sizeOf(file));
+        return ResponseEntity.ok().headers(headers).body(out -> Files.copy(file, out));
+    }
+
+    private HttpHeaders responseHeaders(CachedImage cached) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(cached.contentType()));
+        headers.setCacheControl(CacheControl.maxAge(Duration.ofSeconds(browserMaxAgeSeconds)).cachePrivate());
+        if (cached.etag() != null) {
+            headers.setETag(cached.etag());
+        }
+        if (cached.lastModified() != null) {
+            headers.set(HttpHeaders.LAST_MODIFIED, cached.lastModified());
+        }
+        return headers;
+    }
+
+    /**
+     * Copies the origin body to the client in chunks while writing it to a temporary cache file.
+     * The file only becomes visible in the cache once the whole image has been received.
+     * @param in The origin response body.
+     * @param out The client response stream.
+     * @param fetched Metadata of the fetched image.
+     * @throws IOException If reading from the origin or writing to the client fails.
+     */
+    private void streamAndCache(InputStream in, OutputStream out, CachedImage fetched) throws IOException {
+        Path tempFile = Files.createTempFile(cacheDir, fetched.key(), ".part");
+        OutputStream cacheOut = Files.newOutputStream(tempFile);
+        long written = 0;
+
+        try (in) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+                if (cacheOut != null) {
+                    written += read;
+                    if (written > diskEntryMaxBytes) {
+                        cacheOut.close(); // too large to cache, keep streaming to the client only
+                        cacheOut = null;
+                    } else {
+                        cacheOut.write(buffer, 0, read);
+                    }
+                }
+            }
+            out.flush();
+
+            if (cacheOut != null) {
+                cacheOut.close();
+                cacheOut = null;
+                commitEntry(tempFile, fetched, written);
+            }
+        } finally {
+            if (cacheOut != null) {
+                cacheOut.close();
+            }
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private void commitEntry(Path tempFile, CachedImage fetched, long size) {
+        try {
+            Path dataFile = dataFile(fetched.key());
+            long previousSize = Files.exists(dataFile) ? sizeOf(dataFile) : 0;
+            Files.move(tempFile, dataFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            writeMeta(fetched);
+            diskCacheSize.addAndGet(size - previousSize);
+
+            byte[] body = size <= memoryEntryMaxBytes ? Files.readAllBytes(dataFile) : null;
+            memoryCache.put(fetched.key(), fetched.withBody(body), memoryCacheBytes);
+
+            if (diskCacheSize.get() > diskCacheBytes) {
+                trimDiskCache();
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to cache image {}: {}", fetched.key(), e.getMessage());
+        }
+    }
+
+    private void storeEntry(String key, CachedImage entry) {
+        try {
+            writeMeta(entry);
+        } catch (IOException e) {
+            logger.warn("Failed to update cache metadata for {}: {}", key, e.getMessage());
+        }
+        memoryCache.put(key, entry, memoryCacheBytes);
+    }
+
+    private CachedImage readDiskEntry(String key) {
+        Path metaFile = metaFile(key);
+        if (!Files.exists(metaFile) || !Files.exists(dataFile(key))) {
+            return null;
+        }
+
+        Properties meta = new Properties();
+        try (Reader reader = Files.newBufferedReader(metaFile, StandardCharsets.UTF_8)) {
+            meta.load(reader);
+            CachedImage entry = new CachedImage(key, meta.getProperty("contentType"), meta.getProperty("etag"),
+                    meta.getProperty("lastModified"), Instant.ofEpochMilli(Long.parseLong(meta.getProperty("fetchedAt"))), null);
+
+            if (sizeOf(dataFile(key)) <= memoryEntryMaxBytes) {
+                entry = entry.withBody(Files.readAllBytes(dataFile(key))); // promote small images back into memory
+                memoryCache.put(key, entry, memoryCacheBytes);
+            }
+            return entry;
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Ignoring unreadable cache entry {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeMeta(CachedImage entry) throws IOException {
+        Properties meta = new Properties();
+        meta.setProperty("contentType", entry.contentType());
+        meta.setProperty("fetchedAt", Long.toString(entry.fetchedAt().toEpochMilli()));
+        if (entry.etag() != null) {
+            meta.setProperty("etag", entry.etag());
+        }
+        if (entry.lastModified() != null) {
+            meta.setProperty("lastModified", entry.lastModified());
+        }
+
+        Path tempFile = Files.createTempFile(cacheDir, entry.key(), ".meta.part");
+        try (Writer writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+            meta.store(writer, null);
+        }
+        Files.move(tempFile, metaFile(entry.key()), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Deletes the least recently written cache entries until the disk cache is back under 90% of its limit.
      */
-    public ResponseEntity<byte[]> fetchImage(String url) {
-        logger.info("Fetching image from external URL: {}", url);
+    private void trimDiskCache() {
+        List<Path> dataFiles;
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            dataFiles = files.filter(path -> path.getFileName().toString().endsWith(".img"))
+                    .sorted(Comparator.comparingLong(ImageProxyService::lastModifiedOf))
+                    .toList();
+        } catch (IOException e) {
+            logger.warn("Failed to list image cache: {}", e.getMessage());
+            return;
+        }
+
+        long target = diskCacheBytes * 9 / 10;
+        for (Path dataFile : dataFiles) {
+            if (diskCacheSize.get() <= target) {
+                break;
+            }
+
+            String key = dataFile.getFileName().toString().replace(".img", "");
+            long size = sizeOf(dataFile);
+            try {
+                Files.deleteIfExists(metaFile(key));
+                if (Files.deleteIfExists(dataFile)) {
+                    diskCacheSize.addAndGet(-size);
+                }
+                memoryCache.remove(key);
+            } catch (IOException e) {
+                logger.warn("Failed to evict cached image {}: {}", key, e.getMessage());
+            }
+        }
+    }
+
+    private Path dataFile(String key) {
+        return cacheDir.resolve(key + ".img");
+    }
+
+    private Path metaFile(String key) {
+        return cacheDir.resolve(key + ".meta");
+    }
+
+    private static long sizeOf(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static long lastModifiedOf(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static String hash(String url) {
         try {
-            RestTemplate restTemplate = new RestTemplate();
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(url.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record CachedImage(String key, String contentType, String etag, String lastModified,
+                               Instant fetchedAt, byte[] body) {
+        boolean isFresh(long ttlSeconds) {
+            return fetchedAt.plusSeconds(ttlSeconds).isAfter(Instant.now());
+        }
+
+        CachedImage revalidated(Instant now) {
+            return new CachedImage(key, contentType, etag, lastModified, now, body);
+        }
+
+        CachedImage withBody(byte[] newBody) {
+            return new CachedImage(key, contentType, etag, lastModified, fetchedAt, newBody);
+        }
+
+        /**
+         * Checks whether the client copy described by its conditional headers is still current.
+         * If-None-Match takes precedence over If-Modified-Since, as in RFC 9110.
+         */
+        boolean matches(String ifNoneMatch, String ifModifiedSince) {
+            if (ifNoneMatch != null) {
+                return etag != null && (ifNoneMatch.equals("*") || List.of(ifNoneMatch.split("\\s*,\\s*")).contains(etag));
+            }
+
+            if (ifModifiedSince != null && lastModified != null) {
+                try {
+                    ZonedDateTime since = ZonedDateTime.parse(ifModifiedSince, DateTimeFormatter.RFC_1123_DATE_TIME);
+                    ZonedDateTime modified = ZonedDateTime.parse(lastModified, DateTimeFormatter.RFC_1123_DATE_TIME);
+                    return !modified.isAfter(since);
+                } catch (DateTimeParseException e) {
+                    return false;
+                }
+            }
+            return false;
+        }
+
+        long weight() {
+            return body != null ? body.length : 0;
+        }
+    }
+
+    /**
+     * Access-ordered LRU map bounded by the total size of the cached image bodies.
+     * Only map operations run under the lock, never I/O.
+     */
+    private static final class MemoryCache {
+        private final LinkedHashMap<String, CachedImage> entries = new LinkedHashMap<>(64, 0.75f, true);
+        private final ReentrantLock lock = new ReentrantLock();
+        private long weight;
+
+        CachedImage get(String key) {
+            lock.lock();
+            try {
+                return entries.get(key);
+            } finally {
+                lock.unlock();
+            }
+        }
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("User-Agent", "Mozilla/5.0");
-            HttpEntity<String> entity = new HttpEntity<>(headers);
+        void put(String key, CachedImage entry, long maxWeight) {
+            lock.lock();
+            try {
+                CachedImage previous = entries.get(key);
+                CachedImage stored = entry.body() == null && previous != null ? entry.withBody(previous.body()) : entry;
+                removeLocked(key);
+                if (stored.body() == null) {
+                    return; // nothing worth keeping in memory, the disk cache holds it
+                }
 
-            ResponseEntity<byte[]> response = restTemplate.exchange(
-                    new URI(url), HttpMethod.GET, entity, byte[].class);
+                entries.put(key, stored);
+                weight += stored.weight();
+
+                Iterator<Map.Entry<String, CachedImage>> eldest = entries.entrySet().iterator();
+                while (weight > maxWeight && eldest.hasNext()) {
+                    weight -= eldest.next().getValue().weight();
+                    eldest.remove();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void remove(String key) {
+            lock.lock();
+            try {
+                removeLocked(key);
+            } finally {
+                lock.unlock();
+            }
+        }
 
-            return ResponseEntity.ok()
-                    .contentType(MediaType.IMAGE_JPEG)
-                    .body(response.getBody());
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        private void removeLocked(String key) {
+            CachedImage removed = entries.remove(key);
+            if (removed != null) {
+                weight -= removed.weight();
+            }
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,35 @@
+package io.leedsk1y.reservault_backend.services;
+
+import java.io.IOException;
+import java.util.List;
+
+public interface ImageStorage {
+    /**
+     * Stores an already normalized image in the given folder.
+     * @param content The image content.
+     * @param mimeType The MIME type of the content ("image/jpeg" or "image/png").
+     * @param folder The destination folder (e.g. "hotels_images").
+     * @return The public URL of the stored image.
+     * @throws IOException If the image cannot be stored.
+     */
+    String storeImage(byte[] content, String mimeType, String folder) throws IOException;
+
+    /**
+     * Deletes an image previously stored in the given folder.
+     * @param imageUrl The public URL of the image.
+     * @param folder The folder in which the image was stored.
+     * @throws RuntimeException If deletion fails.
+     */
+    void deleteImage(String imageUrl, String folder);
+
+    /**
+     * Deletes several images of one folder. Backends with a bulk API override this
+     * to delete them in as few remote calls as possible.
+     * @param imageUrls The public URLs of the images.
+     * @param folder The folder in which the images were stored.
+     * @throws RuntimeException If deletion fails.
+     */
+    default void deleteImages(List<String> imageUrls, String folder) {
+        imageUrls.forEach(imageUrl -> deleteImage(imageUrl, folder));
+    }
+}
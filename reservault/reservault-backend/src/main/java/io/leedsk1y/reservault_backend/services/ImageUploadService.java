@@ -0,0 +1,188 @@
+package io.leedsk1y.reservault_backend.services;
+
+import io.leedsk1y.reservault_backend.models.entities.ImageVariants;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+@Service
+public class ImageUploadService {
+    private static final Logger logger = LoggerFactory.getLogger(ImageUploadService.class);
+    private static final ImageVariants ABORTED = new ImageVariants(); // identity sentinel for abandoned slots
+
+    private final ImageBlobService imageBlobService;
+    private ExecutorService executor;
+    private Semaphore uploadSlots;
+
+    @Value("${spring.app.imageUpload.threads:16}")
+    private int threads;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${spring.app.imageUpload.perRequestConcurrency:4}")
+    private int perRequestConcurrency;
+
+    @Value("${spring.app.imageUpload.deadlineMs:30000}")
+    private long deadlineMs;
+
+    public ImageUploadService(ImageBlobService imageBlobService) {
+        this.imageBlobService = imageBlobService;
+    }
+
+    /**
+     * Starts the shared upload executor. Uploads are I/O bound, so concurrency is sized independently
+     * of the CPU count: `threads` uploads run at once across all requests.
+     * With virtual threads each upload gets its own virtual thread and waits for a slot instead of a pool thread.
+     * Otherwise a bounded platform pool is used, whose queue is bounded and callers run the task themselves when it is full.
+     */
+    @PostConstruct
+    public void init() {
+        uploadSlots = new Semaphore(threads);
+        if (virtualThreads) {
+            executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("image-upload-", 1).factory());
+            return;
+        }
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(threads * 16),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-upload-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        executor = pool;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Uploads several images concurrently, at most `perRequestConcurrency` at a time and within `deadlineMs`.
+     * If any upload fails or the deadline passes, every image of the batch that was stored,
+     * including uploads still finishing in the background, is released again.
+     * @param files The images to upload.
+     * @param folder The destination folder.
+     * @return The URLs of the uploaded images and their variants, in the order of the given files.
+     * @throws IOException If an upload fails or the deadline is exceeded.
+     * @throws IllegalArgumentException If a file fails validation.
+     */
+    public List<ImageVariants> uploadImages(List<MultipartFile> files, String folder) throws IOException {
+        if (files == null || files.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        logger.info("Uploading {} image(s) to folder: {}", files.size(), folder);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMs);
+        AtomicReferenceArray<ImageVariants> results = new AtomicReferenceArray<>(files.size());
+        Semaphore permits = new Semaphore(Math.max(1, perRequestConcurrency));
+        List<Future<?>> futures = new ArrayList<>(files.size());
+
+        try {
+            for (int i = 0; i < files.size(); i++) {
+                if (!permits.tryAcquire(remainingNanos(deadline), TimeUnit.NANOSECONDS)) {
+                    throw new IOException("Image upload timed out");
+                }
+
+                int slot = i;
+                MultipartFile file = files.get(i);
+                futures.add(executor.submit(() -> {
+                    try {
+                        uploadSlots.acquire();
+                        try {
+                            if (results.get(slot) == ABORTED) {
+                                return null; // batch failed while this upload waited for a slot
+                            }
+                            ImageVariants stored = imageBlobService.acquire(file, folder);
+                            if (!results.compareAndSet(slot, null, stored)) {
+                                releaseQuietly(stored, folder); // batch was aborted while this upload was running
+                            }
+                        } finally {
+                            uploadSlots.release();
+                        }
+                        return null;
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                future.get(remainingNanos(deadline), TimeUnit.NANOSECONDS);
+            }
+        } catch (ExecutionException e) {
+            abort(results, futures, folder);
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) throw ioException;
+            if (cause instanceof RuntimeException runtimeException) throw runtimeException;
+            throw new IOException("Image upload failed: " + cause.getMessage(), cause);
+        } catch (TimeoutException e) {
+            abort(results, futures, folder);
+            throw new IOException("Image upload timed out");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abort(results, futures, folder);
+            throw new IOException("Image upload interrupted");
+        } catch (IOException | RuntimeException e) {
+            abort(results, futures, folder);
+            throw e;
+        }
+
+        List<ImageVariants> uploaded = new ArrayList<>(files.size());
+        for (int i = 0; i < results.length(); i++) {
+            uploaded.add(results.get(i));
+        }
+        return uploaded;
+    }
+
+    /**
+     * Cancels pending uploads of a failed batch and releases the images that were already stored.
+     * Slots are marked as aborted so uploads finishing later clean up after themselves.
+     */
+    private void abort(AtomicReferenceArray<ImageVariants> results, List<Future<?>> futures, String folder) {
+        futures.forEach(future -> future.cancel(false));
+
+        for (int i = 0; i < results.length(); i++) {
+            ImageVariants stored = results.getAndSet(i, ABORTED);
+            if (stored != null && stored != ABORTED) {
+                releaseQuietly(stored, folder);
+            }
+        }
+    }
+
+    private void releaseQuietly(ImageVariants stored, String folder) {
+        try {
+            imageBlobService.release(List.of(stored.getUrl()), folder);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to release uploaded image {}: {}", stored.getUrl(), e.getMessage());
+        }
+    }
+
+    private static long remainingNanos(long deadline) {
+        return Math.max(0, deadline - System.nanoTime());
+    }
+}
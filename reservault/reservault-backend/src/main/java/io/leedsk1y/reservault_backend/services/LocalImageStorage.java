@@ -0,0 +1,102 @@
+package io.leedsk1y.reservault_backend.services;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.UUID;
+
+@Service
+@ConditionalOnProperty(name = "spring.app.imageStorage.type", havingValue = "local")
+public class LocalImageStorage implements ImageStorage {
+    private static final Logger logger = LoggerFactory.getLogger(LocalImageStorage.class);
+    public static final String URL_PATH = "/images/";
+
+    private Path rootDir;
+
+    @Value("${spring.app.imageStorage.localDir:./data/images}")
+    private String localDir;
+
+    @Value("${spring.app.imageStorage.publicUrl:http://localhost:8080}")
+    private String publicUrl;
+
+    @PostConstruct
+    public void init() throws IOException {
+        rootDir = Paths.get(localDir).toAbsolutePath().normalize();
+        Files.createDirectories(rootDir);
+        logger.info("Storing images on the local filesystem at {}", rootDir);
+    }
+
+    /**
+     * Returns the directory images are stored in, served under `/images/**`.
+     * @return The absolute storage root.
+     */
+    public Path getRootDir() {
+        return rootDir;
+    }
+
+    /**
+     * Writes an already normalized image to `<localDir>/<folder>/<uuid>.<ext>`.
+     * File names are never reused, so the served files can be cached indefinitely.
+     * @param content The image content.
+     * @param mimeType The MIME type of the content, used for the file extension.
+     * @param folder The destination folder.
+     * @return The public URL of the stored image.
+     * @throws IOException If the file cannot be written.
+     */
+    @Override
+    public String storeImage(byte[] content, String mimeType, String folder) throws IOException {
+        logger.info("Storing {} bytes locally in folder: {}", content.length, folder);
+        String fileName = UUID.randomUUID() + ("image/png".equals(mimeType) ? ".png" : ".jpg");
+        Path folderDir = resolve(folder);
+        Files.createDirectories(folderDir);
+
+        Path tempFile = Files.createTempFile(folderDir, "upload_", ".part");
+        try {
+            Files.write(tempFile, content);
+            Files.move(tempFile, folderDir.resolve(fileName), StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+
+        return publicUrl + URL_PATH + folder + "/" + fileName;
+    }
+
+    /**
+     * Deletes a locally stored image based on its URL and folder.
+     * @param imageUrl The public URL of the image.
+     * @param folder The folder in which the image was stored.
+     * @throws RuntimeException If deletion fails.
+     */
+    @Override
+    public void deleteImage(String imageUrl, String folder) {
+        logger.info("Deleting local image with URL: {} in folder: {}", imageUrl, folder);
+        Path folderDir = resolve(folder);
+        Path file = folderDir.resolve(imageUrl.substring(imageUrl.lastIndexOf("/") + 1)).normalize();
+        if (!file.getParent().equals(folderDir)) {
+            throw new IllegalArgumentException("Invalid image URL format: " + imageUrl);
+        }
+
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to delete image: " + e.getMessage());
+        }
+    }
+
+    private Path resolve(String folder) {
+        Path folderDir = rootDir.resolve(folder).normalize();
+        if (!folderDir.startsWith(rootDir) || folderDir.equals(rootDir)) {
+            throw new IllegalArgumentException("Invalid image folder: " + folder);
+        }
+        return folderDir;
+    }
+}
@@ -1,5 +1,6 @@
 package io.leedsk1y.reservault_backend.services;
 
+import io.leedsk1y.reservault_backend.dto.CascadeDeletionJobDTO;
 import io.leedsk1y.reservault_backend.dto.ManagerDashboardStatsDTO;
 import io.leedsk1y.reservault_backend.dto.OfferWithLocationDTO;
 import io.leedsk1y.reservault_backend.dto.ReviewResponseDTO;
@@ -147,9 +148,9 @@ public class ManagerService {
     /**
      * Deletes an offer owned by the authenticated manager.
      * @param offerId UUID of the offer to delete.
-     * @return True if deletion was successful.
+     * @return The deletion job, RUNNING if it continues in the background.
      */
-    public boolean deleteOffer(UUID offerId) {
+    public CascadeDeletionJobDTO deleteOffer(UUID offerId) {
         logger.info("Deleting offer with ID: {}", offerId);
         User user = validateAndGetManager();
         return offerService.deleteOffer(offerId, user.getId());
@@ -218,13 +219,11 @@ public class ManagerService {
         List<Offer> managerOffers = offerService.getOffersByManagerEntities(manager.getId());
         long offersCount = managerOffers.size();
 
-        long bookingCount = 0;
+        long bookingCount = bookingRepository.countByOfferIdIn(managerOffers.stream().map(Offer::getId).toList());
         long totalReviews = 0;
         long respondedReviews = 0;
 
         for (Offer offer : managerOffers) {
-            bookingCount += bookingRepository.countByOfferId(offer.getId());
-            
             if (offer.getReviews() != null) {
                 totalReviews += offer.getReviews().size();
                 respondedReviews += offer.getReviews().stream().filter(r -> r.getResponse() != null).count();
@@ -57,7 +57,7 @@ public class OAuth2Service {
             userRepository.save(user);
         }
 
-        return jwtUtils.generateTokenFromUsername(user.getUsername());
+        return jwtUtils.generateTokenFromUser(user);
     }
 
     /**
@@ -90,19 +90,24 @@ public class OAuth2Service {
 
     /**
      * Retrieves the authenticated OAuth2 user based on the current security context.
-     * @param authentication The authentication object containing the OAuth2 user.
+     * Accepts both the provider token (during the login callback) and the JWT-based authentication
+     * used for all later requests, since no session keeps the provider token around.
+     * @param authentication The authentication object of the current request.
      * @return A detailed response DTO of the authenticated user.
-     * @throws RuntimeException If authentication is not from an OAuth2 token or user is not found.
+     * @throws RuntimeException If the request is not authenticated or user is not found.
      */
     public UserDetailedResponseDTO getAuthenticatedOAuth2User(Authentication authentication) {
         logger.info("Fetching authenticated OAuth2 user from token");
-        if (!(authentication instanceof OAuth2AuthenticationToken)) {
+        if (authentication == null || !authentication.isAuthenticated()) {
             throw new RuntimeException("Unauthorized: OAuth2 token is missing");
         }
 
-        String email = ((OAuth2AuthenticationToken) authentication).getPrincipal().getAttribute("email");
+        String email = authentication instanceof OAuth2AuthenticationToken oAuth2Token
+                ? oAuth2Token.getPrincipal().getAttribute("email")
+                : authentication.getName();
+
         return userRepository.findByEmail(email)
                 .map(UserDetailedResponseDTO::new)
                 .orElseThrow(() -> new RuntimeException("OAuth2 user not found"));
     }
-}
\ No newline at end of file
+}
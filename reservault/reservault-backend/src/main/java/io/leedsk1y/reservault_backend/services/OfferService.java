@@ -1,25 +1,32 @@
 package io.leedsk1y.reservault_backend.services;
 
+import io.leedsk1y.reservault_backend.dto.CascadeDeletionJobDTO;
 import io.leedsk1y.reservault_backend.dto.OfferWithLocationDTO;
 import io.leedsk1y.reservault_backend.dto.ReviewResponseDTO;
 import io.leedsk1y.reservault_backend.models.entities.BookedDates;
-import io.leedsk1y.reservault_backend.models.entities.Booking;
 import io.leedsk1y.reservault_backend.models.entities.Facilities;
 import io.leedsk1y.reservault_backend.models.entities.Hotel;
 import io.leedsk1y.reservault_backend.models.entities.HotelManager;
+import io.leedsk1y.reservault_backend.models.entities.ImageVariants;
 import io.leedsk1y.reservault_backend.models.entities.Offer;
 import io.leedsk1y.reservault_backend.models.entities.Review;
 import io.leedsk1y.reservault_backend.models.entities.ReviewResponse;
 import io.leedsk1y.reservault_backend.models.enums.EHotelManagerStatus;
+import io.leedsk1y.reservault_backend.monitoring.OfferSearchEvent;
 import io.leedsk1y.reservault_backend.repositories.BookedDatesRepository;
-import io.leedsk1y.reservault_backend.repositories.BookingRepository;
 import io.leedsk1y.reservault_backend.repositories.HotelManagerRepository;
 import io.leedsk1y.reservault_backend.repositories.HotelRepository;
 import io.leedsk1y.reservault_backend.repositories.OfferRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.io.IOException;
 import java.math.BigDecimal;
@@ -28,37 +35,53 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiPredicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @Service
 public class OfferService {
     private static final Logger logger = LoggerFactory.getLogger(OfferService.class);
+    private static final int STREAM_BATCH_SIZE = 200; // matches the cursor batch size of OfferRepository.streamAllBy
     private final OfferRepository offerRepository;
     private final HotelRepository hotelRepository;
     private final BookedDatesRepository bookedDatesRepository;
-    private final CloudinaryService cloudinaryService;
-    private final BookingRepository bookingRepository;
-    private final BookingService bookingService;
+    private final ImageUploadService imageUploadService;
+    private final ImageBlobService imageBlobService;
+    private final CascadeDeletionService cascadeDeletionService;
     private final HotelManagerRepository hotelManagerRepository;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, SearchMeters> searchMeters = new ConcurrentHashMap<>(); // by filter groups, at most 64
 
     public OfferService(OfferRepository offerRepository,
                         HotelRepository hotelRepository,
                         BookedDatesRepository bookedDatesRepository,
-                        CloudinaryService cloudinaryService,
-                        BookingRepository bookingRepository,
-                        BookingService bookingService,
-                        HotelManagerRepository hotelManagerRepository) {
+                        ImageUploadService imageUploadService,
+                        ImageBlobService imageBlobService,
+                        CascadeDeletionService cascadeDeletionService,
+                        HotelManagerRepository hotelManagerRepository,
+                        MeterRegistry meterRegistry) {
         this.offerRepository = offerRepository;
         this.hotelRepository = hotelRepository;
         this.bookedDatesRepository = bookedDatesRepository;
-        this.cloudinaryService = cloudinaryService;
-        this.bookingRepository = bookingRepository;
-        this.bookingService = bookingService;
+        this.imageUploadService = imageUploadService;
+        this.imageBlobService = imageBlobService;
+        this.cascadeDeletionService = cascadeDeletionService;
         this.hotelManagerRepository = hotelManagerRepository;
+        this.meterRegistry = meterRegistry;
     }
 
     /**
@@ -67,8 +90,10 @@ public class OfferService {
      */
     public List<OfferWithLocationDTO> getAllOffers() {
         logger.info("Fetching all offers");
-        return offerRepository.findAll().stream()
-                .map(this::toOfferWithLocationDTO)
+        List<Offer> offers = offerRepository.findAll();
+        Map<String, Hotel> hotels = hotelsOf(offers);
+        return offers.stream()
+                .map(offer -> toOfferWithLocationDTO(offer, hotels.get(offer.getHotelIdentifier())))
                 .toList();
     }
 
@@ -83,55 +108,92 @@ public class OfferService {
                 .map(this::toOfferWithLocationDTO);
     }
 
+    /**
+     * Computes the entity tag of an offer response from the versions of the offer and its hotel,
+     * read with projections, so a conditional request is answered without loading either document.
+     * The tag is weak: it matches every encoding of the offer, and Tomcat does not compress responses with strong ones.
+     * @param id UUID of the offer.
+     * @return The entity tag, or empty if the offer does not exist.
+     */
+    public Optional<String> getOfferEtag(UUID id) {
+        return offerRepository.findVersionById(id).map(offer -> "W/\"" + offer.getVersion() + "-" + hotelRepository
+                .findVersionByIdentifier(offer.getHotelIdentifier())
+                .map(hotel -> hotel.getId() + "." + hotel.getVersion())
+                .orElse("none") + "\"");
+    }
+
     /**
      * Searches offers based on various filters like location, date range, price, facilities, etc.
      * Also applies optional sorting.
+     * The latency is recorded as `reservault.offers.search`, tagged with the groups of optional filters used,
+     * and the result count as `reservault.offers.search.results`.
+     * Each search also emits an OfferSearch JFR event with the time spent per phase.
      * @return Filtered and sorted list of OfferWithLocationDTOs.
      */
     public List<OfferWithLocationDTO> searchOffers(String location, Integer rooms, Integer people, String dateFrom, String dateUntil,
                                                    Double minPrice, Double maxPrice, Boolean wifi, Boolean parking, Boolean pool,
                                                    Boolean airConditioning, Boolean breakfast, Integer rating, Integer hotelStars,
                                                    String sortBy, String sortOrder, String hotelId) {
+        long start = System.nanoTime();
+        OfferSearchEvent event = new OfferSearchEvent();
+        event.begin();
+        List<OfferWithLocationDTO> results = findOffers(location, rooms, people, dateFrom, dateUntil, minPrice, maxPrice,
+                wifi, parking, pool, airConditioning, breakfast, rating, hotelStars, sortBy, sortOrder, hotelId, event);
+
+        String filters = filterShape(minPrice != null || maxPrice != null,
+                Stream.of(wifi, parking, pool, airConditioning, breakfast).anyMatch(Boolean.TRUE::equals),
+                rating != null, hotelStars != null, hotelId != null, sortBy != null);
+        event.setFilters(filters);
+        event.setResults(results.size());
+        event.commit();
+        SearchMeters meters = searchMeters.computeIfAbsent(filters, this::searchMeters);
+        meters.latency().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        meters.results().record(results.size());
+        return results;
+    }
+
+    private record SearchMeters(Timer latency, DistributionSummary results) {}
+
+    private SearchMeters searchMeters(String filters) {
+        return new SearchMeters(
+                Timer.builder("reservault.offers.search")
+                        .description("Offer search latency")
+                        .tag("filters", filters)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry),
+                DistributionSummary.builder("reservault.offers.search.results")
+                        .description("Offers returned per search")
+                        .tag("filters", filters)
+                        .register(meterRegistry));
+    }
+
+    private List<OfferWithLocationDTO> findOffers(String location, Integer rooms, Integer people, String dateFrom, String dateUntil,
+                                                  Double minPrice, Double maxPrice, Boolean wifi, Boolean parking, Boolean pool,
+                                                  Boolean airConditioning, Boolean breakfast, Integer rating, Integer hotelStars,
+                                                  String sortBy, String sortOrder, String hotelId,
+                                                  OfferSearchEvent event) {
         logger.info("Searching offers with filters - location: {}, dateFrom: {}, dateUntil: {}", location, dateFrom, dateUntil);
+        long phaseStart = System.nanoTime();
         List<Offer> allOffers = offerRepository.findAll();
+        Map<String, Hotel> hotels = hotelsOf(allOffers);
+        event.setCandidates(allOffers.size());
+        event.setLoadTime(System.nanoTime() - phaseStart);
 
-        final String inputCity;
-        final String inputCountry;
-        final String rawLocation = location != null ? location.trim().toLowerCase() : null;
-
-        if (rawLocation != null && rawLocation.contains(",")) {
-            String[] parts = rawLocation.split(",", 2);
-            inputCity = parts[0].trim();
-            inputCountry = parts[1].trim();
-        } else {
-            inputCity = null;
-            inputCountry = rawLocation;
-        }
+        BiPredicate<Offer, Hotel> matches = searchFilter(location, rooms, people, dateFrom, dateUntil, minPrice, maxPrice,
+                wifi, parking, pool, airConditioning, breakfast, rating, hotelStars, hotelId);
 
         // filtering
+        phaseStart = System.nanoTime();
         List<Offer> filteredOffers = allOffers.stream()
                 .filter(offer -> {
-                    Hotel hotel = hotelRepository.findByIdentifier(offer.getHotelIdentifier()).orElse(null);
-                    if (hotel == null) return false;
-
-                    if (hotelId != null && !hotelId.equalsIgnoreCase(hotel.getIdentifier())) return false;
-
-                    boolean matchesLocation = matchesLocation(hotel, inputCity, inputCountry);
-                    boolean matchesRooms = rooms == null || offer.getRoomCount() >= rooms;
-                    boolean matchesPeople = people == null || offer.getPeopleCount() >= people;
-                    boolean matchesDates = checkDateRange(offer, dateFrom, dateUntil);
-                    boolean matchesPrice = (minPrice == null || offer.getPricePerNight().compareTo(BigDecimal.valueOf(minPrice)) >= 0) &&
-                            (maxPrice == null || offer.getPricePerNight().compareTo(BigDecimal.valueOf(maxPrice)) <= 0);
-                    boolean matchesFacilities = matchesFacilities(offer, wifi, parking, pool, airConditioning, breakfast);
-                    boolean matchesRating = rating == null || offer.getRating() >= rating;
-                    boolean matchesHotelStars = hotelStars == null || hotel.getStars() >= hotelStars;
-
-                    return matchesLocation && matchesRooms && matchesPeople && matchesDates && matchesPrice &&
-                            matchesFacilities && matchesRating && matchesHotelStars;
+                    Hotel hotel = hotels.get(offer.getHotelIdentifier());
+                    return hotel != null && matches.test(offer, hotel);
                 })
                 .collect(Collectors.toList());
+        event.setFilterTime(System.nanoTime() - phaseStart);
 
         // sorting
+        phaseStart = System.nanoTime();
         Comparator<Offer> comparator = null;
         if (sortBy != null) {
             switch (sortBy.toLowerCase()) {
@@ -142,8 +204,7 @@ public class OfferService {
                     comparator = Comparator.comparing(Offer::getRating);
                     break;
                 case "stars":
-                    comparator = Comparator.comparing(offer -> hotelRepository.findByIdentifier(offer.getHotelIdentifier())
-                            .map(Hotel::getStars).orElse(0));
+                    comparator = Comparator.comparing(offer -> hotels.get(offer.getHotelIdentifier()).getStars());
                     break;
                 default:
                     break;
@@ -155,10 +216,170 @@ public class OfferService {
 
             filteredOffers.sort(comparator);
         }
+        event.setSortTime(System.nanoTime() - phaseStart);
 
-        return filteredOffers.stream()
-                .map(this::toOfferWithLocationDTO)
+        phaseStart = System.nanoTime();
+        List<OfferWithLocationDTO> results = filteredOffers.stream()
+                .map(offer -> toOfferWithLocationDTO(offer, hotels.get(offer.getHotelIdentifier())))
                 .collect(Collectors.toList());
+        event.setMappingTime(System.nanoTime() - phaseStart);
+        return results;
+    }
+
+    /**
+     * Streams all offers from a database cursor, so memory use does not grow with the catalog.
+     * Hotels are looked up once per cursor batch instead of once per offer.
+     * @return Stream of offers with location and hotel details, to be closed by the caller to release the cursor.
+     */
+    public Stream<OfferWithLocationDTO> streamAllOffers() {
+        logger.info("Streaming all offers");
+        return withHotels(offerRepository.streamAllBy())
+                .map(match -> toOfferWithLocationDTO(match.offer(), match.hotel()));
+    }
+
+    /**
+     * Streams the offers matching the same filters as searchOffers from a database cursor.
+     * Unsorted results are emitted as they are found; sorted results are collected first,
+     * so memory then grows with the number of matches, though not with the catalog.
+     * @return Stream of matching offers, to be closed by the caller to release the cursor.
+     */
+    public Stream<OfferWithLocationDTO> streamSearchOffers(String location, Integer rooms, Integer people, String dateFrom, String dateUntil,
+                                                           Double minPrice, Double maxPrice, Boolean wifi, Boolean parking, Boolean pool,
+                                                           Boolean airConditioning, Boolean breakfast, Integer rating, Integer hotelStars,
+                                                           String sortBy, String sortOrder, String hotelId) {
+        logger.info("Streaming offers with filters - location: {}, dateFrom: {}, dateUntil: {}", location, dateFrom, dateUntil);
+        BiPredicate<Offer, Hotel> matches = searchFilter(location, rooms, people, dateFrom, dateUntil, minPrice, maxPrice,
+                wifi, parking, pool, airConditioning, breakfast, rating, hotelStars, hotelId);
+
+        Stream<OfferWithLocationDTO> results = withHotels(offerRepository.streamAllBy())
+                .filter(match -> match.hotel() != null && matches.test(match.offer(), match.hotel()))
+                .map(match -> toOfferWithLocationDTO(match.offer(), match.hotel()));
+
+        Comparator<OfferWithLocationDTO> comparator = resultComparator(sortBy, sortOrder);
+        return comparator != null ? results.sorted(comparator) : results;
+    }
+
+    /**
+     * Pairs streamed offers with their hotels, resolved with one query per batch of STREAM_BATCH_SIZE offers.
+     * Only the current batch is held in memory.
+     * @param offers Offers read from a cursor.
+     * @return The offers with their hotel, or a null hotel if it no longer exists; closing it closes the cursor.
+     */
+    private Stream<OfferWithHotel> withHotels(Stream<Offer> offers) {
+        Iterator<Offer> cursor = offers.iterator();
+        Iterator<List<OfferWithHotel>> batches = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return cursor.hasNext();
+            }
+
+            @Override
+            public List<OfferWithHotel> next() {
+                List<Offer> batch = new ArrayList<>(STREAM_BATCH_SIZE);
+                while (batch.size() < STREAM_BATCH_SIZE && cursor.hasNext()) {
+                    batch.add(cursor.next());
+                }
+
+                Map<String, Hotel> hotels = hotelsOf(batch);
+                return batch.stream()
+                        .map(offer -> new OfferWithHotel(offer, hotels.get(offer.getHotelIdentifier())))
+                        .toList();
+            }
+        };
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(batches, Spliterator.ORDERED), false)
+                .flatMap(List::stream)
+                .onClose(offers::close);
+    }
+
+    /**
+     * Builds the filter of searchOffers and streamSearchOffers, with the location input parsed once.
+     * @return Predicate over an offer and its hotel, true if the offer matches every given filter.
+     */
+    private BiPredicate<Offer, Hotel> searchFilter(String location, Integer rooms, Integer people, String dateFrom, String dateUntil,
+                                                  Double minPrice, Double maxPrice, Boolean wifi, Boolean parking, Boolean pool,
+                                                  Boolean airConditioning, Boolean breakfast, Integer rating, Integer hotelStars,
+                                                  String hotelId) {
+        final String inputCity;
+        final String inputCountry;
+        final String rawLocation = location != null ? location.trim().toLowerCase() : null;
+
+        if (rawLocation != null && rawLocation.contains(",")) {
+            String[] parts = rawLocation.split(",", 2);
+            inputCity = parts[0].trim();
+            inputCountry = parts[1].trim();
+        } else {
+            inputCity = null;
+            inputCountry = rawLocation;
+        }
+
+        return (offer, hotel) -> {
+            if (hotelId != null && !hotelId.equalsIgnoreCase(hotel.getIdentifier())) return false;
+
+            boolean matchesLocation = matchesLocation(hotel, inputCity, inputCountry);
+            boolean matchesRooms = rooms == null || offer.getRoomCount() >= rooms;
+            boolean matchesPeople = people == null || offer.getPeopleCount() >= people;
+            boolean matchesDates = checkDateRange(offer, dateFrom, dateUntil);
+            boolean matchesPrice = (minPrice == null || offer.getPricePerNight().compareTo(BigDecimal.valueOf(minPrice)) >= 0) &&
+                    (maxPrice == null || offer.getPricePerNight().compareTo(BigDecimal.valueOf(maxPrice)) <= 0);
+            boolean matchesFacilities = matchesFacilities(offer, wifi, parking, pool, airConditioning, breakfast);
+            boolean matchesRating = rating == null || offer.getRating() >= rating;
+            boolean matchesHotelStars = hotelStars == null || hotel.getStars() >= hotelStars;
+
+            return matchesLocation && matchesRooms && matchesPeople && matchesDates && matchesPrice &&
+                    matchesFacilities && matchesRating && matchesHotelStars;
+        };
+    }
+
+    /**
+     * Orders mapped search results the way searchOffers orders offers, using the hotel stars already on the DTO.
+     * @return The comparator, or null if the results stay in catalog order.
+     */
+    private static Comparator<OfferWithLocationDTO> resultComparator(String sortBy, String sortOrder) {
+        if (sortBy == null) {
+            return null;
+        }
+
+        Comparator<OfferWithLocationDTO> comparator = switch (sortBy.toLowerCase()) {
+            case "price" -> Comparator.comparing(OfferWithLocationDTO::getPricePerNight);
+            case "rating" -> Comparator.comparingDouble(OfferWithLocationDTO::getRating);
+            case "stars" -> Comparator.comparingInt(OfferWithLocationDTO::getStars);
+            default -> null;
+        };
+        return comparator != null && "desc".equalsIgnoreCase(sortOrder) ? comparator.reversed() : comparator;
+    }
+
+    private record OfferWithHotel(Offer offer, Hotel hotel) {}
+
+    /**
+     * Loads the hotels of the given offers with a single query, instead of one lookup per offer.
+     * @param offers Offers whose hotels are needed.
+     * @return Hotels by identifier; offers whose hotel no longer exists have no entry.
+     */
+    private Map<String, Hotel> hotelsOf(Collection<Offer> offers) {
+        Map<String, Hotel> hotels = new HashMap<>();
+        if (offers.isEmpty()) {
+            return hotels;
+        }
+        hotelRepository.findByIdentifierIn(offers.stream().map(Offer::getHotelIdentifier).collect(Collectors.toSet()))
+                .forEach(hotel -> hotels.put(hotel.getIdentifier(), hotel));
+        return hotels;
+    }
+
+    /**
+     * Names the groups of optional filters used by a search, e.g. `price+facilities`, or `none`.
+     * Only presence is tagged, never values, to bound the number of metric series.
+     */
+    private static String filterShape(boolean price, boolean facilities, boolean rating, boolean stars,
+                                      boolean hotel, boolean sorted) {
+        List<String> groups = new ArrayList<>();
+        if (price) groups.add("price");
+        if (facilities) groups.add("facilities");
+        if (rating) groups.add("rating");
+        if (stars) groups.add("stars");
+        if (hotel) groups.add("hotel");
+        if (sorted) groups.add("sorted");
+        return groups.isEmpty() ? "none" : String.join("+", groups);
     }
 
     /**
@@ -232,7 +453,17 @@ public class OfferService {
      * @return DTO representation of the offer, including hotel name, location, and star rating.
      */
     private OfferWithLocationDTO toOfferWithLocationDTO(Offer offer) {
-        Hotel hotel = hotelRepository.findByIdentifier(offer.getHotelIdentifier()).orElse(null);
+        return toOfferWithLocationDTO(offer, hotelRepository.findByIdentifier(offer.getHotelIdentifier()).orElse(null));
+    }
+
+    /**
+     * Maps an Offer entity to an OfferWithLocationDTO with an already loaded hotel.
+     * @param offer The offer to transform.
+     * @param hotel The hotel of the offer, or null if it no longer exists.
+     * @return DTO representation of the offer, including hotel name, location, and star rating.
+     */
+    private OfferWithLocationDTO toOfferWithLocationDTO(Offer offer, Hotel hotel) {
+        List<ImageVariants> imageVariants = imageVariantsOf(offer);
 
         return new OfferWithLocationDTO(
                 offer.getId(),
@@ -251,10 +482,28 @@ public class OfferService {
                 offer.getReviews(),
                 hotel != null ? hotel.getLocation() : null,
                 hotel != null ? hotel.getName() : "Unknown Hotel",
-                hotel != null ? hotel.getStars() : 0
+                hotel != null ? hotel.getStars() : 0,
+                imageVariants.isEmpty() ? null : imageVariants.get(0).getSmallUrl(),
+                imageVariants
         );
     }
 
+    /**
+     * Lists the variants of every offer image in the order of imagesUrls.
+     * Images stored before variants were generated fall back to the full-size URL for every size.
+     * @param offer The offer.
+     * @return One ImageVariants per entry of imagesUrls.
+     */
+    private List<ImageVariants> imageVariantsOf(Offer offer) {
+        Map<String, ImageVariants> byUrl = offer.getImageVariants() == null ? Map.of()
+                : offer.getImageVariants().stream()
+                        .collect(Collectors.toMap(ImageVariants::getUrl, image -> image, (first, second) -> first));
+
+        return offer.getImagesUrls().stream()
+                .map(url -> byUrl.getOrDefault(url, ImageVariants.fullSizeOnly(url)))
+                .toList();
+    }
+
     /**
      * Retrieves all booked dates for a given offer.
      * @param offerId UUID of the offer.
@@ -287,8 +536,10 @@ public class OfferService {
      */
     public List<OfferWithLocationDTO> getOffersByManager(UUID managerId) {
         logger.info("Fetching offers for manager ID: {}", managerId);
-        return offerRepository.findByManagerId(managerId).stream()
-                .map(this::toOfferWithLocationDTO)
+        List<Offer> offers = offerRepository.findByManagerId(managerId);
+        Map<String, Hotel> hotels = hotelsOf(offers);
+        return offers.stream()
+                .map(offer -> toOfferWithLocationDTO(offer, hotels.get(offer.getHotelIdentifier())))
                 .collect(Collectors.toList());
     }
 
@@ -323,17 +574,17 @@ public class OfferService {
         offer.setRating(10);
         offer.setCreatedAt(Instant.now());
 
-        for (MultipartFile image : images) {
-            String imageUrl = cloudinaryService.uploadImage(image, "offers_images");
-            offer.getImagesUrls().add(imageUrl);
-        }
+        List<ImageVariants> uploaded = imageUploadService.uploadImages(images, "offers_images");
+        uploaded.forEach(image -> offer.getImagesUrls().add(image.getUrl()));
+        offer.getImageVariants().addAll(uploaded);
 
-        return offerRepository.save(offer);
+        return save(offer, uploaded);
     }
 
     /**
      * Updates an existing offer's details and optionally adds new images.
      * Ensures the manager is authorized and date ranges are valid.
+     * The given imagesUrls may only reorder or drop the offer's images; dropped images are released.
      * @param offerId UUID of the offer to update.
      * @param updatedOffer Updated offer details.
      * @param newImages Optional new images to upload.
@@ -388,18 +639,28 @@ public class OfferService {
         existingOffer.setPeopleCount(updatedOffer.getPeopleCount());
         existingOffer.setPricePerNight(updatedOffer.getPricePerNight());
 
+        List<String> droppedImages = List.of();
         if (updatedOffer.getImagesUrls() != null && !updatedOffer.getImagesUrls().isEmpty()) {
-            existingOffer.setImagesUrls(updatedOffer.getImagesUrls());
+            droppedImages = imageBlobService.droppedImages(existingOffer.getImagesUrls(), updatedOffer.getImagesUrls());
+            existingOffer.setImagesUrls(new ArrayList<>(updatedOffer.getImagesUrls()));
+            if (existingOffer.getImageVariants() != null) {
+                existingOffer.getImageVariants().removeIf(image -> !existingOffer.getImagesUrls().contains(image.getUrl()));
+            }
         }
 
+        List<ImageVariants> uploaded = List.of();
         if (newImages != null && !newImages.isEmpty()) {
-            for (MultipartFile image : newImages) {
-                String imageUrl = cloudinaryService.uploadImage(image, "offers_images");
-                existingOffer.getImagesUrls().add(imageUrl);
+            uploaded = imageUploadService.uploadImages(newImages, "offers_images");
+            uploaded.forEach(image -> existingOffer.getImagesUrls().add(image.getUrl()));
+            if (existingOffer.getImageVariants() == null) {
+                existingOffer.setImageVariants(new ArrayList<>());
             }
+            existingOffer.getImageVariants().addAll(uploaded);
         }
 
-        return offerRepository.save(existingOffer);
+        Offer saved = save(existingOffer, uploaded);
+        imageBlobService.release(droppedImages, "offers_images");
+        return saved;
     }
 
     /**
@@ -407,9 +668,9 @@ public class OfferService {
      * Checks manager ownership before deletion if a managerId is provided.
      * @param offerId UUID of the offer to delete.
      * @param managerId UUID of the manager performing the deletion (can be null for admin).
-     * @return True if successfully deleted.
+     * @return The deletion job, RUNNING if it continues in the background.
      */
-    public boolean deleteOffer(UUID offerId, UUID managerId) {
+    public CascadeDeletionJobDTO deleteOffer(UUID offerId, UUID managerId) {
         logger.info("Deleting offer ID: {} by manager ID: {}", offerId, managerId);
         Offer offer = offerRepository.findById(offerId)
                 .orElseThrow(() -> new IllegalArgumentException("Offer not found"));
@@ -422,18 +683,8 @@ public class OfferService {
             validateManagerHotelAssociation(offer.getHotelIdentifier(), managerId);
         }
 
-        List<Booking> relatedBookings = bookingRepository.findByOfferId(offerId);
-        for (Booking booking : relatedBookings) {
-            bookingService.deleteBooking(booking.getId());
-        }
-
-        for (String imageUrl : offer.getImagesUrls()) {
-            cloudinaryService.deleteImage(imageUrl, "offers_images");
-        }
-
-        offerRepository.deleteById(offerId);
-
-        return true;
+        return cascadeDeletionService.submit("offer " + offerId, cascadeDeletionService.countOfferBookings(Stream.of(offer)),
+                job -> cascadeDeletionService.deleteOffers(Stream.of(offer), job)); // also releases the offer images
     }
 
     /**
@@ -457,10 +708,12 @@ public class OfferService {
             throw new IllegalArgumentException("Image URL not found in this offer");
         }
 
-        cloudinaryService.deleteImage(imageUrl, "offers_images");
-
         offer.getImagesUrls().remove(imageUrl);
-        offerRepository.save(offer);
+        if (offer.getImageVariants() != null) {
+            offer.getImageVariants().removeIf(image -> image.getUrl().equals(imageUrl));
+        }
+        save(offer);
+        imageBlobService.release(List.of(imageUrl), "offers_images");
         return true;
     }
 
@@ -491,7 +744,7 @@ public class OfferService {
         }
 
         review.setResponse(new ReviewResponse(managerId, dto.getComment()));
-        offerRepository.save(offer);
+        save(offer);
     }
 
     /**
@@ -520,7 +773,7 @@ public class OfferService {
         }
 
         review.setResponse(null);
-        offerRepository.save(offer);
+        save(offer);
     }
 
     /**
@@ -533,6 +786,33 @@ public class OfferService {
         return offerRepository.findByManagerId(managerId);
     }
 
+    /**
+     * Saves an offer read earlier in the request.
+     * @param offer The offer to save.
+     * @return The saved offer with its new version.
+     * @throws ResponseStatusException 409 if another request changed the offer meanwhile.
+     */
+    private Offer save(Offer offer) {
+        try {
+            return offerRepository.save(offer);
+        } catch (OptimisticLockingFailureException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Offer was changed by another request, please reload it");
+        }
+    }
+
+    /**
+     * Saves an offer whose new images are already uploaded and acquired, releasing them if the save fails,
+     * e.g. with 409 after a concurrent update, so their references do not leak.
+     */
+    private Offer save(Offer offer, List<ImageVariants> uploaded) {
+        try {
+            return save(offer);
+        } catch (RuntimeException e) {
+            imageBlobService.release(uploaded.stream().map(ImageVariants::getUrl).toList(), "offers_images");
+            throw e;
+        }
+    }
+
     /**
      * Validates if the manager is associated and approved for a specific hotel.
      * @param hotelIdentifier Unique identifier of the hotel.
@@ -9,13 +9,20 @@ import io.leedsk1y.reservault_backend.repositories.OfferRepository;
 import io.leedsk1y.reservault_backend.repositories.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 public class ReviewService {
@@ -39,17 +46,31 @@ public class ReviewService {
         Offer offer = offerRepository.findById(offerId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Offer not found"));
 
+        Map<UUID, String> userNames = userNamesOf(offer.getReviews());
         return offer.getReviews().stream()
-                .map(review -> {
-                    String userName = userRepository.findById(review.getUserId())
-                            .map(User::getName)
-                            .orElse("Unknown User");
-
-                    return ReviewDetailedDTO.fromReview(review, userName);
-                })
+                .map(review -> ReviewDetailedDTO.fromReview(review,
+                        userNames.getOrDefault(review.getUserId(), "Unknown User")))
                 .toList();
     }
 
+    /**
+     * Computes the entity tag of the reviews of an offer from the offer version and the current names
+     * of the reviewers, which the response includes. Only the version and reviewer IDs of the offer are read,
+     * so a conditional request is answered without loading the reviews.
+     * The tag is weak, as Tomcat does not compress responses with strong ones.
+     * @param offerId UUID of the offer.
+     * @return The entity tag, or empty if the offer does not exist.
+     */
+    public Optional<String> getReviewsEtag(UUID offerId) {
+        return offerRepository.findReviewersVersionById(offerId).map(offer -> {
+            Map<UUID, String> userNames = userNamesOf(offer.getReviews());
+            String reviewers = offer.getReviews().stream()
+                    .map(review -> userNames.getOrDefault(review.getUserId(), ""))
+                    .collect(Collectors.joining("\n"));
+            return "W/\"" + offer.getVersion() + "-" + DigestUtils.md5DigestAsHex(reviewers.getBytes(StandardCharsets.UTF_8)) + "\"";
+        });
+    }
+
     /**
      * Adds a new review to the specified offer from the currently authenticated user.
      * Prevents multiple reviews by the same user on the same offer.
@@ -79,7 +100,7 @@ public class ReviewService {
 
         offer.getReviews().add(review);
         offer.setRating(calculateAverageRating(offer.getReviews()));
-        offerRepository.save(offer);
+        save(offer);
 
         return ReviewDetailedDTO.fromReview(review, user.getName());
     }
@@ -112,7 +133,35 @@ public class ReviewService {
 
         offer.getReviews().remove(review);
         offer.setRating(calculateAverageRating(offer.getReviews()));
-        offerRepository.save(offer);
+        save(offer);
+    }
+
+    /**
+     * Looks up the names of the authors of some reviews with one query.
+     * @param reviews The reviews.
+     * @return Names by user ID; deleted users are missing.
+     */
+    private Map<UUID, String> userNamesOf(List<Review> reviews) {
+        Set<UUID> userIds = reviews.stream().map(Review::getUserId).collect(Collectors.toSet());
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+        return userRepository.findNamesByIdIn(userIds).stream()
+                .filter(user -> user.getName() != null)
+                .collect(Collectors.toMap(User::getId, User::getName));
+    }
+
+    /**
+     * Saves an offer read earlier in the request.
+     * @param offer The offer to save.
+     * @throws ResponseStatusException 409 if another request changed the offer meanwhile.
+     */
+    private void save(Offer offer) {
+        try {
+            offerRepository.save(offer);
+        } catch (OptimisticLockingFailureException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Offer was changed by another request, please try again");
+        }
     }
 
     /**
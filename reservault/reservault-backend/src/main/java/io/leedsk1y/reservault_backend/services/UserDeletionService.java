@@ -1,12 +1,12 @@
 package io.leedsk1y.reservault_backend.services;
 
-import io.leedsk1y.reservault_backend.models.entities.Booking;
+import io.leedsk1y.reservault_backend.dto.CascadeDeletionJobDTO;
 import io.leedsk1y.reservault_backend.models.entities.HotelManager;
-import io.leedsk1y.reservault_backend.models.entities.Offer;
 import io.leedsk1y.reservault_backend.repositories.BookingRepository;
 import io.leedsk1y.reservault_backend.repositories.HotelManagerRepository;
 import io.leedsk1y.reservault_backend.repositories.OfferRepository;
 import io.leedsk1y.reservault_backend.repositories.UserRepository;
+import io.leedsk1y.reservault_backend.security.jwt.TokenVersionCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -18,59 +18,61 @@ import java.util.UUID;
 public class UserDeletionService {
     private static final Logger logger = LoggerFactory.getLogger(UserDeletionService.class);
     private final UserRepository userRepository;
-    private final BookingService bookingService;
-    private final BookingRepository bookingRepository;
-    private final OfferRepository offerRepository;
     private final HotelManagerRepository hotelManagerRepository;
-    private final OfferService offerService;
+    private final CascadeDeletionService cascadeDeletionService;
+    private final TokenVersionCache tokenVersionCache;
+    private final OfferRepository offerRepository;
+    private final BookingRepository bookingRepository;
 
     public UserDeletionService(UserRepository userRepository,
-                               BookingService bookingService,
-                               BookingRepository bookingRepository,
-                               OfferRepository offerRepository,
                                HotelManagerRepository hotelManagerRepository,
-                               OfferService offerService) {
+                               CascadeDeletionService cascadeDeletionService,
+                               TokenVersionCache tokenVersionCache,
+                               OfferRepository offerRepository,
+                               BookingRepository bookingRepository) {
         this.userRepository = userRepository;
-        this.bookingService = bookingService;
-        this.bookingRepository = bookingRepository;
-        this.offerRepository = offerRepository;
         this.hotelManagerRepository = hotelManagerRepository;
-        this.offerService = offerService;
+        this.cascadeDeletionService = cascadeDeletionService;
+        this.tokenVersionCache = tokenVersionCache;
+        this.offerRepository = offerRepository;
+        this.bookingRepository = bookingRepository;
     }
 
     /**
      * Deletes a user and all their associated bookings.
+     * The user is deleted last, after all bookings are gone.
      * @param userId UUID of the user to delete.
+     * @return The deletion job, RUNNING if the user has too many bookings to delete inline.
      */
-    public void deleteUser(UUID userId) {
+    public CascadeDeletionJobDTO deleteUser(UUID userId) {
         logger.info("Deleting user with ID: {}", userId);
-        List<Booking> bookings = bookingRepository.findByUserId(userId);
-        for (Booking booking : bookings) {
-            bookingService.deleteBooking(booking.getId());
-        }
-
-        userRepository.deleteById(userId);
+        return cascadeDeletionService.submit("user " + userId, bookingRepository.countByUserId(userId), job -> {
+            cascadeDeletionService.deleteBookings(bookingRepository.streamForDeletionByUserId(userId), job);
+            userRepository.deleteById(userId);
+            tokenVersionCache.evict(userId);
+        });
     }
 
     /**
      * Deletes a manager, their hotel-manager associations, and all offers they created.
      * Also deletes any related bookings tied to those offers.
      * @param managerId UUID of the manager to delete.
+     * @return The deletion job, RUNNING if the offers have too many bookings to delete inline.
      */
-    public void deleteManager(UUID managerId) {
+    public CascadeDeletionJobDTO deleteManager(UUID managerId) {
         logger.info("Deleting manager with ID: {}", managerId);
-        List<HotelManager> hotelManagers = hotelManagerRepository.findByManagerId(managerId);
-
-        for (HotelManager hotelManager : hotelManagers) {
-            List<Offer> offers = offerRepository.findByHotelIdentifierAndManagerId(hotelManager.getHotelIdentifier(), managerId);
-
-            for (Offer offer : offers) {
-                offerService.deleteOffer(offer.getId(), managerId);
-            }
-
-            hotelManagerRepository.deleteById(hotelManager.getId());
-        }
+        List<String> hotelIdentifiers = hotelManagerRepository.findByManagerId(managerId).stream()
+                .map(HotelManager::getHotelIdentifier)
+                .toList();
+        long bookings = cascadeDeletionService.countOfferBookings(
+                offerRepository.streamForDeletionByManagerIdAndHotelIdentifierIn(managerId, hotelIdentifiers));
 
-        userRepository.deleteById(managerId);
+        return cascadeDeletionService.submit("manager " + managerId, bookings, job -> {
+            cascadeDeletionService.deleteOffers(
+                    offerRepository.streamForDeletionByManagerIdAndHotelIdentifierIn(managerId, hotelIdentifiers), job);
+            hotelManagerRepository.deleteByManagerId(managerId);
+            userRepository.deleteById(managerId);
+            tokenVersionCache.evict(managerId);
+        });
     }
 }
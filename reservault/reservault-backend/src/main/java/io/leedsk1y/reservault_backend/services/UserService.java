@@ -1,5 +1,6 @@
 package io.leedsk1y.reservault_backend.services;
 
+import io.jsonwebtoken.Claims;
 import io.leedsk1y.reservault_backend.dto.UserDetailedResponseDTO;
 import io.leedsk1y.reservault_backend.models.entities.User;
 import io.leedsk1y.reservault_backend.repositories.UserRepository;
@@ -13,6 +14,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.Optional;
 
 @Service
 public class UserService {
@@ -90,12 +92,13 @@ public class UserService {
     private User extractUserFromToken(HttpServletRequest request, HttpServletResponse response) {
         String token = jwtUtils.getJwtFromCookies(request);
 
-        if (token == null || !jwtUtils.validateJwtToken(token, response)) {
+        Optional<Claims> claims = token != null ? jwtUtils.validateJwtToken(token, response) : Optional.empty();
+        if (claims.isEmpty()) {
             CookieUtils.clearJwtCookie(response);
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid or expired token");
         }
 
-        String email = jwtUtils.getUserNameFromJwtToken(token);
+        String email = claims.get().getSubject();
 
         return userRepository.findByEmail(email)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
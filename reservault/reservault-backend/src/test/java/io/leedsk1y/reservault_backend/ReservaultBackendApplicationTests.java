@@ -2,8 +2,10 @@ package io.leedsk1y.reservault_backend;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
 
 @SpringBootTest
+@ActiveProfiles("in-memory")
 class ReservaultBackendApplicationTests {
 
 	@Test
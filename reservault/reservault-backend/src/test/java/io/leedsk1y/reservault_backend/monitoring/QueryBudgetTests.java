@@ -0,0 +1,142 @@
+package io.leedsk1y.reservault_backend.monitoring;
+
+import io.leedsk1y.reservault_backend.models.entities.Facilities;
+import io.leedsk1y.reservault_backend.models.entities.Hotel;
+import io.leedsk1y.reservault_backend.models.entities.Location;
+import io.leedsk1y.reservault_backend.models.entities.Offer;
+import io.leedsk1y.reservault_backend.repositories.HotelRepository;
+import io.leedsk1y.reservault_backend.repositories.OfferRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Query budgets under the in-memory profile, where every repository call counts as one query.
+ */
+@SpringBootTest(properties = "spring.app.queryBudget.failOnExceed=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("in-memory")
+@Import(QueryBudgetTests.HotelLookupController.class)
+@WithMockUser
+class QueryBudgetTests {
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MM.dd.yyyy");
+    private static final int HOTELS = 3;
+    private static final int OFFERS_PER_HOTEL = 4;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private OfferRepository offerRepository;
+
+    private final String dateFrom = LocalDate.now().plusDays(1).format(DATE_FORMAT);
+    private final String dateUntil = LocalDate.now().plusDays(5).format(DATE_FORMAT);
+
+    @BeforeEach
+    void seed() {
+        offerRepository.deleteAll();
+        hotelRepository.deleteAll();
+        for (int h = 0; h < HOTELS; h++) {
+            hotelRepository.save(new Hotel("BUDGET-" + h, "Hotel " + h, "Budget test hotel", new ArrayList<>(), 3,
+                    new Location("France", "Paris", "Street " + h, "75000")));
+            for (int o = 0; o < OFFERS_PER_HOTEL; o++) {
+                Offer offer = new Offer();
+                offer.setId(UUID.randomUUID());
+                offer.setHotelIdentifier("BUDGET-" + h);
+                offer.setTitle("Offer " + h + "-" + o);
+                offer.setDescription("Budget test offer");
+                offer.setDateFrom(LocalDate.now().format(DATE_FORMAT));
+                offer.setDateUntil(LocalDate.now().plusDays(30).format(DATE_FORMAT));
+                offer.setFacilities(new Facilities(true, true, false, false, true));
+                offer.setRoomCount(2);
+                offer.setPeopleCount(2);
+                offer.setPricePerNight(BigDecimal.valueOf(100 + o));
+                offerRepository.save(offer);
+            }
+        }
+    }
+
+    @Test
+    void searchLoadsHotelsOnceForAllOffers() throws Exception {
+        try (QueryCounter.Scope queries = QueryCounter.start()) {
+            mockMvc.perform(get("/offers/search")
+                            .param("location", "paris, france")
+                            .param("rooms", "1")
+                            .param("people", "1")
+                            .param("dateFrom", dateFrom)
+                            .param("dateUntil", dateUntil)
+                            .param("sortBy", "stars"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(HOTELS * OFFERS_PER_HOTEL));
+
+            queries.assertAtMost(4);
+            queries.assertNoRepeatedQueries(1);
+        }
+    }
+
+    @Test
+    void requestOverItsBudgetFails() {
+        assertThatThrownBy(() -> mockMvc.perform(get("/test/hotels")))
+                .hasStackTraceContaining("budget is 2")
+                .hasStackTraceContaining("InMemoryHotelRepository.findByIdentifier");
+    }
+
+    @Test
+    void scopeFailsOnRepeatedQueries() {
+        try (QueryCounter.Scope queries = QueryCounter.start()) {
+            for (int h = 0; h < HOTELS; h++) {
+                hotelRepository.findByIdentifier("BUDGET-" + h);
+            }
+
+            assertThatThrownBy(() -> queries.assertAtMost(HOTELS - 1)).isInstanceOf(AssertionError.class);
+            assertThatThrownBy(() -> queries.assertNoRepeatedQueries(1))
+                    .isInstanceOf(AssertionError.class)
+                    .hasMessageContaining("ran " + HOTELS + " times");
+        }
+    }
+
+    /**
+     * Looks hotels up one by one, the N+1 pattern budgets are meant to catch.
+     */
+    @RestController
+    static class HotelLookupController {
+        private final HotelRepository hotelRepository;
+
+        HotelLookupController(HotelRepository hotelRepository) {
+            this.hotelRepository = hotelRepository;
+        }
+
+        @QueryBudget(2)
+        @GetMapping("/test/hotels")
+        List<String> hotelNames() {
+            List<String> names = new ArrayList<>();
+            for (int h = 0; h < HOTELS; h++) {
+                hotelRepository.findByIdentifier("BUDGET-" + h).ifPresent(hotel -> names.add(hotel.getName()));
+            }
+            return names;
+        }
+    }
+}
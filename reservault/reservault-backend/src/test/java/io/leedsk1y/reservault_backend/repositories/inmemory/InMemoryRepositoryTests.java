@@ -0,0 +1,100 @@
+package io.leedsk1y.reservault_backend.repositories.inmemory;
+
+import io.leedsk1y.reservault_backend.models.entities.User;
+import io.leedsk1y.reservault_backend.models.enums.EAuthProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.query.FluentQuery;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Query by example on the in-memory repositories. The primitive fields and roles of a User probe are
+ * always set, so the matchers ignore them as a query against MongoDB would have to.
+ */
+class InMemoryRepositoryTests {
+    private static final ExampleMatcher MATCHER = ExampleMatcher.matching()
+            .withIgnorePaths("verified", "tokenVersion", "roles");
+
+    private InMemoryUserRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryUserRepository();
+        repository.save(user("Ada Lovelace", "ada@example.com", EAuthProvider.DEFAULT, null));
+        repository.save(user("Alan Turing", "alan@example.com", EAuthProvider.GOOGLE, "https://images.example.com/alan"));
+        repository.save(user("Grace Hopper", "grace@example.org", EAuthProvider.DEFAULT, "https://images.example.com/grace"));
+    }
+
+    @Test
+    void matchesTheNonNullFieldsOfTheProbe() {
+        User probe = new User();
+        probe.setAuthProvider(EAuthProvider.DEFAULT);
+
+        assertThat(repository.findAll(Example.of(probe, MATCHER), Sort.by("name")))
+                .extracting(User::getName)
+                .containsExactly("Ada Lovelace", "Grace Hopper");
+        assertThat(repository.count(Example.of(probe, MATCHER))).isEqualTo(2);
+
+        probe.setName("Grace Hopper");
+        assertThat(repository.findOne(Example.of(probe, MATCHER))).map(User::getEmail).contains("grace@example.org");
+
+        probe.setName("Alan Turing");
+        assertThat(repository.exists(Example.of(probe, MATCHER))).isFalse();
+        ExampleMatcher anyProvider = MATCHER.withTransformer("authProvider", value -> Optional.empty());
+        assertThat(repository.exists(Example.of(probe, anyProvider))).isTrue();
+    }
+
+    @Test
+    void honoursStringAndNullHandling() {
+        User probe = new User();
+        probe.setEmail("EXAMPLE.COM");
+
+        assertThat(repository.findAll(Example.of(probe, MATCHER.withStringMatcher(ExampleMatcher.StringMatcher.ENDING).withIgnoreCase())))
+                .extracting(User::getName)
+                .containsExactlyInAnyOrder("Ada Lovelace", "Alan Turing");
+        assertThat(repository.findAll(Example.of(probe, MATCHER.withStringMatcher(ExampleMatcher.StringMatcher.ENDING)))).isEmpty();
+
+        ExampleMatcher includeNulls = MATCHER.withIncludeNullValues()
+                .withIgnorePaths("name", "email", "password", "createdAt", "authProvider");
+        assertThat(repository.findAll(Example.of(new User(), includeNulls)))
+                .extracting(User::getName)
+                .containsExactly("Ada Lovelace");
+    }
+
+    @Test
+    void fluentQueriesSortPageAndProject() {
+        User probe = new User();
+        probe.setName("a");
+        Example<User> example = Example.of(probe, MATCHER.withStringMatcher(ExampleMatcher.StringMatcher.CONTAINING));
+
+        Page<User> page = repository.findBy(example, query -> query.sortBy(Sort.by(Sort.Direction.DESC, "name"))
+                .page(PageRequest.of(0, 2)));
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getContent()).extracting(User::getName).containsExactly("Grace Hopper", "Alan Turing");
+
+        User projected = repository.findBy(example, query -> query.sortBy(Sort.by("name")).project("name").firstValue());
+        assertThat(projected.getName()).isEqualTo("Ada Lovelace");
+        assertThat(projected.getEmail()).isNull();
+
+        assertThatThrownBy(() -> repository.findBy(example, FluentQuery.FetchableFluentQuery::oneValue))
+                .isInstanceOf(IncorrectResultSizeDataAccessException.class);
+    }
+
+    private static User user(String name, String email, EAuthProvider provider, String profileImage) {
+        return new User(UUID.randomUUID(), name, email, "password", profileImage, Instant.now(), true, provider,
+                Set.of("ROLE_USER"));
+    }
+}
@@ -0,0 +1,152 @@
+package io.leedsk1y.reservault_backend.security.oauth2;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Google login against a stub identity provider serving the token and user info endpoints.
+ * The openid scope is left out, so the user is read from the user info endpoint instead of a signed ID token.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("in-memory")
+class OAuth2LoginTests {
+    private static final AtomicReference<String> receivedCode = new AtomicReference<>();
+    private static final AtomicReference<String> receivedAuthorization = new AtomicReference<>();
+    private static final HttpServer identityProvider = startIdentityProvider();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @DynamicPropertySource
+    static void identityProviderProperties(DynamicPropertyRegistry registry) {
+        String baseUrl = "http://localhost:" + identityProvider.getAddress().getPort();
+        registry.add("spring.security.oauth2.client.registration.google.scope", () -> "profile,email");
+        registry.add("spring.security.oauth2.client.provider.google.authorization-uri", () -> baseUrl + "/authorize");
+        registry.add("spring.security.oauth2.client.provider.google.token-uri", () -> baseUrl + "/token");
+        registry.add("spring.security.oauth2.client.provider.google.user-info-uri", () -> baseUrl + "/userinfo");
+    }
+
+    @AfterAll
+    static void stopIdentityProvider() {
+        identityProvider.stop(0);
+    }
+
+    @Test
+    void loginRoundTripIssuesJwtWithoutSession() throws Exception {
+        MvcResult authorization = startLogin();
+        Cookie requestCookie = authorization.getResponse().getCookie(HttpCookieOAuth2AuthorizationRequestRepository.COOKIE_NAME);
+        assertThat(requestCookie).isNotNull();
+        assertThat(requestCookie.isHttpOnly()).isTrue();
+        assertThat(authorization.getRequest().getSession(false)).isNull();
+
+        MvcResult callback = mockMvc.perform(get("/login/oauth2/code/google")
+                        .param("code", "stub-code")
+                        .param("state", stateOf(authorization))
+                        .cookie(requestCookie))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("http://localhost:5173/dashboard"))
+                .andExpect(cookie().exists("jwt"))
+                .andExpect(cookie().maxAge(HttpCookieOAuth2AuthorizationRequestRepository.COOKIE_NAME, 0))
+                .andReturn();
+
+        assertThat(callback.getResponse().getCookie("jwt").getValue()).isNotBlank();
+        assertThat(callback.getRequest().getSession(false)).isNull();
+        assertThat(receivedCode.get()).isEqualTo("stub-code");
+        assertThat(receivedAuthorization.get()).isEqualTo("Bearer stub-access-token");
+    }
+
+    @Test
+    void tamperedAuthorizationRequestCookieIsRejected() throws Exception {
+        MvcResult authorization = startLogin();
+        Cookie requestCookie = authorization.getResponse().getCookie(HttpCookieOAuth2AuthorizationRequestRepository.COOKIE_NAME);
+        String value = requestCookie.getValue();
+        int signature = value.indexOf('.') + 1; // the first signature character carries only data bits
+        char changed = value.charAt(signature) == 'A' ? 'B' : 'A';
+        Cookie tampered = new Cookie(requestCookie.getName(),
+                value.substring(0, signature) + changed + value.substring(signature + 1));
+        receivedCode.set(null);
+
+        mockMvc.perform(get("/login/oauth2/code/google")
+                        .param("code", "stub-code")
+                        .param("state", stateOf(authorization))
+                        .cookie(tampered))
+                .andExpect(redirectedUrl("/oauth2/login/failure"))
+                .andExpect(cookie().doesNotExist("jwt"));
+
+        assertThat(receivedCode.get()).isNull(); // the code is never exchanged
+    }
+
+    private MvcResult startLogin() throws Exception {
+        return mockMvc.perform(get("/oauth2/authorization/google"))
+                .andExpect(status().is3xxRedirection())
+                .andReturn();
+    }
+
+    private static String stateOf(MvcResult authorization) {
+        String location = authorization.getResponse().getRedirectedUrl();
+        assertThat(location).contains("/authorize");
+        String state = UriComponentsBuilder.fromUriString(location).build().getQueryParams().getFirst("state");
+        return URLDecoder.decode(state, StandardCharsets.UTF_8);
+    }
+
+    private static HttpServer startIdentityProvider() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/token", exchange -> {
+                String form = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+                for (String parameter : form.split("&")) {
+                    if (parameter.startsWith("code=")) {
+                        receivedCode.set(URLDecoder.decode(parameter.substring(5), StandardCharsets.UTF_8));
+                    }
+                }
+                respond(exchange, """
+                        {"access_token":"stub-access-token","token_type":"Bearer","expires_in":3600,"scope":"profile email"}""");
+            });
+            server.createContext("/userinfo", exchange -> {
+                receivedAuthorization.set(exchange.getRequestHeaders().getFirst("Authorization"));
+                respond(exchange, """
+                        {"sub":"stub-subject","email":"stub.user@example.com","name":"Stub User"}""");
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
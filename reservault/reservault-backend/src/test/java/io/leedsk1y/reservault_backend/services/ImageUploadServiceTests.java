@@ -0,0 +1,188 @@
+package io.leedsk1y.reservault_backend.services;
+
+import io.leedsk1y.reservault_backend.models.entities.ImageDeletionTask;
+import io.leedsk1y.reservault_backend.models.entities.ImageVariants;
+import io.leedsk1y.reservault_backend.repositories.ImageBlobRepository;
+import io.leedsk1y.reservault_backend.repositories.ImageDeletionTaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Rollback of image upload batches against a stub storage. One upload runs at a time across all requests,
+ * so the other uploads of a batch wait for a slot while the first one is stored.
+ */
+@SpringBootTest(properties = {
+        "spring.app.imageUpload.threads=1",
+        "spring.app.imageUpload.perRequestConcurrency=3",
+        "spring.app.imageUpload.deadlineMs=1000",
+        "spring.app.imageDeletion.pollMs=3600000" // keep released images in the deletion queue
+})
+@ActiveProfiles("in-memory")
+@Import(ImageUploadServiceTests.StubStorageConfig.class)
+class ImageUploadServiceTests {
+    private static final String FOLDER = "hotels_images";
+
+    @Autowired
+    private ImageUploadService imageUploadService;
+
+    @Autowired
+    private StubImageStorage storage;
+
+    @Autowired
+    private ImageBlobRepository imageBlobRepository;
+
+    @Autowired
+    private ImageDeletionTaskRepository imageDeletionTaskRepository;
+
+    @BeforeEach
+    void reset() {
+        storage.reset();
+        imageBlobRepository.deleteAll();
+        imageDeletionTaskRepository.deleteAll();
+    }
+
+    @Test
+    void storesEveryImageOfTheBatch() throws IOException {
+        List<String> urls = imageUploadService.uploadImages(images(3), FOLDER).stream()
+                .map(ImageVariants::getUrl)
+                .toList();
+
+        assertThat(urls).hasSize(3).doesNotContainNull();
+        assertThat(storage.stored).containsExactlyInAnyOrderElementsOf(urls);
+        assertThat(imageDeletionTaskRepository.findAll()).isEmpty();
+    }
+
+    @Test
+    void failedUploadReleasesTheStoredImages() {
+        storage.failOnCall = 2;
+
+        assertThatThrownBy(() -> imageUploadService.uploadImages(images(3), FOLDER))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Stub storage failure");
+
+        // an upload that finishes after the abort releases its image itself
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            assertThat(storage.stored).isNotEmpty();
+            assertThat(storage.stored).allSatisfy(url -> assertThat(isReleased(url)).isTrue());
+        });
+    }
+
+    @Test
+    void slowUploadIsReleasedAndWaitingUploadsAreSkipped() {
+        storage.gate = new CountDownLatch(1);
+
+        assertThatThrownBy(() -> imageUploadService.uploadImages(images(3), FOLDER))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Image upload timed out");
+        assertThat(storage.stored).isEmpty();
+
+        storage.gate.countDown();
+        await().atMost(Duration.ofSeconds(5)).until(() -> storage.stored.size() == 1 && isReleased(storage.stored.get(0)));
+
+        // the uploads that waited for the slot see the aborted batch and never reach the storage
+        await().during(Duration.ofMillis(500)).atMost(Duration.ofSeconds(2)).until(() -> storage.calls.get() == 1);
+    }
+
+    private boolean isReleased(String url) {
+        return imageBlobRepository.findByUrl(url).isEmpty()
+                && imageDeletionTaskRepository.findAll().stream().map(ImageDeletionTask::getImageUrl).anyMatch(url::equals);
+    }
+
+    /**
+     * Distinct images, so that none of them is deduplicated against another.
+     */
+    private static List<MultipartFile> images(int count) {
+        List<MultipartFile> files = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            BufferedImage image = new BufferedImage(8, 8, BufferedImage.TYPE_INT_RGB);
+            image.setRGB(0, 0, 0x102030 * (i + 1));
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try {
+                ImageIO.write(image, "png", out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            files.add(new MockMultipartFile("images", "image-" + i + ".png", "image/png", out.toByteArray()));
+        }
+        return files;
+    }
+
+    @TestConfiguration
+    static class StubStorageConfig {
+        @Bean
+        @Primary
+        StubImageStorage stubImageStorage() {
+            return new StubImageStorage();
+        }
+    }
+
+    /**
+     * Hands out a URL per stored image. The call numbered `failOnCall` fails, and while a `gate` is set
+     * the first call blocks until it opens.
+     */
+    static class StubImageStorage implements ImageStorage {
+        final List<String> stored = new CopyOnWriteArrayList<>();
+        final AtomicInteger calls = new AtomicInteger();
+        volatile int failOnCall;
+        volatile CountDownLatch gate;
+
+        void reset() {
+            stored.clear();
+            calls.set(0);
+            failOnCall = 0;
+            gate = null;
+        }
+
+        @Override
+        public String storeImage(byte[] content, String mimeType, String folder) throws IOException {
+            int call = calls.incrementAndGet();
+            if (call == failOnCall) {
+                throw new IOException("Stub storage failure");
+            }
+            CountDownLatch gate = this.gate;
+            if (call == 1 && gate != null) {
+                try {
+                    if (!gate.await(10, TimeUnit.SECONDS)) {
+                        throw new IOException("Stub storage gate was never opened");
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Stub storage interrupted");
+                }
+            }
+            String url = "https://images.example.com/" + folder + "/" + call;
+            stored.add(url);
+            return url;
+        }
+
+        @Override
+        public void deleteImage(String imageUrl, String folder) {
+        }
+    }
+}
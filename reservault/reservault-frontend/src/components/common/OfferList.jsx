@@ -74,7 +74,7 @@ const OfferList = ({ offers, isLoading, error, onModify, variant = "manager" })
                     variant={variant}
                     isLoading={isLoading}
                     error={error}
-                    getImage={(offer) => offer.imagesUrls?.[0] || "https://via.placeholder.com/200"}
+                    getImage={(offer) => offer.thumbnailUrl || offer.imagesUrls?.[0] || "https://via.placeholder.com/200"}
                     getTitle={(offer) => (
                         <div className="flex items-center space-x-4">
                             <h2